@@ -0,0 +1,116 @@
+// Concurrency sweep for comparing the platform and virtual thread modes.
+//
+// Runs the same read-mostly mix (getProduct, listProducts, quantity updates) as
+// a closed model at 200, 1000 and 5000 concurrent clients, one level after the
+// other, and reports throughput and latency percentiles per level.
+//
+// Run it once per mode against the same database:
+//   java -jar app.jar                                    # platform threads
+//   k6 run -e MODE=platform k6/concurrency-sweep.js
+//   SPRING_PROFILES_ACTIVE=virtual-threads java -jar app.jar
+//   k6 run -e MODE=virtual k6/concurrency-sweep.js
+// and compare the two summaries written to RESULTS_DIR (default k6/results).
+// 5000 clients need a raised open file limit (ulimit -n) on both sides.
+import { sleep } from 'k6';
+import { login, createProductType, listProducts, getProduct, createProduct, deleteProduct, updateQuantity } from './lib/api.js';
+
+const USERNAME = __ENV.WAREHOUSE_USERNAME || 'admin';
+const PASSWORD = __ENV.WAREHOUSE_PASSWORD || 'admin123';
+const MODE = __ENV.MODE || 'unknown';
+const LEVELS = (__ENV.LEVELS || '200,1000,5000').split(',').map(Number);
+const LEVEL_SECONDS = Number(__ENV.LEVEL_SECONDS || 60);
+const PAUSE_SECONDS = 10;
+const SEED_PRODUCTS = Number(__ENV.SEED_PRODUCTS || 100);
+const THINK_TIME = Number(__ENV.THINK_TIME || 0.05);
+const RESULTS_DIR = __ENV.RESULTS_DIR || 'k6/results';
+
+const scenarios = {};
+const thresholds = {};
+LEVELS.forEach((vus, i) => {
+  const name = `c${vus}`;
+  scenarios[name] = {
+    executor: 'constant-vus',
+    exec: 'mix',
+    vus,
+    duration: `${LEVEL_SECONDS}s`,
+    startTime: `${i * (LEVEL_SECONDS + PAUSE_SECONDS)}s`,
+    gracefulStop: '10s',
+  };
+  // Thresholds make k6 keep per-level submetrics for the summary.
+  thresholds[`http_req_duration{scenario:${name}}`] = ['p(99)>=0'];
+  thresholds[`http_reqs{scenario:${name}}`] = ['count>=0'];
+  thresholds[`http_req_failed{scenario:${name}}`] = ['rate>=0'];
+});
+
+export const options = {
+  setupTimeout: '5m',
+  summaryTrendStats: ['avg', 'med', 'p(95)', 'p(99)', 'max'],
+  scenarios,
+  thresholds,
+};
+
+function pick(values) {
+  return values[Math.floor(Math.random() * values.length)];
+}
+
+export function setup() {
+  const token = login(USERNAME, PASSWORD);
+  const productTypeId = createProductType(token, `sweep ${Date.now()}`);
+
+  const ids = [];
+  for (let i = 0; i < SEED_PRODUCTS; i++) {
+    ids.push(createProduct(token, {
+      name: `Sweep ${i} ${Date.now()}`,
+      description: 'k6 concurrency sweep product',
+      quantity: 1000000,
+      lowStockThreshold: 5,
+      weight: 1.0,
+      height: 1.0,
+      length: 1.0,
+      productTypeId,
+    }));
+  }
+  return { token, ids: ids.filter(Boolean) };
+}
+
+export function mix(data) {
+  const roll = Math.random();
+  if (roll < 0.7) {
+    getProduct(data.token, pick(data.ids));
+  } else if (roll < 0.9) {
+    listProducts(data.token, `page=${Math.floor(Math.random() * 5)}&size=20&sortBy=name&direction=asc&mode=slice`);
+  } else {
+    updateQuantity(data.token, pick(data.ids), pick(['INCREASE', 'DECREASE']), 1);
+  }
+  sleep(THINK_TIME);
+}
+
+export function teardown(data) {
+  for (const id of data.ids) {
+    deleteProduct(data.token, id);
+  }
+}
+
+function level(data, vus) {
+  const name = `c${vus}`;
+  const duration = data.metrics[`http_req_duration{scenario:${name}}`];
+  const reqs = data.metrics[`http_reqs{scenario:${name}}`];
+  const failed = data.metrics[`http_req_failed{scenario:${name}}`];
+  if (!duration || !reqs) {
+    return `  ${String(vus).padStart(5)} clients: no data`;
+  }
+  const rps = reqs.values.count / LEVEL_SECONDS;
+  return `  ${String(vus).padStart(5)} clients: ${rps.toFixed(0).padStart(6)} req/s`
+    + `  p50=${duration.values.med.toFixed(1)}ms p95=${duration.values['p(95)'].toFixed(1)}ms`
+    + ` p99=${duration.values['p(99)'].toFixed(1)}ms  errors=${((failed ? failed.values.rate : 0) * 100).toFixed(2)}%`;
+}
+
+export function handleSummary(data) {
+  const stamp = new Date().toISOString().replace(/[:.]/g, '-');
+  const lines = LEVELS.map((vus) => level(data, vus));
+
+  return {
+    stdout: `\nconcurrency sweep (${MODE} threads)\n${lines.join('\n')}\n`,
+    [`${RESULTS_DIR}/sweep-${MODE}-${stamp}.json`]: JSON.stringify(data, null, 2),
+  };
+}
@@ -1,12 +0,0 @@
-import http from 'k6/http';
-import { sleep } from 'k6';
-
-export const options = {
-  iterations: 10,
-};
-
-export default function () {
-  http.get('https://quickpizza.grafana.com');
-
-  sleep(1);
-}
@@ -0,0 +1,85 @@
+import http from 'k6/http';
+import { check, fail, sleep } from 'k6';
+
+export const BASE_URL = __ENV.BASE_URL || 'http://localhost:6565';
+const API = `${BASE_URL}/api/v1`;
+
+// Retries while the app is still starting, which is the normal case when k6
+// is started together with it by docker compose.
+export function login(username, password, attempts = 30) {
+  let res;
+  for (let i = 0; i < attempts; i++) {
+    res = http.post(`${API}/auth/login`, JSON.stringify({ username, password }), {
+      headers: { 'Content-Type': 'application/json' },
+      tags: { name: 'login' },
+    });
+    if (res.status !== 0 && res.status < 500) {
+      break;
+    }
+    sleep(2);
+  }
+  if (!check(res, { 'login 200': (r) => r.status === 200 })) {
+    fail(`login failed for ${username}: ${res.status} ${res.body}`);
+  }
+  return res.json('token');
+}
+
+function params(token, name, extra = {}) {
+  return {
+    headers: { Authorization: `Bearer ${token}`, 'Content-Type': 'application/json' },
+    tags: { name },
+    ...extra,
+  };
+}
+
+function idFromLocation(res) {
+  const location = res.headers.Location || res.headers.location;
+  return location ? Number(location.substring(location.lastIndexOf('/') + 1)) : null;
+}
+
+export function createProductType(token, name) {
+  const res = http.post(`${API}/product-types`, JSON.stringify({ name }), params(token, 'createProductType'));
+  check(res, { 'product type 201': (r) => r.status === 201 });
+  return idFromLocation(res);
+}
+
+export function listProducts(token, query) {
+  const res = http.get(`${API}/products?${query}`, params(token, 'listProducts'));
+  check(res, { 'list 200': (r) => r.status === 200 });
+  return res;
+}
+
+export function getProduct(token, id) {
+  const res = http.get(`${API}/products/${id}`, params(token, 'getProduct'));
+  check(res, { 'get 200': (r) => r.status === 200 });
+  return res;
+}
+
+export function createProduct(token, product) {
+  const res = http.post(`${API}/products`, JSON.stringify(product), params(token, 'createProduct'));
+  check(res, { 'create 201': (r) => r.status === 201 });
+  return idFromLocation(res);
+}
+
+export function updateProduct(token, id, product) {
+  const res = http.patch(`${API}/products/${id}`, JSON.stringify(product), params(token, 'updateProduct'));
+  check(res, { 'update 204': (r) => r.status === 204 });
+  return res;
+}
+
+export function deleteProduct(token, id) {
+  const res = http.del(`${API}/products/${id}`, null, params(token, 'deleteProduct'));
+  check(res, { 'delete 204': (r) => r.status === 204 });
+  return res;
+}
+
+// A decrease that would drop below zero is rejected with 400 by design, so
+// it is not counted as a failed request.
+const QUANTITY_STATUSES = http.expectedStatuses(204, 400);
+
+export function updateQuantity(token, id, operation, quantity) {
+  const res = http.patch(`${API}/products/${id}/quantity`, JSON.stringify({ operation, quantity }),
+    params(token, 'updateQuantity', { responseCallback: QUANTITY_STATUSES }));
+  check(res, { 'quantity 204 or 400': (r) => r.status === 204 || r.status === 400 });
+  return res;
+}
@@ -0,0 +1,168 @@
+// Load test for the warehouse API.
+//
+// Logs in once, seeds a product type, browse products and a few "hot"
+// products, then runs three scenarios side by side:
+//   browse    - collection paging (all pagination modes) and getProduct
+//   crud      - create, read, update and delete a product
+//   hot_stock - PATCH /{id}/quantity contention on a handful of ids
+//
+// Run against a local app:
+//   k6 run -e BASE_URL=http://localhost:6565 k6/warehouse-load.js
+// or fully in docker (Postgres, MailHog, the app and k6):
+//   docker compose --profile loadtest up --exit-code-from k6
+//
+// A JSON summary is written to RESULTS_DIR (default k6/results) for every run.
+import { sleep } from 'k6';
+import {
+  login, createProductType, listProducts, getProduct, createProduct, updateProduct, deleteProduct,
+  updateQuantity,
+} from './lib/api.js';
+
+const USERNAME = __ENV.WAREHOUSE_USERNAME || 'admin';
+const PASSWORD = __ENV.WAREHOUSE_PASSWORD || 'admin123';
+const DURATION = __ENV.DURATION || '2m';
+const SEED_PRODUCTS = Number(__ENV.SEED_PRODUCTS || 50);
+const HOT_PRODUCTS = Number(__ENV.HOT_PRODUCTS || 3);
+const RESULTS_DIR = __ENV.RESULTS_DIR || 'k6/results';
+
+export const options = {
+  setupTimeout: '2m',
+  scenarios: {
+    browse: {
+      executor: 'constant-arrival-rate',
+      exec: 'browse',
+      rate: Number(__ENV.BROWSE_RATE || 50),
+      timeUnit: '1s',
+      duration: DURATION,
+      preAllocatedVUs: 20,
+      maxVUs: 100,
+    },
+    crud: {
+      executor: 'constant-arrival-rate',
+      exec: 'crud',
+      rate: Number(__ENV.CRUD_RATE || 5),
+      timeUnit: '1s',
+      duration: DURATION,
+      preAllocatedVUs: 5,
+      maxVUs: 50,
+    },
+    hot_stock: {
+      executor: 'constant-arrival-rate',
+      exec: 'hotStock',
+      rate: Number(__ENV.HOT_STOCK_RATE || 100),
+      timeUnit: '1s',
+      duration: DURATION,
+      preAllocatedVUs: 20,
+      maxVUs: 200,
+    },
+  },
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+    checks: ['rate>0.99'],
+    'http_req_duration{scenario:browse}': ['p(95)<200', 'p(99)<500'],
+    'http_req_duration{scenario:crud}': ['p(95)<300', 'p(99)<800'],
+    'http_req_duration{scenario:hot_stock}': ['p(95)<150', 'p(99)<400'],
+  },
+};
+
+const LETTERS = 'ABCDEFGHIJKLMNOPQRSTUVWXYZ';
+
+function pick(values) {
+  return values[Math.floor(Math.random() * values.length)];
+}
+
+// The SKU is derived from the first two letters of the name, so a random
+// prefix keeps generated SKUs spread out.
+function productName(kind) {
+  return `${pick(LETTERS)}${pick(LETTERS)} ${kind} ${__VU}-${__ITER}-${Date.now()}`;
+}
+
+function productBody(productTypeId, kind, quantity) {
+  return {
+    name: productName(kind),
+    description: `k6 ${kind} product`,
+    quantity,
+    lowStockThreshold: 5,
+    weight: 1.5,
+    height: 2.0,
+    length: 3.0,
+    productTypeId,
+  };
+}
+
+export function setup() {
+  const token = login(USERNAME, PASSWORD);
+  const productTypeId = createProductType(token, `k6 ${Date.now()}`);
+
+  const seedIds = [];
+  for (let i = 0; i < SEED_PRODUCTS; i++) {
+    seedIds.push(createProduct(token, productBody(productTypeId, 'browse', 100)));
+  }
+  const hotIds = [];
+  for (let i = 0; i < HOT_PRODUCTS; i++) {
+    hotIds.push(createProduct(token, productBody(productTypeId, 'hot', 1000000)));
+  }
+
+  return { token, productTypeId, seedIds: seedIds.filter(Boolean), hotIds: hotIds.filter(Boolean) };
+}
+
+export function browse(data) {
+  if (Math.random() < 0.6) {
+    const sortBy = pick(['name', 'created_at']);
+    const direction = pick(['asc', 'desc']);
+    const mode = pick(['exact', 'slice', 'approximate', 'cursor']);
+    const page = mode === 'cursor' ? 0 : Math.floor(Math.random() * 5);
+    const res = listProducts(data.token, `page=${page}&size=20&sortBy=${sortBy}&direction=${direction}&mode=${mode}`);
+
+    // Follow one cursor hop to exercise keyset paging past the first page.
+    const nextCursor = res.status === 200 ? res.json('nextCursor') : null;
+    if (nextCursor) {
+      listProducts(data.token, `size=20&sortBy=${sortBy}&direction=${direction}&after=${nextCursor}`);
+    }
+  } else {
+    getProduct(data.token, pick(data.seedIds));
+  }
+}
+
+export function crud(data) {
+  const id = createProduct(data.token, productBody(data.productTypeId, 'crud', 10));
+  if (!id) {
+    return;
+  }
+  getProduct(data.token, id);
+  updateProduct(data.token, id, productBody(data.productTypeId, 'crud', 20));
+  sleep(0.1);
+  deleteProduct(data.token, id);
+}
+
+export function hotStock(data) {
+  updateQuantity(data.token, pick(data.hotIds), pick(['INCREASE', 'DECREASE']), 1 + Math.floor(Math.random() * 5));
+}
+
+export function teardown(data) {
+  for (const id of data.seedIds.concat(data.hotIds)) {
+    deleteProduct(data.token, id);
+  }
+}
+
+function formatMetric(name, metric) {
+  const values = Object.entries(metric.values)
+    .map(([key, value]) => `${key}=${Number.isInteger(value) ? value : value.toFixed(2)}`)
+    .join(' ');
+  const thresholds = Object.entries(metric.thresholds || {})
+    .map(([expr, result]) => `${result.ok ? 'PASS' : 'FAIL'} ${expr}`)
+    .join(', ');
+  return `  ${name}: ${values}${thresholds ? `\n    ${thresholds}` : ''}`;
+}
+
+export function handleSummary(data) {
+  const stamp = new Date().toISOString().replace(/[:.]/g, '-');
+  const lines = Object.entries(data.metrics)
+    .filter(([name]) => name.startsWith('http_req_duration') || ['http_req_failed', 'http_reqs', 'checks'].includes(name))
+    .map(([name, metric]) => formatMetric(name, metric));
+
+  return {
+    stdout: `\nwarehouse load test summary\n${lines.join('\n')}\n`,
+    [`${RESULTS_DIR}/summary-${stamp}.json`]: JSON.stringify(data, null, 2),
+  };
+}
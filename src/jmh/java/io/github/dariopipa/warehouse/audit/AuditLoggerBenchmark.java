@@ -0,0 +1,51 @@
+package io.github.dariopipa.warehouse.audit;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.dariopipa.warehouse.enums.AuditAction;
+import io.github.dariopipa.warehouse.enums.EntityType;
+import io.github.dariopipa.warehouse.enums.OperationsType;
+
+/**
+ * Measures building the audit details string. The publisher only keeps the
+ * last event, so listener and database costs are left out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuditLoggerBenchmark {
+
+	private Object lastEvent;
+	private AuditLogger auditLogger;
+
+	@Setup
+	public void setUp() {
+		auditLogger = new AuditLogger(event -> lastEvent = event);
+	}
+
+	@Benchmark
+	public Object log() {
+		auditLogger.log(1L, AuditAction.UPDATE, EntityType.PRODUCT, 42L);
+		return lastEvent;
+	}
+
+	@Benchmark
+	public Object logQuantityUpdate() {
+		auditLogger.logQuantityUpdate(1L, EntityType.PRODUCT, 42L, OperationsType.DECREASE, 5);
+		return lastEvent;
+	}
+}
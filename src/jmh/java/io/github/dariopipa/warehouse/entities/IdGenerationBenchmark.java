@@ -0,0 +1,280 @@
+package io.github.dariopipa.warehouse.entities;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+
+import io.github.dariopipa.warehouse.dtos.requests.CreateProductDTO;
+import io.github.dariopipa.warehouse.mappers.ProductMapper;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+
+/**
+ * Inserts {@code rows} rows in one transaction with IDENTITY ids (no insert
+ * batching possible) and with pooled-lo sequence ids (batches of 50), using the
+ * same Hibernate settings as the application. Rows per second is
+ * {@code rows / score}.
+ *
+ * <p>
+ * {@link #insertAuditRows()} persists audit shaped rows directly.
+ * {@link #saveAllProducts()} goes through Spring Data {@code saveAllAndFlush}
+ * in chunks the size of an import batch, like the bulk product import: the
+ * sequence case uses the real {@link Product} mapping, the identity case a
+ * product shaped copy of it.
+ *
+ * <p>
+ * Runs against in-memory H2 by default, which hides most of the round trip
+ * cost. Point it at PostgreSQL to see the real difference:
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark verify -Djmh.args="IdGenerationBenchmark -jvmArgsAppend \
+ *     -Dbenchmark.jdbc.url=jdbc:postgresql://localhost:5432/warehouse?reWriteBatchedInserts=true \
+ *     -Dbenchmark.jdbc.user=admin -Dbenchmark.jdbc.password=admin"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IdGenerationBenchmark {
+
+	private static final int BATCH_SIZE = 50;
+	private static final int IMPORT_BATCH_SIZE = 500;
+
+	@Param({ "identity", "sequence" })
+	private String idGeneration;
+
+	@Param({ "10000", "100000" })
+	private int rows;
+
+	private SessionFactory sessionFactory;
+	private Long productTypeId;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		sessionFactory = new Configuration().addAnnotatedClass(IdentityRow.class)
+				.addAnnotatedClass(SequenceRow.class).addAnnotatedClass(ProductType.class)
+				.addAnnotatedClass(Product.class).addAnnotatedClass(IdentityProduct.class)
+				.setProperty(AvailableSettings.JAKARTA_JDBC_URL,
+						System.getProperty("benchmark.jdbc.url", "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1"))
+				.setProperty(AvailableSettings.JAKARTA_JDBC_USER, System.getProperty("benchmark.jdbc.user", "sa"))
+				.setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD,
+						System.getProperty("benchmark.jdbc.password", ""))
+				.setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+				.setProperty(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo")
+				.setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(BATCH_SIZE))
+				.setProperty(AvailableSettings.ORDER_INSERTS, "true").buildSessionFactory();
+
+		ProductType productType = new ProductType();
+		productType.setName("Tools");
+		productType.setCreatedBy(1L);
+		productType.setUpdatedBy(1L);
+		sessionFactory.inTransaction(session -> session.persist(productType));
+		productTypeId = productType.getId();
+	}
+
+	@Setup(Level.Iteration)
+	public void truncate() {
+		sessionFactory.inTransaction(session -> {
+			session.createMutationQuery("delete from IdentityRow").executeUpdate();
+			session.createMutationQuery("delete from SequenceRow").executeUpdate();
+			// Native, as products are soft deleted and the SKUs must be reusable
+			session.createNativeMutationQuery("delete from product").executeUpdate();
+			session.createNativeMutationQuery("delete from bench_identity_product").executeUpdate();
+		});
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		sessionFactory.close();
+	}
+
+	@Benchmark
+	public void insertAuditRows() {
+		boolean identity = "identity".equals(idGeneration);
+		Instant now = Instant.now();
+
+		try (Session session = sessionFactory.openSession()) {
+			Transaction transaction = session.beginTransaction();
+			for (int i = 0; i < rows; i++) {
+				session.persist(identity ? new IdentityRow(i, now) : new SequenceRow(i, now));
+				if (i % BATCH_SIZE == BATCH_SIZE - 1) {
+					session.flush();
+					session.clear();
+				}
+			}
+			transaction.commit();
+		}
+	}
+
+	@Benchmark
+	public void saveAllProducts() {
+		CreateProductDTO dto = new CreateProductDTO();
+		dto.setName("Hammer");
+		dto.setDescription("Steel claw hammer");
+		dto.setQuantity(100);
+		dto.setLowStockThreshold(10);
+		dto.setWeight(0.6);
+		dto.setHeight(0.3);
+		dto.setLength(0.05);
+
+		try (Session session = sessionFactory.openSession()) {
+			Transaction transaction = session.beginTransaction();
+			ProductType productType = session.getReference(ProductType.class, productTypeId);
+			if ("identity".equals(idGeneration)) {
+				saveAllInChunks(session, IdentityProduct.class,
+						i -> new IdentityProduct(dto, productType, "BENCH-" + i));
+			} else {
+				saveAllInChunks(session, Product.class,
+						i -> ProductMapper.toEntity(dto, 1L, productType, "BENCH-" + i));
+			}
+			transaction.commit();
+		}
+	}
+
+	private <T> void saveAllInChunks(Session session, Class<T> type, LongFunction<T> factory) {
+		SimpleJpaRepository<T, Long> repository = new SimpleJpaRepository<>(type, session);
+		List<T> chunk = new ArrayList<>(IMPORT_BATCH_SIZE);
+		for (int i = 0; i < rows; i++) {
+			chunk.add(factory.apply(i));
+			if (chunk.size() == IMPORT_BATCH_SIZE || i == rows - 1) {
+				repository.saveAllAndFlush(chunk);
+				session.clear();
+				chunk.clear();
+			}
+		}
+	}
+
+	@Entity(name = "IdentityProduct")
+	@Table(name = "bench_identity_product")
+	public static class IdentityProduct {
+
+		@Id
+		@GeneratedValue(strategy = GenerationType.IDENTITY)
+		private Long id;
+
+		@Column(unique = true, nullable = false, length = 64)
+		private String sku;
+
+		private String name;
+		private String description;
+		private Integer quantity;
+		private Integer lowStockThreshold;
+		private Double weight;
+		private Double height;
+		private Double length;
+		private Instant createdAt;
+		private Instant updatedAt;
+
+		@ManyToOne(fetch = FetchType.EAGER, optional = false)
+		@JoinColumn(name = "product_type_id", nullable = false)
+		private ProductType productType;
+
+		private Long createdBy;
+		private Long updatedBy;
+
+		@Version
+		private Long version;
+
+		protected IdentityProduct() {
+		}
+
+		IdentityProduct(CreateProductDTO dto, ProductType productType, String sku) {
+			this.sku = sku;
+			this.name = dto.getName();
+			this.description = dto.getDescription();
+			this.quantity = dto.getQuantity();
+			this.lowStockThreshold = dto.getLowStockThreshold();
+			this.weight = dto.getWeight();
+			this.height = dto.getHeight();
+			this.length = dto.getLength();
+			this.createdAt = Instant.now();
+			this.updatedAt = this.createdAt;
+			this.productType = productType;
+			this.createdBy = 1L;
+			this.updatedBy = 1L;
+		}
+	}
+
+	@Entity(name = "IdentityRow")
+	@Table(name = "bench_identity_row")
+	public static class IdentityRow {
+
+		@Id
+		@GeneratedValue(strategy = GenerationType.IDENTITY)
+		private Long id;
+
+		private Long userId;
+		private Long entityId;
+		private String details;
+		private Instant createdAt;
+
+		protected IdentityRow() {
+		}
+
+		IdentityRow(long entityId, Instant createdAt) {
+			this.userId = 1L;
+			this.entityId = entityId;
+			this.details = "User 1 updated a product with ID " + entityId;
+			this.createdAt = createdAt;
+		}
+	}
+
+	@Entity(name = "SequenceRow")
+	@Table(name = "bench_sequence_row")
+	public static class SequenceRow {
+
+		@Id
+		@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bench_sequence_row_seq")
+		@SequenceGenerator(name = "bench_sequence_row_seq", sequenceName = "bench_sequence_row_seq", allocationSize = BATCH_SIZE)
+		private Long id;
+
+		private Long userId;
+		private Long entityId;
+		private String details;
+		private Instant createdAt;
+
+		protected SequenceRow() {
+		}
+
+		SequenceRow(long entityId, Instant createdAt) {
+			this.userId = 1L;
+			this.entityId = entityId;
+			this.details = "User 1 updated a product with ID " + entityId;
+			this.createdAt = createdAt;
+		}
+	}
+}
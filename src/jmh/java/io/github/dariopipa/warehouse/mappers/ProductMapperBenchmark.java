@@ -0,0 +1,58 @@
+package io.github.dariopipa.warehouse.mappers;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.dariopipa.warehouse.dtos.responses.ProductGetOneResponseDTO;
+import io.github.dariopipa.warehouse.entities.Product;
+import io.github.dariopipa.warehouse.entities.ProductType;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductMapperBenchmark {
+
+	private Product product;
+
+	@Setup
+	public void setUp() {
+		ProductType productType = new ProductType();
+		productType.setId(1L);
+		productType.setName("Electronics");
+
+		product = new Product();
+		product.setId(42L);
+		product.setName("Laptop");
+		product.setSku("LA-EL-2025-00042");
+		product.setDescription("A portable computer");
+		product.setQuantity(120);
+		product.setLowStockThreshold(10);
+		product.setWeight(1.8);
+		product.setHeight(2.1);
+		product.setLength(35.0);
+		product.setCreatedAt(Instant.now());
+		product.setCreatedBy(1L);
+		product.setUpdatedAt(Instant.now());
+		product.setUpdatedBy(1L);
+		product.setProductType(productType);
+	}
+
+	@Benchmark
+	public ProductGetOneResponseDTO toDto() {
+		return ProductMapper.toDto(product);
+	}
+}
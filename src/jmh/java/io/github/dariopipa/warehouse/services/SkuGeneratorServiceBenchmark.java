@@ -0,0 +1,41 @@
+package io.github.dariopipa.warehouse.services;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.dariopipa.warehouse.sku.PrefixedSkuFormat;
+import io.github.dariopipa.warehouse.sku.SkuAllocator;
+import io.github.dariopipa.warehouse.sku.SkuBlock;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SkuGeneratorServiceBenchmark {
+
+	private static final long BLOCK_SIZE = 1000;
+
+	// In-memory block source, so the benchmark measures allocation and formatting
+	// without a database sequence behind it
+	private final AtomicLong nextBlockStart = new AtomicLong();
+	private final SkuGeneratorServiceImpl skuGeneratorService = new SkuGeneratorServiceImpl(
+			new SkuAllocator(() -> new SkuBlock(nextBlockStart.getAndAdd(BLOCK_SIZE), BLOCK_SIZE)),
+			new PrefixedSkuFormat());
+
+	@Benchmark
+	public String generateSku() {
+		return skuGeneratorService.generateSku("Laptop", "Electronics");
+	}
+}
@@ -0,0 +1,90 @@
+package io.github.dariopipa.warehouse.utils;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.github.dariopipa.warehouse.entities.Roles;
+import io.github.dariopipa.warehouse.entities.User;
+import io.github.dariopipa.warehouse.enums.RolesEnum;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * {@code parseClaims} and {@code validateToken} hit the verified claims cache;
+ * {@code parseClaimsUncached} runs against a zero sized cache to measure the
+ * signature check and decoding on their own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilsBenchmark {
+
+	private static final String SECRET = "benchmark-secret-key-that-is-at-least-256-bits-long";
+
+	private JwtUtils jwtUtils;
+	private JwtUtils uncachedJwtUtils;
+	private Authentication authentication;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		jwtUtils = jwtUtils(10_000);
+		uncachedJwtUtils = jwtUtils(0);
+
+		Roles role = new Roles();
+		role.setRole(RolesEnum.ROLE_USER);
+		User user = new User();
+		user.setId(1L);
+		user.setUsername("benchmark");
+		user.setRoles(Set.of(role));
+		authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+
+		token = jwtUtils.generateJwtToken(authentication);
+	}
+
+	private static JwtUtils jwtUtils(long claimsCacheMaxSize) {
+		JwtUtils utils = new JwtUtils(new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(utils, "jwtSecret", SECRET);
+		ReflectionTestUtils.setField(utils, "jwtExpirationMs", 3_600_000L);
+		ReflectionTestUtils.setField(utils, "claimsCacheMaxSize", claimsCacheMaxSize);
+		utils.init();
+		return utils;
+	}
+
+	@Benchmark
+	public String generateJwtToken() {
+		return jwtUtils.generateJwtToken(authentication);
+	}
+
+	@Benchmark
+	public Claims parseClaims() {
+		return jwtUtils.parseClaims(token);
+	}
+
+	@Benchmark
+	public Claims parseClaimsUncached() {
+		return uncachedJwtUtils.parseClaims(token);
+	}
+
+	@Benchmark
+	public boolean validateToken() {
+		return jwtUtils.validateToken(token, "benchmark");
+	}
+}
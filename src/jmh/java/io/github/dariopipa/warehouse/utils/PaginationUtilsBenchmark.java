@@ -0,0 +1,65 @@
+package io.github.dariopipa.warehouse.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import io.github.dariopipa.warehouse.dtos.responses.PaginatedResponse;
+import io.github.dariopipa.warehouse.dtos.responses.ProductGetOneResponseDTO;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaginationUtilsBenchmark {
+
+	@Param({ "10", "100" })
+	private int pageSize;
+
+	private Page<ProductGetOneResponseDTO> page;
+	private Slice<ProductGetOneResponseDTO> slice;
+
+	@Setup
+	public void setUp() {
+		List<ProductGetOneResponseDTO> products = new ArrayList<>(pageSize);
+		for (long i = 0; i < pageSize; i++) {
+			ProductGetOneResponseDTO product = new ProductGetOneResponseDTO();
+			product.setId(i);
+			product.setName("Product " + i);
+			products.add(product);
+		}
+
+		PageRequest pageable = PageRequest.of(3, pageSize);
+		page = new PageImpl<>(products, pageable, 10_000);
+		slice = new SliceImpl<>(products, pageable, true);
+	}
+
+	@Benchmark
+	public PaginatedResponse<ProductGetOneResponseDTO> buildPaginatedResponse() {
+		return PaginationUtils.buildPaginatedResponse(page);
+	}
+
+	@Benchmark
+	public PaginatedResponse<ProductGetOneResponseDTO> buildSliceResponse() {
+		return PaginationUtils.buildSliceResponse(slice);
+	}
+}
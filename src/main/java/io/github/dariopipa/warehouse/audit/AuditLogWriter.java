@@ -0,0 +1,222 @@
+package io.github.dariopipa.warehouse.audit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.github.dariopipa.warehouse.enums.AuditOverflowPolicy;
+import io.github.dariopipa.warehouse.events.AuditLogEvent;
+import io.github.dariopipa.warehouse.services.interfaces.AuditLogService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Buffers audit events in a bounded queue and writes them from a background
+ * thread in multi-row batches. A batch is flushed once it reaches
+ * {@code audit.writer.batch-size} events or {@code audit.writer.flush-interval-ms}
+ * after its first event, whichever comes first.
+ */
+@Component
+public class AuditLogWriter {
+
+	private final Logger logger = LoggerFactory.getLogger(AuditLogWriter.class);
+
+	private final AuditLogService auditLogService;
+	private final boolean async;
+	private final int batchSize;
+	private final long flushIntervalNanos;
+	private final long shutdownTimeoutMs;
+	private final AuditOverflowPolicy overflowPolicy;
+	private final BlockingQueue<AuditLogEvent> queue;
+
+	private final Counter writtenCounter;
+	private final Counter droppedCounter;
+	private final Counter synchronousCounter;
+	private final Counter blockedCounter;
+	private final Counter failedCounter;
+	private final Timer flushTimer;
+
+	private volatile boolean running;
+	private Thread writerThread;
+
+	public AuditLogWriter(AuditLogService auditLogService, MeterRegistry meterRegistry,
+			@Value("${audit.writer.async:true}") boolean async,
+			@Value("${audit.writer.queue-capacity:10000}") int queueCapacity,
+			@Value("${audit.writer.batch-size:200}") int batchSize,
+			@Value("${audit.writer.flush-interval-ms:200}") long flushIntervalMs,
+			@Value("${audit.writer.shutdown-timeout-ms:10000}") long shutdownTimeoutMs,
+			@Value("${audit.writer.overflow-policy:BLOCK}") AuditOverflowPolicy overflowPolicy) {
+		this.auditLogService = auditLogService;
+		this.async = async;
+		this.batchSize = batchSize;
+		this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+		this.shutdownTimeoutMs = shutdownTimeoutMs;
+		this.overflowPolicy = overflowPolicy;
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+		Gauge.builder("audit.writer.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+		Gauge.builder("audit.writer.queue.remaining", queue, BlockingQueue::remainingCapacity)
+				.register(meterRegistry);
+		this.writtenCounter = meterRegistry.counter("audit.writer.events.written");
+		this.droppedCounter = meterRegistry.counter("audit.writer.events.dropped");
+		this.synchronousCounter = meterRegistry.counter("audit.writer.events.synchronous");
+		this.blockedCounter = meterRegistry.counter("audit.writer.enqueue.blocked");
+		this.failedCounter = meterRegistry.counter("audit.writer.events.failed");
+		this.flushTimer = meterRegistry.timer("audit.writer.flush");
+	}
+
+	@PostConstruct
+	public void start() {
+		if (!async) {
+			logger.info("Audit log writer running in synchronous mode");
+			return;
+		}
+
+		running = true;
+		writerThread = new Thread(this::runLoop, "audit-log-writer");
+		writerThread.setDaemon(true);
+		writerThread.start();
+		logger.info("Audit log writer started - batchSize: {}, overflowPolicy: {}", batchSize, overflowPolicy);
+	}
+
+	@PreDestroy
+	public void stop() {
+		if (writerThread == null) {
+			return;
+		}
+
+		running = false;
+		try {
+			writerThread.join(shutdownTimeoutMs);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		if (writerThread.isAlive()) {
+			logger.warn("Audit log writer did not drain within {} ms, {} events left in queue", shutdownTimeoutMs,
+					queue.size());
+			writerThread.interrupt();
+		} else {
+			// Events submitted while the writer thread was exiting
+			List<AuditLogEvent> remaining = new ArrayList<>();
+			queue.drainTo(remaining);
+			writeNow(remaining);
+			logger.info("Audit log writer stopped and drained");
+		}
+	}
+
+	public void submit(AuditLogEvent event) {
+		if (!running) {
+			writeNow(List.of(event));
+			return;
+		}
+
+		if (queue.offer(event)) {
+			return;
+		}
+
+		switch (overflowPolicy) {
+		case BLOCK -> enqueueBlocking(event);
+		case DROP_OLDEST -> enqueueDroppingOldest(event);
+		case SYNCHRONOUS -> {
+			synchronousCounter.increment();
+			writeNow(List.of(event));
+		}
+		}
+	}
+
+	private void enqueueBlocking(AuditLogEvent event) {
+		blockedCounter.increment();
+		try {
+			queue.put(event);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			logger.warn("Interrupted while waiting for audit queue space, writing synchronously");
+			synchronousCounter.increment();
+			writeNow(List.of(event));
+		}
+	}
+
+	private void enqueueDroppingOldest(AuditLogEvent event) {
+		while (!queue.offer(event)) {
+			AuditLogEvent dropped = queue.poll();
+			if (dropped != null) {
+				droppedCounter.increment();
+				logger.warn("Audit queue full, dropped event for {} {}", dropped.getEntityType(),
+						dropped.getEntityId());
+			}
+		}
+	}
+
+	private void runLoop() {
+		List<AuditLogEvent> batch = new ArrayList<>(batchSize);
+
+		while (running || !queue.isEmpty()) {
+			try {
+				collectBatch(batch);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				queue.drainTo(batch);
+				writeNow(batch);
+				return;
+			}
+
+			if (!batch.isEmpty()) {
+				writeNow(batch);
+				batch.clear();
+			}
+		}
+	}
+
+	private void collectBatch(List<AuditLogEvent> batch) throws InterruptedException {
+		AuditLogEvent first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+		if (first == null) {
+			return;
+		}
+
+		batch.add(first);
+		long deadline = System.nanoTime() + flushIntervalNanos;
+		while (batch.size() < batchSize) {
+			queue.drainTo(batch, batchSize - batch.size());
+			long remaining = deadline - System.nanoTime();
+			if (batch.size() >= batchSize || remaining <= 0 || !running) {
+				return;
+			}
+
+			AuditLogEvent next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+			if (next == null) {
+				return;
+			}
+			batch.add(next);
+		}
+	}
+
+	private void writeNow(List<AuditLogEvent> events) {
+		if (events.isEmpty()) {
+			return;
+		}
+
+		try {
+			flushTimer.record(() -> auditLogService.saveAll(events));
+			writtenCounter.increment(events.size());
+		} catch (RuntimeException e) {
+			logger.error("Failed to write batch of {} audit events: {}", events.size(), e.getMessage());
+			if (events.size() > 1) {
+				events.forEach(event -> writeNow(List.of(event)));
+			} else {
+				failedCounter.increment();
+			}
+		}
+	}
+}
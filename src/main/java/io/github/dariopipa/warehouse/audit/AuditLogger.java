@@ -2,6 +2,7 @@ package io.github.dariopipa.warehouse.audit;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
@@ -37,6 +38,23 @@ public class AuditLogger {
 		createAndPublishEvent(userId, AuditAction.UPDATE, entityType, entityId, details);
 	}
 
+	/**
+	 * Records a bulk operation as one entry per entity. Ids of a batch are
+	 * neither contiguous nor exclusive to it, since sequence blocks are shared
+	 * by concurrent sessions, so a range would credit the batch with rows it
+	 * did not create. The entries reach the database in batched multi-row
+	 * inserts through the {@link AuditLogWriter}.
+	 */
+	public void logBulk(Long userId, AuditAction action, EntityType entityType, List<Long> entityIds) {
+		String timestamp = getCurrentTimestamp();
+		for (Long entityId : entityIds) {
+			String details = String.format("User %d bulk %s a %s with ID %d at %s", userId,
+					action.name().toLowerCase(), entityType.name().toLowerCase(), entityId, timestamp);
+
+			createAndPublishEvent(userId, action, entityType, entityId, details);
+		}
+	}
+
 	private void createAndPublishEvent(Long userId, AuditAction action, EntityType entityType, Long entityId,
 			String details) {
 
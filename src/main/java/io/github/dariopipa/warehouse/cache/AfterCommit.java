@@ -0,0 +1,26 @@
+package io.github.dariopipa.warehouse.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Runs a cache eviction now and, when called inside a transaction, again after
+ * commit, so a concurrent reader cannot cache the old row in between.
+ */
+final class AfterCommit {
+
+	private AfterCommit() {
+	}
+
+	static void evict(Runnable eviction) {
+		eviction.run();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					eviction.run();
+				}
+			});
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package io.github.dariopipa.warehouse.cache;
+
+import io.github.dariopipa.warehouse.enums.EntityType;
+
+/**
+ * Tells every node to drop its cached copy of an entity. A null {@code id}
+ * stands for every entity of the type. {@code version} is the entity version
+ * the change produced, when known.
+ */
+public final class CacheInvalidation {
+
+	private final EntityType entityType;
+	private final Long id;
+	private final Long version;
+
+	public CacheInvalidation(EntityType entityType, Long id, Long version) {
+		this.entityType = entityType;
+		this.id = id;
+		this.version = version;
+	}
+
+	public static CacheInvalidation all(EntityType entityType) {
+		return new CacheInvalidation(entityType, null, null);
+	}
+
+	public EntityType getEntityType() {
+		return entityType;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+
+	public boolean isAll() {
+		return id == null;
+	}
+
+	/**
+	 * Whether a copy cached at {@code cachedVersion} already includes this
+	 * change, so it can be kept. Never true when either version is unknown.
+	 */
+	public boolean isCoveredBy(Long cachedVersion) {
+		return version != null && cachedVersion != null && cachedVersion >= version;
+	}
+
+	/**
+	 * Compact wire form, {@code TYPE:id:version} with empty fields for nulls.
+	 */
+	public String encode() {
+		return entityType.name() + ':' + (id == null ? "" : id) + ':' + (version == null ? "" : version);
+	}
+
+	/**
+	 * @throws IllegalArgumentException if {@code text} is not an encoded
+	 *                                  invalidation
+	 */
+	public static CacheInvalidation decode(String text) {
+		String[] parts = text.split(":", -1);
+		if (parts.length != 3) {
+			throw new IllegalArgumentException("Invalid cache invalidation: " + text);
+		}
+
+		try {
+			return new CacheInvalidation(EntityType.valueOf(parts[0]), parts[1].isEmpty() ? null : Long.valueOf(parts[1]),
+					parts[2].isEmpty() ? null : Long.valueOf(parts[2]));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid cache invalidation: " + text, e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return encode();
+	}
+}
@@ -0,0 +1,15 @@
+package io.github.dariopipa.warehouse.cache;
+
+/**
+ * Carries cache invalidations to every node running the service. Receiving
+ * nodes publish each invalidation as an application event, which the local
+ * caches handle by evicting the entry.
+ *
+ * <p>
+ * Inside a transaction an invalidation is only delivered once the
+ * transaction commits, and is dropped on rollback.
+ */
+public interface CacheInvalidationBus {
+
+	void publish(CacheInvalidation invalidation);
+}
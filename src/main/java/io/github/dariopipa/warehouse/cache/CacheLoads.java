@@ -0,0 +1,79 @@
+package io.github.dariopipa.warehouse.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+/**
+ * Read-through loading that never runs the loader under a lock.
+ *
+ * <p>
+ * {@code Cache.get(key, loader)} runs the loader inside
+ * {@code ConcurrentHashMap.compute}, which is {@code synchronized}; on JDK 21 a
+ * virtual thread blocked on JDBC in there pins its carrier thread. Here only an
+ * incomplete future is inserted under the lock. The caller that inserted it
+ * runs the loader afterwards on its own thread, and callers asking for the same
+ * key meanwhile wait on that future, so each key is still loaded once. An entry
+ * invalidated while its load is in flight is not put back when the load
+ * completes. Null values are returned but not cached.
+ */
+public final class CacheLoads {
+
+	private CacheLoads() {
+	}
+
+	public static <K, V> V get(AsyncCache<K, V> cache, K key, Function<? super K, ? extends V> loader) {
+		CompletableFuture<V> cached = cache.getIfPresent(key);
+		if (cached != null) {
+			return await(cached);
+		}
+
+		CompletableFuture<V> loading = new CompletableFuture<>();
+		CompletableFuture<V> existing = cache.asMap().putIfAbsent(key, loading);
+		if (existing != null) {
+			return await(existing);
+		}
+
+		V value;
+		try {
+			value = loader.apply(key);
+		} catch (RuntimeException | Error e) {
+			cache.asMap().remove(key, loading);
+			loading.completeExceptionally(e);
+			throw e;
+		}
+
+		if (value == null) {
+			cache.asMap().remove(key, loading);
+		}
+		loading.complete(value);
+		return value;
+	}
+
+	/**
+	 * @return the cached value, or null when absent, still loading or failed
+	 */
+	public static <K, V> V getIfLoaded(AsyncCache<K, V> cache, K key) {
+		CompletableFuture<V> cached = cache.getIfPresent(key);
+		if (cached == null || !cached.isDone() || cached.isCompletedExceptionally()) {
+			return null;
+		}
+		return cached.join();
+	}
+
+	private static <V> V await(CompletableFuture<V> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			if (e.getCause() instanceof Error cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package io.github.dariopipa.warehouse.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Delivers invalidations to this node only. Meant for tests and single node
+ * deployments.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.bus", havingValue = "in-process", matchIfMissing = true)
+public class InProcessCacheInvalidationBus implements CacheInvalidationBus {
+
+	private final ApplicationEventPublisher publisher;
+
+	public InProcessCacheInvalidationBus(ApplicationEventPublisher publisher) {
+		this.publisher = publisher;
+	}
+
+	@Override
+	public void publish(CacheInvalidation invalidation) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			publisher.publishEvent(invalidation);
+			return;
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				publisher.publishEvent(invalidation);
+			}
+		});
+	}
+}
@@ -0,0 +1,211 @@
+package io.github.dariopipa.warehouse.cache;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.github.dariopipa.warehouse.enums.EntityType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Sends invalidations with PostgreSQL {@code NOTIFY} and listens for the ones
+ * sent by other nodes.
+ *
+ * <p>
+ * Invalidations published inside a transaction are collected and sent just
+ * before commit, several per notification. {@code NOTIFY} is transactional,
+ * so other nodes only hear about changes that were committed. Each payload
+ * starts with the sending node's id so a node skips its own notifications.
+ *
+ * <p>
+ * The listener runs on a dedicated connection outside the pool. Notifications
+ * sent while it is disconnected are lost, so every (re)connect also clears the
+ * local caches.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.bus", havingValue = "postgres")
+public class PostgresCacheInvalidationBus implements CacheInvalidationBus {
+
+	// PostgreSQL rejects payloads of 8000 bytes or more.
+	static final int MAX_PAYLOAD_LENGTH = 7000;
+
+	private final Logger logger = LoggerFactory.getLogger(PostgresCacheInvalidationBus.class);
+
+	private final JdbcTemplate jdbcTemplate;
+	private final JdbcConnectionDetails connectionDetails;
+	private final ApplicationEventPublisher publisher;
+	private final String channel;
+	private final int pollIntervalMs;
+	private final long reconnectDelayMs;
+	private final String nodeId = UUID.randomUUID().toString();
+
+	private volatile boolean running;
+	private Thread listenerThread;
+
+	public PostgresCacheInvalidationBus(JdbcTemplate jdbcTemplate, JdbcConnectionDetails connectionDetails,
+			ApplicationEventPublisher publisher, @Value("${cache.invalidation.channel:warehouse_cache}") String channel,
+			@Value("${cache.invalidation.poll-interval-ms:500}") int pollIntervalMs,
+			@Value("${cache.invalidation.reconnect-delay-ms:5000}") long reconnectDelayMs) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.connectionDetails = connectionDetails;
+		this.publisher = publisher;
+		this.channel = channel;
+		this.pollIntervalMs = pollIntervalMs;
+		this.reconnectDelayMs = reconnectDelayMs;
+	}
+
+	@PostConstruct
+	public void start() {
+		running = true;
+		listenerThread = new Thread(this::listen, "cache-invalidation-listener");
+		listenerThread.setDaemon(true);
+		listenerThread.start();
+	}
+
+	@PreDestroy
+	public void stop() {
+		running = false;
+		if (listenerThread != null) {
+			listenerThread.interrupt();
+		}
+	}
+
+	@Override
+	public void publish(CacheInvalidation invalidation) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			send(List.of(invalidation));
+			return;
+		}
+
+		PendingInvalidations pending = (PendingInvalidations) TransactionSynchronizationManager.getResource(this);
+		if (pending == null) {
+			pending = new PendingInvalidations();
+			TransactionSynchronizationManager.bindResource(this, pending);
+			TransactionSynchronizationManager.registerSynchronization(pending);
+		}
+		pending.add(invalidation);
+	}
+
+	void send(Iterable<CacheInvalidation> invalidations) {
+		for (String payload : payloads(invalidations)) {
+			jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", channel, payload);
+		}
+	}
+
+	List<String> payloads(Iterable<CacheInvalidation> invalidations) {
+		List<String> payloads = new ArrayList<>();
+		StringBuilder payload = new StringBuilder(nodeId);
+		boolean empty = true;
+		for (CacheInvalidation invalidation : invalidations) {
+			String encoded = invalidation.encode();
+			if (!empty && payload.length() + 1 + encoded.length() > MAX_PAYLOAD_LENGTH) {
+				payloads.add(payload.toString());
+				payload.setLength(0);
+				payload.append(nodeId);
+				empty = true;
+			}
+			payload.append(empty ? '|' : ',').append(encoded);
+			empty = false;
+		}
+		if (!empty) {
+			payloads.add(payload.toString());
+		}
+		return payloads;
+	}
+
+	void receive(String payload) {
+		int separator = payload.indexOf('|');
+		if (separator < 0 || payload.substring(0, separator).equals(nodeId)) {
+			return;
+		}
+
+		for (String encoded : payload.substring(separator + 1).split(",")) {
+			try {
+				publisher.publishEvent(CacheInvalidation.decode(encoded));
+			} catch (IllegalArgumentException e) {
+				logger.warn("Ignoring malformed cache invalidation: {}", encoded);
+			}
+		}
+	}
+
+	private void listen() {
+		while (running) {
+			try (Connection connection = DriverManager.getConnection(connectionDetails.getJdbcUrl(),
+					connectionDetails.getUsername(), connectionDetails.getPassword())) {
+				try (Statement statement = connection.createStatement()) {
+					statement.execute("LISTEN " + channel);
+				}
+				logger.info("Listening for cache invalidations on channel: {}", channel);
+				invalidateAll();
+
+				PGConnection pgConnection = connection.unwrap(PGConnection.class);
+				while (running) {
+					PGNotification[] notifications = pgConnection.getNotifications(pollIntervalMs);
+					if (notifications != null) {
+						for (PGNotification notification : notifications) {
+							receive(notification.getParameter());
+						}
+					}
+				}
+			} catch (SQLException e) {
+				if (!running) {
+					return;
+				}
+				logger.warn("Cache invalidation listener disconnected, retrying in {} ms: {}", reconnectDelayMs,
+						e.getMessage());
+				try {
+					Thread.sleep(reconnectDelayMs);
+				} catch (InterruptedException interrupted) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+	}
+
+	private void invalidateAll() {
+		for (EntityType entityType : EntityType.values()) {
+			publisher.publishEvent(CacheInvalidation.all(entityType));
+		}
+	}
+
+	private final class PendingInvalidations implements TransactionSynchronization {
+
+		// Keyed by the encoded form so repeated evictions are sent once.
+		private final Map<String, CacheInvalidation> invalidations = new LinkedHashMap<>();
+
+		private void add(CacheInvalidation invalidation) {
+			invalidations.putIfAbsent(invalidation.encode(), invalidation);
+		}
+
+		@Override
+		public void beforeCommit(boolean readOnly) {
+			send(invalidations.values());
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			TransactionSynchronizationManager.unbindResource(PostgresCacheInvalidationBus.this);
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package io.github.dariopipa.warehouse.cache;
+
+import java.time.Instant;
+
+/**
+ * Immutable copy of a product and the name of its type, as cached by
+ * {@link ProductSnapshotCache}. Response DTOs carry per-request links, so one
+ * is built from the snapshot for every read instead of being shared.
+ */
+public final class ProductSnapshot {
+
+	private final Long id;
+	private final String sku;
+	private final String name;
+	private final String description;
+	private final Integer quantity;
+	private final Integer lowStockThreshold;
+	private final Double weight;
+	private final Double height;
+	private final Double length;
+	private final Instant createdAt;
+	private final Long createdBy;
+	private final Instant updatedAt;
+	private final Long updatedBy;
+	private final Long productTypeId;
+	private final String productTypeName;
+	private final Long productTypeVersion;
+	private final Instant productTypeUpdatedAt;
+	private final Long version;
+
+	public ProductSnapshot(Long id, String sku, String name, String description, Integer quantity,
+			Integer lowStockThreshold, Double weight, Double height, Double length, Instant createdAt, Long createdBy,
+			Instant updatedAt, Long updatedBy, Long productTypeId, String productTypeName, Long productTypeVersion,
+			Instant productTypeUpdatedAt, Long version) {
+		this.id = id;
+		this.sku = sku;
+		this.name = name;
+		this.description = description;
+		this.quantity = quantity;
+		this.lowStockThreshold = lowStockThreshold;
+		this.weight = weight;
+		this.height = height;
+		this.length = length;
+		this.createdAt = createdAt;
+		this.createdBy = createdBy;
+		this.updatedAt = updatedAt;
+		this.updatedBy = updatedBy;
+		this.productTypeId = productTypeId;
+		this.productTypeName = productTypeName;
+		this.productTypeVersion = productTypeVersion;
+		this.productTypeUpdatedAt = productTypeUpdatedAt;
+		this.version = version;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getSku() {
+		return sku;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	public Integer getQuantity() {
+		return quantity;
+	}
+
+	public Integer getLowStockThreshold() {
+		return lowStockThreshold;
+	}
+
+	public Double getWeight() {
+		return weight;
+	}
+
+	public Double getHeight() {
+		return height;
+	}
+
+	public Double getLength() {
+		return length;
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	public Long getCreatedBy() {
+		return createdBy;
+	}
+
+	public Instant getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public Long getUpdatedBy() {
+		return updatedBy;
+	}
+
+	public Long getProductTypeId() {
+		return productTypeId;
+	}
+
+	public String getProductTypeName() {
+		return productTypeName;
+	}
+
+	public Long getProductTypeVersion() {
+		return productTypeVersion;
+	}
+
+	public Instant getProductTypeUpdatedAt() {
+		return productTypeUpdatedAt;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+}
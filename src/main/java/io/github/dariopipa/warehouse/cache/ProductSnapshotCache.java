@@ -0,0 +1,92 @@
+package io.github.dariopipa.warehouse.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.github.dariopipa.warehouse.enums.EntityType;
+import io.github.dariopipa.warehouse.mappers.ProductMapper;
+import io.github.dariopipa.warehouse.repositories.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Read-through cache of product snapshots by id, so repeated reads of the same
+ * product neither borrow a connection nor run a query. Absent products are not
+ * cached.
+ *
+ * <p>
+ * Every write to a product (update, delete, quantity change) must call
+ * {@link #evict(Long)}; a product type change calls {@link #evictAll()}, since
+ * snapshots carry the type name. Evictions are also published on the
+ * {@link CacheInvalidationBus} for the other instances; the TTL only bounds
+ * staleness if one of those is missed.
+ */
+@Component
+public class ProductSnapshotCache {
+
+	private final ProductRepository productRepository;
+	private final CacheInvalidationBus invalidationBus;
+	private final AsyncCache<Long, ProductSnapshot> snapshots;
+
+	public ProductSnapshotCache(ProductRepository productRepository, CacheInvalidationBus invalidationBus,
+			MeterRegistry meterRegistry, @Value("${products.cache.max-size:10000}") long maxSize,
+			@Value("${products.cache.ttl-seconds:60}") long ttlSeconds) {
+		this.productRepository = productRepository;
+		this.invalidationBus = invalidationBus;
+		this.snapshots = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+				.recordStats().buildAsync();
+
+		CaffeineCacheMetrics.monitor(meterRegistry, snapshots, "products.by_id");
+	}
+
+	public Optional<ProductSnapshot> findById(Long id) {
+		return Optional.ofNullable(CacheLoads.get(snapshots, id, this::load));
+	}
+
+	public void evict(Long id) {
+		evict(id, null);
+	}
+
+	/**
+	 * @param version the product version the write produced, so other instances
+	 *                can keep a copy that is already at least that recent; null
+	 *                when unknown
+	 */
+	public void evict(Long id, Long version) {
+		AfterCommit.evict(() -> snapshots.synchronous().invalidate(id));
+		invalidationBus.publish(new CacheInvalidation(EntityType.PRODUCT, id, version));
+	}
+
+	public void evictAll() {
+		AfterCommit.evict(snapshots.synchronous()::invalidateAll);
+		invalidationBus.publish(CacheInvalidation.all(EntityType.PRODUCT));
+	}
+
+	@EventListener
+	public void onInvalidation(CacheInvalidation invalidation) {
+		if (invalidation.getEntityType() != EntityType.PRODUCT) {
+			return;
+		}
+
+		if (invalidation.isAll()) {
+			snapshots.synchronous().invalidateAll();
+			return;
+		}
+
+		ProductSnapshot cached = CacheLoads.getIfLoaded(snapshots, invalidation.getId());
+		if (cached == null || !invalidation.isCoveredBy(cached.getVersion())) {
+			snapshots.synchronous().invalidate(invalidation.getId());
+		}
+	}
+
+	private ProductSnapshot load(Long id) {
+		return productRepository.findById(id).map(ProductMapper::toSnapshot).orElse(null);
+	}
+}
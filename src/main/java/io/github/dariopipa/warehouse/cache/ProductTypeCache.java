@@ -0,0 +1,152 @@
+package io.github.dariopipa.warehouse.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.github.dariopipa.warehouse.entities.ProductType;
+import io.github.dariopipa.warehouse.enums.EntityType;
+import io.github.dariopipa.warehouse.repositories.ProductTypeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Near cache of product types by id, with a name to id index in front of it.
+ * Name lookups resolve the id through the id cache and check the name of what
+ * they get back, so a stale index entry is never served. Lookups return a
+ * detached copy of the cached product type, so callers can attach it to
+ * products but never share or mutate the cached instance. Absent product types
+ * are not cached.
+ *
+ * <p>
+ * Writers must call {@link #evict(Long)} after changing a product type, which
+ * also publishes the eviction on the {@link CacheInvalidationBus} for the
+ * other instances; the TTL only bounds staleness if one of those is missed.
+ */
+@Component
+public class ProductTypeCache {
+
+	private final ProductTypeRepository productTypeRepository;
+	private final CacheInvalidationBus invalidationBus;
+	private final AsyncCache<Long, ProductType> byId;
+	private final Cache<String, Long> idsByName;
+
+	public ProductTypeCache(ProductTypeRepository productTypeRepository, CacheInvalidationBus invalidationBus,
+			MeterRegistry meterRegistry, @Value("${product-types.cache.max-size:1000}") long maxSize,
+			@Value("${product-types.cache.ttl-seconds:600}") long ttlSeconds) {
+		this.productTypeRepository = productTypeRepository;
+		this.invalidationBus = invalidationBus;
+		this.byId = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+				.recordStats().buildAsync();
+		this.idsByName = Caffeine.newBuilder().maximumSize(maxSize)
+				.expireAfterWrite(Duration.ofSeconds(ttlSeconds)).recordStats().build();
+
+		CaffeineCacheMetrics.monitor(meterRegistry, byId, "product_types.by_id");
+		CaffeineCacheMetrics.monitor(meterRegistry, idsByName, "product_types.by_name");
+	}
+
+	public Optional<ProductType> findById(Long id) {
+		ProductType cached = CacheLoads.get(byId, id, this::load);
+		return Optional.ofNullable(cached).map(ProductTypeCache::copy);
+	}
+
+	public Optional<ProductType> findByName(String name) {
+		Long id = idsByName.getIfPresent(name);
+		if (id != null) {
+			Optional<ProductType> cached = findById(id).filter(productType -> productType.getName().equals(name));
+			if (cached.isPresent()) {
+				return cached;
+			}
+			idsByName.asMap().remove(name, id);
+		}
+
+		Optional<Long> loadedId = productTypeRepository.findIdByName(name);
+		loadedId.ifPresent(loaded -> idsByName.put(name, loaded));
+		return loadedId.flatMap(this::findById).filter(productType -> productType.getName().equals(name));
+	}
+
+	/**
+	 * Answers from the cache when the name is indexed and its product type is
+	 * cached, otherwise with an existence query that loads nothing.
+	 */
+	public boolean existsByName(String name) {
+		Long id = idsByName.getIfPresent(name);
+		if (id != null) {
+			ProductType cached = CacheLoads.getIfLoaded(byId, id);
+			if (cached != null && cached.getName().equals(name)) {
+				return true;
+			}
+		}
+		return productTypeRepository.existsByName(name);
+	}
+
+	public void evict(Long id) {
+		evict(id, null);
+	}
+
+	/**
+	 * @param version the product type version the write produced, so other
+	 *                instances can keep a copy that is already at least that
+	 *                recent; null when unknown
+	 */
+	public void evict(Long id, Long version) {
+		AfterCommit.evict(() -> evictNow(id));
+		invalidationBus.publish(new CacheInvalidation(EntityType.PRODUCT_TYPE, id, version));
+	}
+
+	@EventListener
+	public void onInvalidation(CacheInvalidation invalidation) {
+		if (invalidation.getEntityType() != EntityType.PRODUCT_TYPE) {
+			return;
+		}
+
+		if (invalidation.isAll()) {
+			evictAllNow();
+			return;
+		}
+
+		ProductType cached = CacheLoads.getIfLoaded(byId, invalidation.getId());
+		if (cached == null || !invalidation.isCoveredBy(cached.getVersion())) {
+			evictNow(invalidation.getId());
+		}
+	}
+
+	private void evictAllNow() {
+		byId.synchronous().invalidateAll();
+		idsByName.invalidateAll();
+	}
+
+	private void evictNow(Long id) {
+		ProductType removed = byId.synchronous().asMap().remove(id);
+		if (removed != null) {
+			idsByName.asMap().remove(removed.getName(), id);
+		}
+	}
+
+	private ProductType load(Long id) {
+		ProductType productType = productTypeRepository.findById(id).map(ProductTypeCache::copy).orElse(null);
+		if (productType != null) {
+			idsByName.put(productType.getName(), id);
+		}
+		return productType;
+	}
+
+	private static ProductType copy(ProductType source) {
+		ProductType copy = new ProductType();
+		copy.setId(source.getId());
+		copy.setName(source.getName());
+		copy.setCreatedAt(source.getCreatedAt());
+		copy.setCreatedBy(source.getCreatedBy());
+		copy.setUpdatedAt(source.getUpdatedAt());
+		copy.setUpdatedBy(source.getUpdatedBy());
+		copy.setVersion(source.getVersion());
+		return copy;
+	}
+}
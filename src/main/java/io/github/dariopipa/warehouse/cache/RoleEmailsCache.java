@@ -0,0 +1,67 @@
+package io.github.dariopipa.warehouse.cache;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.github.dariopipa.warehouse.enums.EntityType;
+import io.github.dariopipa.warehouse.enums.RolesEnum;
+import io.github.dariopipa.warehouse.repositories.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Read-through cache of the email addresses of the users holding each role, so
+ * sending an alert does not run the user/role join every time. Cached lists
+ * are immutable.
+ *
+ * <p>
+ * Every change to a user's email or roles, including creating a user, must
+ * call {@link #evict(Long)}. A single user can appear in several lists, so
+ * any user change drops all of them. The eviction is also published on the
+ * {@link CacheInvalidationBus} for the other instances; the TTL only bounds
+ * staleness if one of those is missed.
+ */
+@Component
+public class RoleEmailsCache {
+
+	private final UserRepository userRepository;
+	private final CacheInvalidationBus invalidationBus;
+	private final AsyncCache<RolesEnum, List<String>> emailsByRole;
+
+	public RoleEmailsCache(UserRepository userRepository, CacheInvalidationBus invalidationBus,
+			MeterRegistry meterRegistry, @Value("${role-emails.cache.ttl-seconds:300}") long ttlSeconds) {
+		this.userRepository = userRepository;
+		this.invalidationBus = invalidationBus;
+		this.emailsByRole = Caffeine.newBuilder().maximumSize(RolesEnum.values().length)
+				.expireAfterWrite(Duration.ofSeconds(ttlSeconds)).recordStats().buildAsync();
+
+		CaffeineCacheMetrics.monitor(meterRegistry, emailsByRole, "users.emails_by_role");
+	}
+
+	public List<String> findEmailsByRole(RolesEnum role) {
+		return CacheLoads.get(emailsByRole, role, this::load);
+	}
+
+	public void evict(Long userId) {
+		AfterCommit.evict(emailsByRole.synchronous()::invalidateAll);
+		invalidationBus.publish(new CacheInvalidation(EntityType.USER, userId, null));
+	}
+
+	@EventListener
+	public void onInvalidation(CacheInvalidation invalidation) {
+		if (invalidation.getEntityType() == EntityType.USER) {
+			emailsByRole.synchronous().invalidateAll();
+		}
+	}
+
+	private List<String> load(RolesEnum role) {
+		return List.copyOf(userRepository.findEmailsByRole(role));
+	}
+}
@@ -5,6 +5,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,6 +16,7 @@ import org.springframework.web.bind.annotation.RestController;
 import io.github.dariopipa.warehouse.dtos.responses.PaginatedResponse;
 import io.github.dariopipa.warehouse.entities.AuditLog;
 import io.github.dariopipa.warehouse.enums.AuditLogSortByEnum;
+import io.github.dariopipa.warehouse.enums.PaginationModeEnum;
 import io.github.dariopipa.warehouse.enums.SortDirectionEnum;
 import io.github.dariopipa.warehouse.services.interfaces.AuditLogService;
 import io.github.dariopipa.warehouse.utils.PaginationUtils;
@@ -39,16 +41,30 @@ public class AuditLogController {
 	public PaginatedResponse<AuditLog> findAll(@RequestParam(defaultValue = "0") @Min(0) int page,
 			@RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
 			@RequestParam(defaultValue = "created_at") AuditLogSortByEnum sortBy,
-			@RequestParam(defaultValue = "desc") SortDirectionEnum direction) {
+			@RequestParam(defaultValue = "desc") SortDirectionEnum direction,
+			@RequestParam(required = false) PaginationModeEnum mode) {
 
-		logger.info("Fetching audit logs collection - page: {}, size: {}, sortBy: {}, direction: {}", page, size,
-				sortBy, direction);
+		logger.info("Fetching audit logs collection - page: {}, size: {}, sortBy: {}, direction: {}, mode: {}", page,
+				size, sortBy, direction, mode);
+		if (mode == PaginationModeEnum.cursor) {
+			throw new IllegalArgumentException("Cursor pagination is not supported for audit logs");
+		}
 
 		String sortColumn = sortBy.getProperty();
 		Sort.Direction sortDirection = Sort.Direction.fromString(direction.name());
 
 		Sort sort = Sort.by(sortDirection, sortColumn);
 		Pageable pageable = PageRequest.of(page, size, sort);
+
+		// Counting the audit log costs more than reading a page of it, so the
+		// count-free modes matter most here.
+		if (mode == PaginationModeEnum.slice || mode == PaginationModeEnum.approximate) {
+			Slice<AuditLog> slice = auditLogService.findSlice(pageable);
+
+			return mode == PaginationModeEnum.slice ? PaginationUtils.buildSliceResponse(slice)
+					: PaginationUtils.buildApproximateResponse(slice, auditLogService.estimateCount());
+		}
+
 		Page<AuditLog> paginatedResponse = auditLogService.findAll(pageable);
 
 		return PaginationUtils.buildPaginatedResponse(paginatedResponse);
@@ -10,6 +10,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -23,6 +24,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import io.github.dariopipa.warehouse.dtos.requests.ProductTypesDTO;
@@ -30,9 +32,12 @@ import io.github.dariopipa.warehouse.dtos.responses.PaginatedResponse;
 import io.github.dariopipa.warehouse.dtos.responses.ProductTypeResponseDTO;
 import io.github.dariopipa.warehouse.entities.ProductType;
 import io.github.dariopipa.warehouse.entities.User;
+import io.github.dariopipa.warehouse.enums.PaginationModeEnum;
 import io.github.dariopipa.warehouse.enums.ProductTypeSortByEnum;
 import io.github.dariopipa.warehouse.enums.SortDirectionEnum;
 import io.github.dariopipa.warehouse.services.interfaces.ProductTypeService;
+import io.github.dariopipa.warehouse.utils.EntityTags;
+import io.github.dariopipa.warehouse.utils.ItemLinks;
 import io.github.dariopipa.warehouse.utils.PaginationUtils;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -57,24 +62,31 @@ public class ProductTypeController {
 	public PaginatedResponse<ProductTypeResponseDTO> getProductTypes(@RequestParam(defaultValue = "0") @Min(0) int page,
 			@RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
 			@RequestParam(defaultValue = "name") ProductTypeSortByEnum sortBy,
-			@RequestParam(defaultValue = "desc") SortDirectionEnum direction) {
-		logger.info("Fetching product types collection - page: {}, size: {}, sortBy: {}, direction: {}", page, size,
-				sortBy, direction);
+			@RequestParam(defaultValue = "desc") SortDirectionEnum direction,
+			@RequestParam(required = false) PaginationModeEnum mode,
+			@RequestParam(defaultValue = "true") boolean links) {
+		logger.info("Fetching product types collection - page: {}, size: {}, sortBy: {}, direction: {}, mode: {}",
+				page, size, sortBy, direction, mode);
+		if (mode == PaginationModeEnum.cursor) {
+			throw new IllegalArgumentException("Cursor pagination is not supported for product types");
+		}
 
 		String sortColumn = sortBy.getProperty();
 		Sort.Direction sortDirection = Sort.Direction.fromString(direction.name());
 
 		Sort sort = Sort.by(sortDirection, sortColumn);
 		Pageable pageable = PageRequest.of(page, size, sort);
-		Page<ProductTypeResponseDTO> paginatedResponse = productTypeService.getCollection(pageable);
+		if (mode == PaginationModeEnum.slice || mode == PaginationModeEnum.approximate) {
+			Slice<ProductTypeResponseDTO> slice = productTypeService.getCollectionSlice(pageable);
+			addItemLinks(slice, links);
 
-		paginatedResponse.forEach(p -> p.add(
-				linkTo(methodOn(ProductTypeController.class).getProductType(p.getId())).withSelfRel(),
+			return mode == PaginationModeEnum.slice ? PaginationUtils.buildSliceResponse(slice)
+					: PaginationUtils.buildApproximateResponse(slice, productTypeService.estimateCount());
+		}
 
-				linkTo(methodOn(ProductTypeController.class).updateProductTypes(p.getId(), null, null))
-						.withRel("update"),
+		Page<ProductTypeResponseDTO> paginatedResponse = productTypeService.getCollection(pageable);
 
-				linkTo(methodOn(ProductTypeController.class).deleteProductTypes(p.getId(), null)).withRel("delete")));
+		addItemLinks(paginatedResponse, links);
 
 		logger.debug("Product types collection retrieved successfully - total elements: {}",
 				paginatedResponse.getTotalElements());
@@ -82,18 +94,30 @@ public class ProductTypeController {
 		return PaginationUtils.buildPaginatedResponse(paginatedResponse);
 	}
 
+	/**
+	 * Returns a product type with its {@code ETag} and {@code Last-Modified}; a
+	 * matching {@code If-None-Match} or {@code If-Modified-Since} gets a 304
+	 * without a body.
+	 */
 	@GetMapping("/{id}")
-	public ResponseEntity<ProductTypeResponseDTO> getProductType(@PathVariable Long id) {
+	public ResponseEntity<ProductTypeResponseDTO> getProductType(@PathVariable Long id, WebRequest request) {
 		logger.info("Fetching product type with id: {}", id);
 
 		ProductTypeResponseDTO productType = this.productTypeService.getById(id);
 
+		String eTag = EntityTags.of(productType.getVersion());
+		long lastModified = EntityTags.lastModified(productType.getUpdatedAt());
+		if (request.checkNotModified(eTag, lastModified)) {
+			logger.debug("Product type not modified: {}", id);
+			return null;
+		}
+
 		productType.add(
 
-				linkTo(methodOn(ProductTypeController.class).getProductType(id)).withSelfRel(),
+				linkTo(methodOn(ProductTypeController.class).getProductType(id, null)).withSelfRel(),
 
 				linkTo(methodOn(ProductTypeController.class).getProductTypes(0, 10, ProductTypeSortByEnum.name,
-						SortDirectionEnum.asc)).withRel("collection"),
+						SortDirectionEnum.asc, null, true)).withRel("collection"),
 
 				linkTo(methodOn(ProductTypeController.class).updateProductTypes(id, null, null)).withRel("update"),
 
@@ -101,7 +125,7 @@ public class ProductTypeController {
 
 		logger.debug("Product type retrieved successfully: {}", productType.getName());
 
-		return ResponseEntity.ok(productType);
+		return ResponseEntity.ok().eTag(eTag).lastModified(lastModified).body(productType);
 	}
 
 	@PostMapping("")
@@ -134,4 +158,15 @@ public class ProductTypeController {
 		logger.info("Product type updated successfully with id: {}", id);
 		return ResponseEntity.noContent().build();
 	}
+
+	private void addItemLinks(Iterable<ProductTypeResponseDTO> productTypes, boolean links) {
+		if (!links) {
+			return;
+		}
+
+		ItemLinks itemLinks = ItemLinks.forController(ProductTypeController.class);
+		for (ProductTypeResponseDTO p : productTypes) {
+			p.add(itemLinks.self(p.getId()), itemLinks.item(p.getId(), "update"), itemLinks.item(p.getId(), "delete"));
+		}
+	}
 }
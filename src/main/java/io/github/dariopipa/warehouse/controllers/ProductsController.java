@@ -3,14 +3,23 @@ package io.github.dariopipa.warehouse.controllers;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
@@ -20,25 +29,42 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import io.github.dariopipa.warehouse.dtos.requests.CreateProductDTO;
 import io.github.dariopipa.warehouse.dtos.requests.UpdateProductRequestDTO;
+import io.github.dariopipa.warehouse.dtos.requests.UpdateQuantityItemDTO;
 import io.github.dariopipa.warehouse.dtos.requests.UpdateQuantityRequestDTO;
+import io.github.dariopipa.warehouse.dtos.responses.BatchQuantityUpdateResponseDTO;
+import io.github.dariopipa.warehouse.dtos.responses.BulkImportResponseDTO;
 import io.github.dariopipa.warehouse.dtos.responses.PaginatedResponse;
 import io.github.dariopipa.warehouse.dtos.responses.ProductGetOneResponseDTO;
 import io.github.dariopipa.warehouse.entities.User;
+import io.github.dariopipa.warehouse.enums.BatchUpdateModeEnum;
+import io.github.dariopipa.warehouse.enums.PaginationModeEnum;
 import io.github.dariopipa.warehouse.enums.ProductSortByEnum;
 import io.github.dariopipa.warehouse.enums.SortDirectionEnum;
+import io.github.dariopipa.warehouse.exports.ProductExportFormat;
+import io.github.dariopipa.warehouse.imports.ProductImportFormat;
+import io.github.dariopipa.warehouse.services.interfaces.ProductExportService;
+import io.github.dariopipa.warehouse.services.interfaces.ProductImportService;
 import io.github.dariopipa.warehouse.services.interfaces.ProductService;
+import io.github.dariopipa.warehouse.utils.EntityTags;
+import io.github.dariopipa.warehouse.utils.ItemLinks;
 import io.github.dariopipa.warehouse.utils.PaginationUtils;
+import io.github.dariopipa.warehouse.utils.ProductCursor;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 
 @RestController
 @RequestMapping("/api/v1/products")
@@ -48,9 +74,14 @@ public class ProductsController {
 
 	private static final Logger logger = LoggerFactory.getLogger(ProductsController.class);
 	private final ProductService productService;
+	private final ProductImportService productImportService;
+	private final ProductExportService productExportService;
 
-	public ProductsController(ProductService productService) {
+	public ProductsController(ProductService productService, ProductImportService productImportService,
+			ProductExportService productExportService) {
 		this.productService = productService;
+		this.productImportService = productImportService;
+		this.productExportService = productExportService;
 	}
 
 	@PostMapping("")
@@ -65,19 +96,97 @@ public class ProductsController {
 		return ResponseEntity.created(location).build();
 	}
 
+	/**
+	 * Imports products from a CSV (header row first) or NDJSON body. The body is
+	 * read row by row and written in batches; rows that fail validation or
+	 * uniqueness checks are reported back with their line number instead of
+	 * failing the whole import.
+	 */
+	@PostMapping(value = "/bulk", consumes = { "text/csv", "application/x-ndjson" })
+	public ResponseEntity<BulkImportResponseDTO> importProducts(@AuthenticationPrincipal User loggedInUser,
+			@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) throws IOException {
+		logger.info("Importing products with content type: {}", contentType);
+
+		BulkImportResponseDTO report = this.productImportService.importProducts(body,
+				ProductImportFormat.fromContentType(contentType), loggedInUser.getId());
+
+		logger.info("Products imported - imported: {}, failed: {}", report.getImported(), report.getFailed());
+		return ResponseEntity.ok(report);
+	}
+
+	/**
+	 * Streams every product, ordered by id, as NDJSON or CSV straight to the
+	 * response. Rows are read through a database cursor and written as they
+	 * arrive, so memory use does not depend on the number of products. The body
+	 * is gzipped when the client accepts it.
+	 */
+	@GetMapping("/export")
+	public void exportProducts(@RequestParam(defaultValue = "ndjson") ProductExportFormat format,
+			@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+			HttpServletResponse response) throws IOException {
+		boolean gzip = acceptsGzip(acceptEncoding);
+		logger.info("Exporting products - format: {}, gzip: {}", format, gzip);
+
+		response.setContentType(format.getMediaType());
+		response.setCharacterEncoding("UTF-8");
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+				"attachment; filename=\"products." + format.getFileExtension() + "\"");
+		response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+		if (gzip) {
+			response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+		}
+
+		OutputStream output = response.getOutputStream();
+		if (gzip) {
+			GZIPOutputStream gzipOutput = new GZIPOutputStream(output, 8192);
+			this.productExportService.exportProducts(gzipOutput, format);
+			gzipOutput.finish();
+		} else {
+			this.productExportService.exportProducts(output, format);
+		}
+		output.flush();
+	}
+
+	private static boolean acceptsGzip(String acceptEncoding) {
+		if (acceptEncoding == null) {
+			return false;
+		}
+
+		for (String coding : acceptEncoding.split(",")) {
+			String[] parts = coding.trim().split(";");
+			if (parts[0].trim().equalsIgnoreCase("gzip")) {
+				return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns a product with its {@code ETag} and {@code Last-Modified}. Both
+	 * cover the embedded product type, and a matching {@code If-None-Match} or
+	 * {@code If-Modified-Since} gets a 304 without a body. Reads are served from
+	 * the product cache, so revalidating usually touches no database at all.
+	 */
 	@GetMapping("/{id}")
-	public ResponseEntity<ProductGetOneResponseDTO> getProduct(@PathVariable Long id) {
+	public ResponseEntity<ProductGetOneResponseDTO> getProduct(@PathVariable Long id, WebRequest request) {
 		logger.info("Fetching product with id: {}", id);
 		ProductGetOneResponseDTO productGetOneResponseDTO = this.productService.getById(id);
 
+		String eTag = eTag(productGetOneResponseDTO);
+		long lastModified = lastModified(productGetOneResponseDTO);
+		if (request.checkNotModified(eTag, lastModified)) {
+			logger.debug("Product not modified: {}", id);
+			return null;
+		}
+
 		productGetOneResponseDTO.add(
 
-				linkTo(methodOn(ProductsController.class).getProduct(id)).withSelfRel(),
+				linkTo(methodOn(ProductsController.class).getProduct(id, null)).withSelfRel(),
 
 				linkTo(methodOn(ProductsController.class).getProductCollection(0, 10, ProductSortByEnum.name,
-						SortDirectionEnum.asc)).withRel("collection"),
+						SortDirectionEnum.asc, null, null, true)).withRel("collection"),
 
-				linkTo(methodOn(ProductsController.class).updateEntity(id, null, null)).withRel("update"),
+				linkTo(methodOn(ProductsController.class).updateEntity(id, null, null, null)).withRel("update"),
 
 				linkTo(methodOn(ProductsController.class).updateProductQuantity(id, null, null))
 						.withRel("updateQuantity"),
@@ -85,7 +194,7 @@ public class ProductsController {
 				linkTo(methodOn(ProductsController.class).deleteProduct(id, null)).withRel("delete"));
 
 		logger.debug("Product retrieved successfully: {}", productGetOneResponseDTO.getName());
-		return ResponseEntity.ok(productGetOneResponseDTO);
+		return ResponseEntity.ok().eTag(eTag).lastModified(lastModified).body(productGetOneResponseDTO);
 	}
 
 	@DeleteMapping("/{id}")
@@ -97,14 +206,30 @@ public class ProductsController {
 		return ResponseEntity.noContent().build();
 	}
 
+	/**
+	 * Replaces the product fields. With an {@code If-Match} header holding the
+	 * {@code ETag} of an earlier read the update only applies if the product has
+	 * not changed since (412 otherwise); a change racing this update is reported
+	 * as 409.
+	 */
 	@PatchMapping("/{id}")
 	public ResponseEntity<Void> updateEntity(@PathVariable Long id,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
 			@Valid @RequestBody UpdateProductRequestDTO updateRequestDTO, @AuthenticationPrincipal User loggedInUser) {
 		logger.info("Updating product with id: {} and name: {}", id, updateRequestDTO.getName());
-		this.productService.update(id, updateRequestDTO, loggedInUser.getId());
+		ProductGetOneResponseDTO updated = this.productService.update(id, updateRequestDTO,
+				EntityTags.parseIfMatch(ifMatch), loggedInUser.getId());
 
 		logger.info("Product updated successfully with id: {}", id);
-		return ResponseEntity.noContent().build();
+		return ResponseEntity.noContent().eTag(eTag(updated)).lastModified(lastModified(updated)).build();
+	}
+
+	private static String eTag(ProductGetOneResponseDTO product) {
+		return EntityTags.of(product.getVersion(), product.getProductType().getVersion());
+	}
+
+	private static long lastModified(ProductGetOneResponseDTO product) {
+		return EntityTags.lastModified(product.getUpdatedAt(), product.getProductType().getUpdatedAt());
 	}
 
 	@PatchMapping("/{id}/quantity")
@@ -119,31 +244,70 @@ public class ProductsController {
 		return ResponseEntity.noContent().build();
 	}
 
+	/**
+	 * Applies several quantity changes in one transaction and one batched
+	 * statement. In {@code atomic} mode (the default) either every change is
+	 * applied or none is; in {@code partial} mode changes that would drive a
+	 * stock negative or target a missing product are rejected individually and
+	 * reported in the per-item results.
+	 */
+	@PatchMapping("/quantities")
+	public ResponseEntity<BatchQuantityUpdateResponseDTO> updateProductQuantities(
+			@RequestParam(defaultValue = "atomic") BatchUpdateModeEnum mode,
+			@RequestBody @NotEmpty @Size(max = 1000) List<@Valid UpdateQuantityItemDTO> items,
+			@AuthenticationPrincipal User loggedInUser) {
+		logger.info("Updating quantities for {} items with mode: {}", items.size(), mode);
+
+		BatchQuantityUpdateResponseDTO response = this.productService.updateQuantities(items, mode,
+				loggedInUser.getId());
+		logger.info("Product quantities updated - applied: {}, rejected: {}", response.getApplied(),
+				response.getRejected());
+		return ResponseEntity.ok(response);
+	}
+
+	/**
+	 * Lists products. {@code slice} mode skips the count query and leaves the
+	 * totals out; {@code approximate} mode fills them from the table statistics
+	 * instead of counting. In {@code cursor} mode (or whenever {@code after} is given)
+	 * the page starts right after the product encoded in the cursor, which
+	 * avoids OFFSET scans and the count query; the response then carries
+	 * {@code nextCursor} instead of page totals. {@code links=false} leaves the
+	 * per-item links out for clients that do not follow them.
+	 */
 	@GetMapping("")
 	public PaginatedResponse<ProductGetOneResponseDTO> getProductCollection(
 			@RequestParam(defaultValue = "0") @Min(0) int page,
 			@RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
 			@RequestParam(defaultValue = "name") ProductSortByEnum sortBy,
-			@RequestParam(defaultValue = "asc") SortDirectionEnum direction) {
-		logger.info("Fetching product collection - page: {}, size: {}, sortBy: {}, direction: {}", page, size, sortBy,
-				direction);
+			@RequestParam(defaultValue = "asc") SortDirectionEnum direction,
+			@RequestParam(required = false) PaginationModeEnum mode, @RequestParam(required = false) String after,
+			@RequestParam(defaultValue = "true") boolean links) {
+		logger.info("Fetching product collection - page: {}, size: {}, sortBy: {}, direction: {}, mode: {}", page,
+				size, sortBy, direction, mode);
 
 		String sortColumn = sortBy.getProperty();
 		Sort.Direction sortDirection = Sort.Direction.fromString(direction.name());
-
 		Sort sort = Sort.by(sortDirection, sortColumn);
+
+		if (mode == PaginationModeEnum.cursor || after != null) {
+			return getProductCollectionAfter(after, size, sortBy, direction, sort, links);
+		}
+
 		Pageable pageable = PageRequest.of(page, size, sort);
-		Page<ProductGetOneResponseDTO> paginatedResponse = productService.getCollection(pageable);
+		if (mode == PaginationModeEnum.slice || mode == PaginationModeEnum.approximate) {
+			Slice<ProductGetOneResponseDTO> slice = productService.getCollectionSlice(pageable);
+			addItemLinks(slice, links);
 
-		paginatedResponse.forEach(p -> p.add(
-				linkTo(methodOn(ProductsController.class).getProduct(p.getId())).withSelfRel(),
+			logger.debug("Product slice retrieved successfully - elements: {}, hasNext: {}",
+					slice.getNumberOfElements(), slice.hasNext());
 
-				linkTo(methodOn(ProductsController.class).updateEntity(p.getId(), null, null)).withRel("update"),
+			return mode == PaginationModeEnum.slice ? PaginationUtils.buildSliceResponse(slice)
+					: PaginationUtils.buildApproximateResponse(slice, productService.estimateCount());
+		}
 
-				linkTo(methodOn(ProductsController.class).updateProductQuantity(p.getId(), null, null))
-						.withRel("updateQuantity"),
+		Page<ProductGetOneResponseDTO> paginatedResponse = productService.getCollection(pageable);
 
-				linkTo(methodOn(ProductsController.class).deleteProduct(p.getId(), null)).withRel("delete")));
+		addItemLinks(paginatedResponse, links);
 
 		logger.debug("Product collection retrieved successfully - total elements: {}",
 				paginatedResponse.getTotalElements());
@@ -151,4 +315,35 @@ public class ProductsController {
 		return PaginationUtils.buildPaginatedResponse(paginatedResponse);
 	}
 
+	private PaginatedResponse<ProductGetOneResponseDTO> getProductCollectionAfter(String after, int size,
+			ProductSortByEnum sortBy, SortDirectionEnum direction, Sort sort, boolean links) {
+
+		ScrollPosition position = after == null ? ScrollPosition.keyset()
+				: ProductCursor.decode(after, sortBy, direction).toScrollPosition();
+		Window<ProductGetOneResponseDTO> window = productService.getCollection(position, sort, size);
+
+		addItemLinks(window, links);
+
+		List<ProductGetOneResponseDTO> products = window.getContent();
+		String nextCursor = products.isEmpty() ? null
+				: ProductCursor.encode(sortBy, direction, products.get(products.size() - 1));
+
+		logger.debug("Product collection retrieved successfully - elements: {}, hasNext: {}", products.size(),
+				window.hasNext());
+
+		return PaginationUtils.buildCursorResponse(products, size, window.hasNext(), nextCursor, after != null);
+	}
+
+	private void addItemLinks(Iterable<ProductGetOneResponseDTO> products, boolean links) {
+		if (!links) {
+			return;
+		}
+
+		ItemLinks itemLinks = ItemLinks.forController(ProductsController.class);
+		for (ProductGetOneResponseDTO p : products) {
+			p.add(itemLinks.self(p.getId()), itemLinks.item(p.getId(), "update"),
+					itemLinks.item(p.getId(), "/quantity", "updateQuantity"), itemLinks.item(p.getId(), "delete"));
+		}
+	}
+
 }
@@ -0,0 +1,18 @@
+package io.github.dariopipa.warehouse.dtos.requests;
+
+import jakarta.validation.constraints.NotNull;
+
+public class UpdateQuantityItemDTO extends UpdateQuantityRequestDTO {
+
+	@NotNull(message = "Id must not be null")
+	private Long id;
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+}
@@ -0,0 +1,66 @@
+package io.github.dariopipa.warehouse.dtos.responses;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchQuantityUpdateResponseDTO {
+
+	private int applied;
+	private int rejected;
+	private List<ItemResultDTO> results = new ArrayList<>();
+
+	public int getApplied() {
+		return applied;
+	}
+
+	public void setApplied(int applied) {
+		this.applied = applied;
+	}
+
+	public int getRejected() {
+		return rejected;
+	}
+
+	public void setRejected(int rejected) {
+		this.rejected = rejected;
+	}
+
+	public List<ItemResultDTO> getResults() {
+		return results;
+	}
+
+	public void setResults(List<ItemResultDTO> results) {
+		this.results = results;
+	}
+
+	public static class ItemResultDTO {
+
+		private final Long id;
+		private final boolean applied;
+		private final Integer quantity;
+		private final String error;
+
+		public ItemResultDTO(Long id, boolean applied, Integer quantity, String error) {
+			this.id = id;
+			this.applied = applied;
+			this.quantity = quantity;
+			this.error = error;
+		}
+
+		public Long getId() {
+			return id;
+		}
+
+		public boolean isApplied() {
+			return applied;
+		}
+
+		public Integer getQuantity() {
+			return quantity;
+		}
+
+		public String getError() {
+			return error;
+		}
+	}
+}
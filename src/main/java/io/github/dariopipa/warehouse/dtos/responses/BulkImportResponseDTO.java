@@ -0,0 +1,78 @@
+package io.github.dariopipa.warehouse.dtos.responses;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkImportResponseDTO {
+
+	private long totalRows;
+	private long imported;
+	private long failed;
+	private boolean errorsTruncated;
+	private List<RowErrorDTO> errors = new ArrayList<>();
+
+	public long getTotalRows() {
+		return totalRows;
+	}
+
+	public void setTotalRows(long totalRows) {
+		this.totalRows = totalRows;
+	}
+
+	public long getImported() {
+		return imported;
+	}
+
+	public void setImported(long imported) {
+		this.imported = imported;
+	}
+
+	public long getFailed() {
+		return failed;
+	}
+
+	public void setFailed(long failed) {
+		this.failed = failed;
+	}
+
+	public boolean isErrorsTruncated() {
+		return errorsTruncated;
+	}
+
+	public void setErrorsTruncated(boolean errorsTruncated) {
+		this.errorsTruncated = errorsTruncated;
+	}
+
+	public List<RowErrorDTO> getErrors() {
+		return errors;
+	}
+
+	public void setErrors(List<RowErrorDTO> errors) {
+		this.errors = errors;
+	}
+
+	public static class RowErrorDTO {
+
+		private final long line;
+		private final String name;
+		private final String error;
+
+		public RowErrorDTO(long line, String name, String error) {
+			this.line = line;
+			this.name = name;
+			this.error = error;
+		}
+
+		public long getLine() {
+			return line;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public String getError() {
+			return error;
+		}
+	}
+}
@@ -2,15 +2,20 @@ package io.github.dariopipa.warehouse.dtos.responses;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PaginatedResponse<T> {
 
 	private List<T> data;
-	private int currentPage;
-	private int totalPages;
-	private long totalItems;
+	private Integer currentPage;
+	private Integer totalPages;
+	private Long totalItems;
 	private int pageSize;
 	private boolean hasNext;
 	private boolean hasPrevious;
+	private String nextCursor;
+	private Boolean approximateTotals;
 
 	public List<T> getData() {
 		return data;
@@ -20,27 +25,27 @@ public class PaginatedResponse<T> {
 		this.data = data;
 	}
 
-	public int getCurrentPage() {
+	public Integer getCurrentPage() {
 		return currentPage;
 	}
 
-	public void setCurrentPage(int currentPage) {
+	public void setCurrentPage(Integer currentPage) {
 		this.currentPage = currentPage;
 	}
 
-	public int getTotalPages() {
+	public Integer getTotalPages() {
 		return totalPages;
 	}
 
-	public void setTotalPages(int totalPages) {
+	public void setTotalPages(Integer totalPages) {
 		this.totalPages = totalPages;
 	}
 
-	public long getTotalItems() {
+	public Long getTotalItems() {
 		return totalItems;
 	}
 
-	public void setTotalItems(long totalItems) {
+	public void setTotalItems(Long totalItems) {
 		this.totalItems = totalItems;
 	}
 
@@ -68,6 +73,22 @@ public class PaginatedResponse<T> {
 		this.hasPrevious = hasPrevious;
 	}
 
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+	public void setNextCursor(String nextCursor) {
+		this.nextCursor = nextCursor;
+	}
+
+	public Boolean getApproximateTotals() {
+		return approximateTotals;
+	}
+
+	public void setApproximateTotals(Boolean approximateTotals) {
+		this.approximateTotals = approximateTotals;
+	}
+
 	public PaginatedResponse() {
 	}
 
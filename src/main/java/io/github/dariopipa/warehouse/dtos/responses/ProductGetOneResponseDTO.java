@@ -19,12 +19,15 @@ public class ProductGetOneResponseDTO extends RepresentationModel<ProductGetOneR
 	private Instant updatedAt;
 	private Long createdBy;
 	private Long updatedBy;
+	private Long version;
 
 	private ProductTypeDTO productType;
 
 	public static class ProductTypeDTO {
 		private Long id;
 		private String name;
+		private Long version;
+		private Instant updatedAt;
 
 		public ProductTypeDTO() {
 		}
@@ -49,6 +52,22 @@ public class ProductGetOneResponseDTO extends RepresentationModel<ProductGetOneR
 		public void setName(String name) {
 			this.name = name;
 		}
+
+		public Long getVersion() {
+			return version;
+		}
+
+		public void setVersion(Long version) {
+			this.version = version;
+		}
+
+		public Instant getUpdatedAt() {
+			return updatedAt;
+		}
+
+		public void setUpdatedAt(Instant updatedAt) {
+			this.updatedAt = updatedAt;
+		}
 	}
 
 	public ProductGetOneResponseDTO() {
@@ -160,6 +179,14 @@ public class ProductGetOneResponseDTO extends RepresentationModel<ProductGetOneR
 		this.updatedBy = updatedBy;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
 	public ProductTypeDTO getProductType() {
 		return productType;
 	}
@@ -30,6 +30,9 @@ public class ProductTypeResponseDTO extends RepresentationModel<ProductTypeRespo
 	@JsonProperty("updatedBy")
 	private Long updatedBy;
 
+	@JsonProperty("version")
+	private Long version;
+
 	// Getters and setters
 	public Long getId() {
 		return id;
@@ -78,4 +81,12 @@ public class ProductTypeResponseDTO extends RepresentationModel<ProductTypeRespo
 	public void setUpdatedBy(Long updatedBy) {
 		this.updatedBy = updatedBy;
 	}
+
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
 }
@@ -14,13 +14,21 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 
 @Entity
 @Immutable
 public class AuditLog {
 
+	/**
+	 * Ids reserved per sequence call. Shared with the JDBC batch insert, which
+	 * hands out ids from the same sequence blocks.
+	 */
+	public static final int ID_ALLOCATION_SIZE = 50;
+
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_log_seq")
+	@SequenceGenerator(name = "audit_log_seq", sequenceName = "audit_log_seq", allocationSize = ID_ALLOCATION_SIZE)
 	private Long id;
 
 	@Column(nullable = false, updatable = false)
@@ -0,0 +1,155 @@
+package io.github.dariopipa.warehouse.entities;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import io.github.dariopipa.warehouse.enums.OutboxEventType;
+import io.github.dariopipa.warehouse.enums.OutboxStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "outbox_event", indexes = @Index(name = "idx_outbox_event_status_next_attempt", columnList = "status, next_attempt_at"))
+public class OutboxEvent {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+	@SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 50)
+	private Long id;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "event_type", nullable = false, length = 50, updatable = false)
+	private OutboxEventType eventType;
+
+	@Column(name = "aggregate_id", nullable = false, updatable = false)
+	private Long aggregateId;
+
+	@Column(nullable = false, updatable = false, columnDefinition = "TEXT")
+	private String payload;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 20)
+	private OutboxStatus status = OutboxStatus.PENDING;
+
+	@Column(nullable = false)
+	private int attempts;
+
+	@Column(name = "next_attempt_at", nullable = false)
+	private Instant nextAttemptAt;
+
+	@Column(name = "last_error", length = 1000)
+	private String lastError;
+
+	@CreationTimestamp
+	@Column(name = "created_at", nullable = false, updatable = false)
+	private Instant createdAt;
+
+	@Column(name = "processed_at")
+	private Instant processedAt;
+
+	// JPA needed
+	public OutboxEvent() {
+	}
+
+	public OutboxEvent(OutboxEventType eventType, Long aggregateId, String payload) {
+		this.eventType = eventType;
+		this.aggregateId = aggregateId;
+		this.payload = payload;
+		this.nextAttemptAt = Instant.now();
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public OutboxEventType getEventType() {
+		return eventType;
+	}
+
+	public void setEventType(OutboxEventType eventType) {
+		this.eventType = eventType;
+	}
+
+	public Long getAggregateId() {
+		return aggregateId;
+	}
+
+	public void setAggregateId(Long aggregateId) {
+		this.aggregateId = aggregateId;
+	}
+
+	public String getPayload() {
+		return payload;
+	}
+
+	public void setPayload(String payload) {
+		this.payload = payload;
+	}
+
+	public OutboxStatus getStatus() {
+		return status;
+	}
+
+	public void setStatus(OutboxStatus status) {
+		this.status = status;
+	}
+
+	public int getAttempts() {
+		return attempts;
+	}
+
+	public void setAttempts(int attempts) {
+		this.attempts = attempts;
+	}
+
+	public Instant getNextAttemptAt() {
+		return nextAttemptAt;
+	}
+
+	public void setNextAttemptAt(Instant nextAttemptAt) {
+		this.nextAttemptAt = nextAttemptAt;
+	}
+
+	public String getLastError() {
+		return lastError;
+	}
+
+	public void setLastError(String lastError) {
+		this.lastError = lastError;
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(Instant createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	public Instant getProcessedAt() {
+		return processedAt;
+	}
+
+	public void setProcessedAt(Instant processedAt) {
+		this.processedAt = processedAt;
+	}
+
+	@Override
+	public String toString() {
+		return "OutboxEvent [id=" + id + ", eventType=" + eventType + ", aggregateId=" + aggregateId + ", status="
+				+ status + ", attempts=" + attempts + "]";
+	}
+}
@@ -2,25 +2,36 @@ package io.github.dariopipa.warehouse.entities;
 
 import java.time.Instant;
 
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.SoftDelete;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import io.github.dariopipa.warehouse.enums.StockAlertState;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
 @SoftDelete
+@Table(indexes = { @Index(name = "idx_product_name_id", columnList = "name, id"),
+		@Index(name = "idx_product_created_at_id", columnList = "created_at, id") })
 public class Product {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+	@SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = 50)
 	private Long id;
 
 	@Column(unique = true, nullable = false, length = 64)
@@ -60,6 +71,17 @@ public class Product {
 	@Column(name = "updated_by", nullable = false)
 	private Long updatedBy;
 
+	@Version
+	@Column(nullable = false)
+	private Long version;
+
+	// Written only by the conditional state transitions in
+	// ProductQuantityRepository, never by saving the entity.
+	@Enumerated(EnumType.STRING)
+	@ColumnDefault("'ARMED'")
+	@Column(name = "stock_alert_state", nullable = false, length = 16, updatable = false)
+	private StockAlertState stockAlertState = StockAlertState.ARMED;
+
 	public Long getId() {
 		return id;
 	}
@@ -180,4 +202,16 @@ public class Product {
 		return "Product [id=" + id + ", sku=" + sku + ", name=" + name + ", createdAt=" + createdAt + ", updatedAt="
 				+ updatedAt + "]";
 	}
+
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
+	public StockAlertState getStockAlertState() {
+		return stockAlertState;
+	}
 }
@@ -14,13 +14,16 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
 
 @Entity
 @SoftDelete
 public class ProductType {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_type_seq")
+	@SequenceGenerator(name = "product_type_seq", sequenceName = "product_type_seq", allocationSize = 50)
 	private Long id;
 
 	@Column(nullable = false, unique = true)
@@ -40,6 +43,10 @@ public class ProductType {
 	@Column(name = "updated_by", nullable = false)
 	private Long updatedBy;
 
+	@Version
+	@Column(nullable = false)
+	private Long version;
+
 	@OneToMany(mappedBy = "productType")
 	private List<Product> products = new ArrayList<>();
 
@@ -107,4 +114,12 @@ public class ProductType {
 		return "ProductType [id=" + id + ", name=" + name + ", createdAt=" + createdAt + ", createdBy=" + createdBy
 				+ "]";
 	}
+
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
 }
@@ -11,12 +11,14 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 
 @Entity
 public class StockAlert {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_alert_seq")
+	@SequenceGenerator(name = "stock_alert_seq", sequenceName = "stock_alert_seq", allocationSize = 50)
 	private Long id;
 
 	@CreationTimestamp
@@ -26,6 +28,11 @@ public class StockAlert {
 	@Column(name = "email_sent")
 	private Boolean emailSent;
 
+	// Set once the alert has been handed to an outbox email, either on its own
+	// or as part of a digest.
+	@Column(name = "email_queued", nullable = false)
+	private boolean emailQueued;
+
 	@ManyToOne
 	@JoinColumn(name = "product_id", nullable = false)
 	private Product product;
@@ -54,6 +61,14 @@ public class StockAlert {
 		this.emailSent = emailSent;
 	}
 
+	public boolean isEmailQueued() {
+		return emailQueued;
+	}
+
+	public void setEmailQueued(boolean emailQueued) {
+		this.emailQueued = emailQueued;
+	}
+
 	public Product getProduct() {
 		return product;
 	}
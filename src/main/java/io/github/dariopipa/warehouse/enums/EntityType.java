@@ -1,5 +1,5 @@
 package io.github.dariopipa.warehouse.enums;
 
 public enum EntityType {
-	PRODUCT, PRODUCT_TYPE, USER
+	PRODUCT, PRODUCT_TYPE, USER, STOCK_ALERT
 }
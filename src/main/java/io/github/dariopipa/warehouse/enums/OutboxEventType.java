@@ -0,0 +1,5 @@
+package io.github.dariopipa.warehouse.enums;
+
+public enum OutboxEventType {
+	LOW_STOCK_ALERT, LOW_STOCK_DIGEST
+}
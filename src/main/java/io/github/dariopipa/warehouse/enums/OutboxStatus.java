@@ -0,0 +1,5 @@
+package io.github.dariopipa.warehouse.enums;
+
+public enum OutboxStatus {
+	PENDING, SENT, FAILED
+}
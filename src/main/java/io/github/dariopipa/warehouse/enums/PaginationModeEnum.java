@@ -0,0 +1,5 @@
+package io.github.dariopipa.warehouse.enums;
+
+public enum PaginationModeEnum {
+	exact, slice, approximate, cursor,
+}
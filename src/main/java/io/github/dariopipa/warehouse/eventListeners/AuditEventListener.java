@@ -1,22 +1,24 @@
 package io.github.dariopipa.warehouse.eventListeners;
 
-import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import io.github.dariopipa.warehouse.audit.AuditLogWriter;
 import io.github.dariopipa.warehouse.events.AuditLogEvent;
-import io.github.dariopipa.warehouse.services.interfaces.AuditLogService;
 
 @Component
 public class AuditEventListener {
 
-	private final AuditLogService auditLogService;
+	private final AuditLogWriter auditLogWriter;
 
-	public AuditEventListener(AuditLogService auditLogService) {
-		this.auditLogService = auditLogService;
+	public AuditEventListener(AuditLogWriter auditLogWriter) {
+		this.auditLogWriter = auditLogWriter;
 	}
 
-	@EventListener
+	// Runs after the publishing transaction commits, so rolled back changes are
+	// never audited and the caller does not pay for the audit INSERT.
+	@TransactionalEventListener(fallbackExecution = true)
 	public void handleAuditEvent(AuditLogEvent event) {
-		auditLogService.save(event);
+		auditLogWriter.submit(event);
 	}
 }
@@ -1,5 +1,7 @@
 package io.github.dariopipa.warehouse.events;
 
+import java.time.Instant;
+
 import io.github.dariopipa.warehouse.enums.AuditAction;
 import io.github.dariopipa.warehouse.enums.EntityType;
 
@@ -9,6 +11,7 @@ public class AuditLogEvent {
 	private final EntityType entityType;
 	private final Long entityId;
 	private final String details;
+	private final Instant occurredAt;
 
 	public AuditLogEvent(Long userId, AuditAction action, EntityType entityType, Long entityId, String details) {
 		this.userId = userId;
@@ -16,6 +19,7 @@ public class AuditLogEvent {
 		this.entityType = entityType;
 		this.entityId = entityId;
 		this.details = details;
+		this.occurredAt = Instant.now();
 	}
 
 	public Long getUserId() {
@@ -37,4 +41,8 @@ public class AuditLogEvent {
 	public String getDetails() {
 		return details;
 	}
+
+	public Instant getOccurredAt() {
+		return occurredAt;
+	}
 }
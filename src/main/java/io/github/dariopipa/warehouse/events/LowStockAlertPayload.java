@@ -0,0 +1,51 @@
+package io.github.dariopipa.warehouse.events;
+
+public class LowStockAlertPayload {
+
+	private Long stockAlertId;
+	private Long productId;
+	private int quantity;
+	private int lowStockThreshold;
+
+	public LowStockAlertPayload() {
+	}
+
+	public LowStockAlertPayload(Long stockAlertId, Long productId, int quantity, int lowStockThreshold) {
+		this.stockAlertId = stockAlertId;
+		this.productId = productId;
+		this.quantity = quantity;
+		this.lowStockThreshold = lowStockThreshold;
+	}
+
+	public Long getStockAlertId() {
+		return stockAlertId;
+	}
+
+	public void setStockAlertId(Long stockAlertId) {
+		this.stockAlertId = stockAlertId;
+	}
+
+	public Long getProductId() {
+		return productId;
+	}
+
+	public void setProductId(Long productId) {
+		this.productId = productId;
+	}
+
+	public int getQuantity() {
+		return quantity;
+	}
+
+	public void setQuantity(int quantity) {
+		this.quantity = quantity;
+	}
+
+	public int getLowStockThreshold() {
+		return lowStockThreshold;
+	}
+
+	public void setLowStockThreshold(int lowStockThreshold) {
+		this.lowStockThreshold = lowStockThreshold;
+	}
+}
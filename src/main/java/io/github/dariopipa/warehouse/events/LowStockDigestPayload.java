@@ -0,0 +1,23 @@
+package io.github.dariopipa.warehouse.events;
+
+import java.util.List;
+
+public class LowStockDigestPayload {
+
+	private List<Long> stockAlertIds;
+
+	public LowStockDigestPayload() {
+	}
+
+	public LowStockDigestPayload(List<Long> stockAlertIds) {
+		this.stockAlertIds = stockAlertIds;
+	}
+
+	public List<Long> getStockAlertIds() {
+		return stockAlertIds;
+	}
+
+	public void setStockAlertIds(List<Long> stockAlertIds) {
+		this.stockAlertIds = stockAlertIds;
+	}
+}
@@ -6,12 +6,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import jakarta.persistence.OptimisticLockException;
 import jakarta.validation.ConstraintViolationException;
 
 @ControllerAdvice
@@ -35,6 +37,31 @@ public class GlobalExceptionHandler {
 		return new ResponseEntity<>(apiError, HttpStatus.CONFLICT);
 	}
 
+	@ExceptionHandler(PreconditionFailedException.class)
+	public ResponseEntity<Object> handlePreconditionFailedException(PreconditionFailedException ex) {
+		logger.warn("Precondition failed: {}", ex.getMessage());
+
+		ErrorMessage apiError = new ErrorMessage(HttpStatus.PRECONDITION_FAILED.value(), new Date(), ex.getMessage());
+		return new ResponseEntity<>(apiError, HttpStatus.PRECONDITION_FAILED);
+	}
+
+	@ExceptionHandler(ServiceUnavailableException.class)
+	public ResponseEntity<Object> handleServiceUnavailableException(ServiceUnavailableException ex) {
+		logger.warn("Service unavailable: {}", ex.getMessage());
+
+		ErrorMessage apiError = new ErrorMessage(HttpStatus.SERVICE_UNAVAILABLE.value(), new Date(), ex.getMessage());
+		return new ResponseEntity<>(apiError, HttpStatus.SERVICE_UNAVAILABLE);
+	}
+
+	@ExceptionHandler({ ObjectOptimisticLockingFailureException.class, OptimisticLockException.class })
+	public ResponseEntity<Object> handleOptimisticLockFailure(RuntimeException ex) {
+		logger.warn("Concurrent modification detected: {}", ex.getMessage());
+
+		ErrorMessage apiError = new ErrorMessage(HttpStatus.CONFLICT.value(), new Date(),
+				"The resource was modified concurrently, reload it and retry");
+		return new ResponseEntity<>(apiError, HttpStatus.CONFLICT);
+	}
+
 	@ExceptionHandler(Exception.class)
 	public ResponseEntity<Object> handleGenericException(Exception ex) {
 		logger.error("Unexpected error occurred: {}", ex.getMessage(), ex);
@@ -0,0 +1,79 @@
+package io.github.dariopipa.warehouse.exports;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import io.github.dariopipa.warehouse.entities.Product;
+
+/**
+ * CSV with a header row. Fields containing a comma, quote or line break are
+ * double quoted, with {@code ""} for a literal quote; null values are left
+ * empty.
+ */
+public class CsvProductRowWriter implements ProductRowWriter {
+
+	static final String HEADER = "id,sku,name,description,quantity,lowStockThreshold,weight,height,length,"
+			+ "productTypeId,productTypeName,createdAt,createdBy,updatedAt,updatedBy";
+
+	private final Writer writer;
+	private boolean headerWritten;
+
+	public CsvProductRowWriter(OutputStream output) {
+		this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+	}
+
+	@Override
+	public void write(Product product) throws IOException {
+		writeHeader();
+
+		writer.write(String.valueOf(product.getId()));
+		field(product.getSku());
+		field(product.getName());
+		field(product.getDescription());
+		field(product.getQuantity());
+		field(product.getLowStockThreshold());
+		field(product.getWeight());
+		field(product.getHeight());
+		field(product.getLength());
+		field(product.getProductType().getId());
+		field(product.getProductType().getName());
+		field(product.getCreatedAt());
+		field(product.getCreatedBy());
+		field(product.getUpdatedAt());
+		field(product.getUpdatedBy());
+		writer.write('\n');
+	}
+
+	private void writeHeader() throws IOException {
+		if (!headerWritten) {
+			writer.write(HEADER);
+			writer.write('\n');
+			headerWritten = true;
+		}
+	}
+
+	private void field(Object value) throws IOException {
+		writer.write(',');
+		if (value != null) {
+			writer.write(escape(value.toString()));
+		}
+	}
+
+	static String escape(String value) {
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+				&& value.indexOf('\r') < 0) {
+			return value;
+		}
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+
+	@Override
+	public void finish() throws IOException {
+		writeHeader();
+		writer.flush();
+	}
+}
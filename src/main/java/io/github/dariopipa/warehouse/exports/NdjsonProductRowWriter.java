@@ -0,0 +1,58 @@
+package io.github.dariopipa.warehouse.exports;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.dariopipa.warehouse.entities.Product;
+
+/**
+ * One JSON object per product and line, written field by field so no
+ * intermediate DTO is built per row.
+ */
+public class NdjsonProductRowWriter implements ProductRowWriter {
+
+	private final JsonGenerator generator;
+
+	public NdjsonProductRowWriter(OutputStream output, ObjectMapper objectMapper) throws IOException {
+		this.generator = objectMapper.getFactory().createGenerator(output)
+				.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+	}
+
+	@Override
+	public void write(Product product) throws IOException {
+		generator.writeStartObject();
+		generator.writeNumberField("id", product.getId());
+		generator.writeStringField("sku", product.getSku());
+		generator.writeStringField("name", product.getName());
+		generator.writeStringField("description", product.getDescription());
+		generator.writeNumberField("quantity", product.getQuantity());
+		generator.writeNumberField("lowStockThreshold", product.getLowStockThreshold());
+		writeNumber("weight", product.getWeight());
+		writeNumber("height", product.getHeight());
+		writeNumber("length", product.getLength());
+		generator.writeNumberField("productTypeId", product.getProductType().getId());
+		generator.writeStringField("productTypeName", product.getProductType().getName());
+		generator.writeStringField("createdAt", String.valueOf(product.getCreatedAt()));
+		generator.writeNumberField("createdBy", product.getCreatedBy());
+		generator.writeStringField("updatedAt", String.valueOf(product.getUpdatedAt()));
+		generator.writeNumberField("updatedBy", product.getUpdatedBy());
+		generator.writeEndObject();
+		generator.writeRaw('\n');
+	}
+
+	private void writeNumber(String field, Double value) throws IOException {
+		if (value == null) {
+			generator.writeNullField(field);
+		} else {
+			generator.writeNumberField(field, value);
+		}
+	}
+
+	@Override
+	public void finish() throws IOException {
+		generator.close();
+	}
+}
@@ -0,0 +1,30 @@
+package io.github.dariopipa.warehouse.exports;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public enum ProductExportFormat {
+	csv("text/csv", "csv"), ndjson("application/x-ndjson", "ndjson");
+
+	private final String mediaType;
+	private final String fileExtension;
+
+	ProductExportFormat(String mediaType, String fileExtension) {
+		this.mediaType = mediaType;
+		this.fileExtension = fileExtension;
+	}
+
+	public String getMediaType() {
+		return mediaType;
+	}
+
+	public String getFileExtension() {
+		return fileExtension;
+	}
+
+	public ProductRowWriter open(OutputStream output, ObjectMapper objectMapper) throws IOException {
+		return this == csv ? new CsvProductRowWriter(output) : new NdjsonProductRowWriter(output, objectMapper);
+	}
+}
@@ -0,0 +1,16 @@
+package io.github.dariopipa.warehouse.exports;
+
+import java.io.IOException;
+
+import io.github.dariopipa.warehouse.entities.Product;
+
+/**
+ * Writes exported products one at a time. {@link #finish()} flushes whatever
+ * is still buffered but leaves the underlying stream open.
+ */
+public interface ProductRowWriter {
+
+	void write(Product product) throws IOException;
+
+	void finish() throws IOException;
+}
@@ -0,0 +1,153 @@
+package io.github.dariopipa.warehouse.imports;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import io.github.dariopipa.warehouse.dtos.requests.CreateProductDTO;
+
+/**
+ * CSV with a header row naming the {@link CreateProductDTO} fields, in any
+ * order. Fields may be double quoted, with {@code ""} for a literal quote;
+ * quoted values cannot span lines.
+ */
+public class CsvProductRowReader implements ProductRowReader {
+
+	static final Set<String> COLUMNS = Set.of("name", "description", "quantity", "lowStockThreshold", "weight",
+			"height", "length", "productTypeId");
+
+	private final BufferedReader reader;
+	private Map<String, Integer> columnIndexes;
+	private long line;
+
+	public CsvProductRowReader(BufferedReader reader) {
+		this.reader = reader;
+	}
+
+	@Override
+	public ProductImportRow next() throws IOException {
+		if (columnIndexes == null) {
+			readHeader();
+		}
+
+		String text;
+		do {
+			text = reader.readLine();
+			line++;
+		} while (text != null && text.isBlank());
+
+		if (text == null) {
+			return null;
+		}
+
+		try {
+			List<String> fields = split(text);
+			if (fields.size() != columnIndexes.size()) {
+				return ProductImportRow.failed(line,
+						"Expected " + columnIndexes.size() + " fields but found " + fields.size());
+			}
+			return ProductImportRow.parsed(line, toProduct(fields));
+		} catch (IllegalArgumentException e) {
+			return ProductImportRow.failed(line, e.getMessage());
+		}
+	}
+
+	private void readHeader() throws IOException {
+		String header = reader.readLine();
+		line++;
+		if (header == null) {
+			throw new IllegalArgumentException("CSV input is empty");
+		}
+
+		List<String> names = split(header.startsWith("\uFEFF") ? header.substring(1) : header);
+		Map<String, Integer> indexes = new HashMap<>();
+		for (int i = 0; i < names.size(); i++) {
+			String name = names.get(i).trim();
+			if (!COLUMNS.contains(name)) {
+				throw new IllegalArgumentException("Unknown CSV column: " + name);
+			}
+			indexes.put(name, i);
+		}
+		columnIndexes = indexes;
+	}
+
+	private CreateProductDTO toProduct(List<String> fields) {
+		CreateProductDTO product = new CreateProductDTO();
+		product.setName(text(fields, "name"));
+		product.setDescription(text(fields, "description"));
+		product.setQuantity(integer(fields, "quantity"));
+		product.setLowStockThreshold(integer(fields, "lowStockThreshold"));
+		product.setWeight(decimal(fields, "weight"));
+		product.setHeight(decimal(fields, "height"));
+		product.setLength(decimal(fields, "length"));
+
+		String productTypeId = text(fields, "productTypeId");
+		product.setProductTypeId(productTypeId == null ? null : parse(productTypeId, "productTypeId", Long::valueOf));
+		return product;
+	}
+
+	private String text(List<String> fields, String column) {
+		Integer index = columnIndexes.get(column);
+		if (index == null) {
+			return null;
+		}
+		String value = fields.get(index);
+		return value.isEmpty() ? null : value;
+	}
+
+	private Integer integer(List<String> fields, String column) {
+		String value = text(fields, column);
+		return value == null ? null : parse(value, column, Integer::valueOf);
+	}
+
+	private Double decimal(List<String> fields, String column) {
+		String value = text(fields, column);
+		return value == null ? null : parse(value, column, Double::valueOf);
+	}
+
+	private static <T> T parse(String value, String column, Function<String, T> parser) {
+		try {
+			return parser.apply(value.trim());
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid number for " + column + ": " + value);
+		}
+	}
+
+	static List<String> split(String text) {
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (quoted) {
+				if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+					field.append('"');
+					i++;
+				} else if (c == '"') {
+					quoted = false;
+				} else {
+					field.append(c);
+				}
+			} else if (c == '"' && field.isEmpty()) {
+				quoted = true;
+			} else if (c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else {
+				field.append(c);
+			}
+		}
+
+		if (quoted) {
+			throw new IllegalArgumentException("Unterminated quoted field");
+		}
+		fields.add(field.toString());
+		return fields;
+	}
+}
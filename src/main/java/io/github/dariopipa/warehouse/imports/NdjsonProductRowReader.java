@@ -0,0 +1,44 @@
+package io.github.dariopipa.warehouse.imports;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import io.github.dariopipa.warehouse.dtos.requests.CreateProductDTO;
+
+/**
+ * One JSON product object per line. Blank lines are skipped.
+ */
+public class NdjsonProductRowReader implements ProductRowReader {
+
+	private final BufferedReader reader;
+	private final ObjectReader productReader;
+	private long line;
+
+	public NdjsonProductRowReader(BufferedReader reader, ObjectMapper objectMapper) {
+		this.reader = reader;
+		this.productReader = objectMapper.readerFor(CreateProductDTO.class);
+	}
+
+	@Override
+	public ProductImportRow next() throws IOException {
+		String text;
+		do {
+			text = reader.readLine();
+			line++;
+		} while (text != null && text.isBlank());
+
+		if (text == null) {
+			return null;
+		}
+
+		try {
+			return ProductImportRow.parsed(line, productReader.readValue(text));
+		} catch (JsonProcessingException e) {
+			return ProductImportRow.failed(line, "Invalid JSON: " + e.getOriginalMessage());
+		}
+	}
+}
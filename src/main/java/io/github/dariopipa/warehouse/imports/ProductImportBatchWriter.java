@@ -0,0 +1,36 @@
+package io.github.dariopipa.warehouse.imports;
+
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import io.github.dariopipa.warehouse.audit.AuditLogger;
+import io.github.dariopipa.warehouse.entities.Product;
+import io.github.dariopipa.warehouse.enums.AuditAction;
+import io.github.dariopipa.warehouse.enums.EntityType;
+import io.github.dariopipa.warehouse.repositories.ProductRepository;
+import jakarta.transaction.Transactional;
+
+/**
+ * Writes one import batch in its own transaction: the products go out as JDBC
+ * batches and each gets its own audit entry, written in batches as well.
+ */
+@Component
+public class ProductImportBatchWriter {
+
+	private final ProductRepository productRepository;
+	private final AuditLogger auditLogger;
+
+	public ProductImportBatchWriter(ProductRepository productRepository, AuditLogger auditLogger) {
+		this.productRepository = productRepository;
+		this.auditLogger = auditLogger;
+	}
+
+	@Transactional(Transactional.TxType.REQUIRES_NEW)
+	public List<Long> insert(List<Product> products, Long loggedInUser) {
+		List<Long> ids = productRepository.saveAllAndFlush(products).stream().map(Product::getId).toList();
+
+		auditLogger.logBulk(loggedInUser, AuditAction.CREATE, EntityType.PRODUCT, ids);
+		return ids;
+	}
+}
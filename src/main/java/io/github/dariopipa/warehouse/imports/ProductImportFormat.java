@@ -0,0 +1,45 @@
+package io.github.dariopipa.warehouse.imports;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public enum ProductImportFormat {
+	csv("text/csv"), ndjson("application/x-ndjson");
+
+	private final String mediaType;
+
+	ProductImportFormat(String mediaType) {
+		this.mediaType = mediaType;
+	}
+
+	public String getMediaType() {
+		return mediaType;
+	}
+
+	/**
+	 * @throws IllegalArgumentException if the content type is neither CSV nor
+	 *                                  NDJSON
+	 */
+	public static ProductImportFormat fromContentType(String contentType) {
+		if (contentType != null) {
+			MediaType mediaType = MediaType.parseMediaType(contentType);
+			for (ProductImportFormat format : values()) {
+				if (MediaType.parseMediaType(format.mediaType).isCompatibleWith(mediaType)) {
+					return format;
+				}
+			}
+		}
+		throw new IllegalArgumentException("Unsupported import content type: " + contentType);
+	}
+
+	public ProductRowReader open(InputStream input, ObjectMapper objectMapper) {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+		return this == csv ? new CsvProductRowReader(reader) : new NdjsonProductRowReader(reader, objectMapper);
+	}
+}
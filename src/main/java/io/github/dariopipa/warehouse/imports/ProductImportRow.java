@@ -0,0 +1,44 @@
+package io.github.dariopipa.warehouse.imports;
+
+import io.github.dariopipa.warehouse.dtos.requests.CreateProductDTO;
+
+/**
+ * One record of an import file: either the parsed product or the reason it
+ * could not be parsed.
+ */
+public class ProductImportRow {
+
+	private final long line;
+	private final CreateProductDTO product;
+	private final String error;
+
+	private ProductImportRow(long line, CreateProductDTO product, String error) {
+		this.line = line;
+		this.product = product;
+		this.error = error;
+	}
+
+	public static ProductImportRow parsed(long line, CreateProductDTO product) {
+		return new ProductImportRow(line, product, null);
+	}
+
+	public static ProductImportRow failed(long line, String error) {
+		return new ProductImportRow(line, null, error);
+	}
+
+	public long getLine() {
+		return line;
+	}
+
+	public CreateProductDTO getProduct() {
+		return product;
+	}
+
+	public String getError() {
+		return error;
+	}
+
+	public boolean isParsed() {
+		return error == null;
+	}
+}
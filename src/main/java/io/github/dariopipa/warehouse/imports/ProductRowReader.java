@@ -0,0 +1,15 @@
+package io.github.dariopipa.warehouse.imports;
+
+import java.io.IOException;
+
+/**
+ * Reads an import file one record at a time, so only the current line is held
+ * in memory.
+ */
+public interface ProductRowReader {
+
+	/**
+	 * @return the next record, or {@code null} at the end of the input
+	 */
+	ProductImportRow next() throws IOException;
+}
@@ -0,0 +1,264 @@
+package io.github.dariopipa.warehouse.mail;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Sends mail from a background thread so callers never wait on SMTP. Messages
+ * are buffered in a bounded queue and sent in batches of up to
+ * {@code mail.dispatcher.batch-size}, each batch over a single SMTP connection.
+ * Failed messages are retried with exponential backoff up to
+ * {@code mail.dispatcher.max-attempts} times, and the future returned by
+ * {@link #submit(MimeMessage)} reports the final delivery status.
+ */
+@Component
+public class MailDispatcher {
+
+	private static final long IDLE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+	private final Logger logger = LoggerFactory.getLogger(MailDispatcher.class);
+
+	private final JavaMailSender mailSender;
+	private final int queueCapacity;
+	private final int batchSize;
+	private final int maxAttempts;
+	private final long retryBackoffNanos;
+	private final long shutdownTimeoutMs;
+	private final BlockingQueue<PendingMail> queue;
+	// Only touched by the sender thread
+	private final List<PendingMail> retries = new ArrayList<>();
+
+	private final Counter sentCounter;
+	private final Counter retriedCounter;
+	private final Counter failedCounter;
+	private final Counter rejectedCounter;
+	private final Timer batchTimer;
+
+	private volatile boolean running;
+	private Thread senderThread;
+
+	public MailDispatcher(JavaMailSender mailSender, MeterRegistry meterRegistry,
+			@Value("${mail.dispatcher.queue-capacity:1000}") int queueCapacity,
+			@Value("${mail.dispatcher.batch-size:50}") int batchSize,
+			@Value("${mail.dispatcher.max-attempts:3}") int maxAttempts,
+			@Value("${mail.dispatcher.retry-backoff-ms:1000}") long retryBackoffMs,
+			@Value("${mail.dispatcher.shutdown-timeout-ms:10000}") long shutdownTimeoutMs) {
+		this.mailSender = mailSender;
+		this.queueCapacity = queueCapacity;
+		this.batchSize = batchSize;
+		this.maxAttempts = maxAttempts;
+		this.retryBackoffNanos = TimeUnit.MILLISECONDS.toNanos(retryBackoffMs);
+		this.shutdownTimeoutMs = shutdownTimeoutMs;
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+		Gauge.builder("mail.dispatcher.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+		this.sentCounter = meterRegistry.counter("mail.dispatcher.messages.sent");
+		this.retriedCounter = meterRegistry.counter("mail.dispatcher.messages.retried");
+		this.failedCounter = meterRegistry.counter("mail.dispatcher.messages.failed");
+		this.rejectedCounter = meterRegistry.counter("mail.dispatcher.messages.rejected");
+		this.batchTimer = meterRegistry.timer("mail.dispatcher.batch");
+	}
+
+	@PostConstruct
+	public void start() {
+		running = true;
+		senderThread = new Thread(this::runLoop, "mail-dispatcher");
+		senderThread.setDaemon(true);
+		senderThread.start();
+		logger.info("Mail dispatcher started - queueCapacity: {}, batchSize: {}, maxAttempts: {}", queueCapacity,
+				batchSize, maxAttempts);
+	}
+
+	@PreDestroy
+	public void stop() {
+		if (senderThread == null) {
+			return;
+		}
+
+		running = false;
+		try {
+			senderThread.join(shutdownTimeoutMs);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		if (senderThread.isAlive()) {
+			logger.warn("Mail dispatcher did not drain within {} ms, {} messages left in queue", shutdownTimeoutMs,
+					queue.size());
+			senderThread.interrupt();
+		} else {
+			// Messages submitted while the sender thread was exiting
+			List<PendingMail> remaining = new ArrayList<>();
+			queue.drainTo(remaining);
+			if (!remaining.isEmpty()) {
+				sendBatch(remaining);
+			}
+			logger.info("Mail dispatcher stopped and drained");
+		}
+	}
+
+	/**
+	 * Queues the message for delivery. The returned future completes once the
+	 * SMTP server has accepted the message, or exceptionally once every attempt
+	 * has failed or the queue is full.
+	 */
+	public CompletableFuture<Void> submit(MimeMessage message) {
+		PendingMail mail = new PendingMail(message);
+		if (!running) {
+			sendBatch(List.of(mail));
+			return mail.result;
+		}
+
+		if (!queue.offer(mail)) {
+			rejectedCounter.increment();
+			return CompletableFuture
+					.failedFuture(new RejectedExecutionException("Mail queue is full (" + queueCapacity + ")"));
+		}
+		return mail.result;
+	}
+
+	private void runLoop() {
+		List<PendingMail> batch = new ArrayList<>(batchSize);
+
+		while (running || !queue.isEmpty()) {
+			try {
+				collectBatch(batch);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+
+			if (!batch.isEmpty()) {
+				sendBatch(batch);
+				batch.clear();
+			}
+		}
+
+		// Undelivered messages are left to the caller to resubmit later
+		queue.drainTo(batch);
+		batch.addAll(retries);
+		retries.clear();
+		batch.forEach(mail -> giveUp(mail, new MailSendException("Mail dispatcher stopped", mail.lastFailure)));
+	}
+
+	private void collectBatch(List<PendingMail> batch) throws InterruptedException {
+		long now = System.nanoTime();
+		long nextRetryIn = takeDueRetries(batch, now);
+
+		if (batch.isEmpty()) {
+			PendingMail first = queue.poll(Math.min(nextRetryIn, IDLE_POLL_NANOS), TimeUnit.NANOSECONDS);
+			if (first == null) {
+				return;
+			}
+			batch.add(first);
+		}
+		queue.drainTo(batch, batchSize - batch.size());
+	}
+
+	/**
+	 * Moves retries that are due into the batch and returns the delay until the
+	 * next one becomes due.
+	 */
+	private long takeDueRetries(List<PendingMail> batch, long now) {
+		long nextRetryIn = Long.MAX_VALUE;
+		Iterator<PendingMail> iterator = retries.iterator();
+		while (iterator.hasNext()) {
+			PendingMail mail = iterator.next();
+			long dueIn = mail.notBefore - now;
+			if (dueIn <= 0 && batch.size() < batchSize) {
+				batch.add(mail);
+				iterator.remove();
+			} else {
+				nextRetryIn = Math.min(nextRetryIn, Math.max(dueIn, 0));
+			}
+		}
+		return nextRetryIn;
+	}
+
+	private void sendBatch(List<PendingMail> batch) {
+		MimeMessage[] messages = batch.stream().map(mail -> mail.message).toArray(MimeMessage[]::new);
+		Map<Object, Exception> failures = Map.of();
+
+		try {
+			// JavaMailSender sends an array of messages over one connection
+			batchTimer.record(() -> mailSender.send(messages));
+		} catch (MailSendException e) {
+			failures = e.getFailedMessages().isEmpty() ? allFailed(batch, e) : e.getFailedMessages();
+		} catch (RuntimeException e) {
+			failures = allFailed(batch, e);
+		}
+
+		for (PendingMail mail : batch) {
+			mail.attempts++;
+			Exception failure = failures.get(mail.message);
+			if (failure == null) {
+				sentCounter.increment();
+				mail.result.complete(null);
+			} else {
+				retryOrGiveUp(mail, failure);
+			}
+		}
+	}
+
+	private Map<Object, Exception> allFailed(List<PendingMail> batch, Exception failure) {
+		Map<Object, Exception> failures = new IdentityHashMap<>();
+		batch.forEach(mail -> failures.put(mail.message, failure));
+		return failures;
+	}
+
+	private void retryOrGiveUp(PendingMail mail, Exception failure) {
+		mail.lastFailure = failure;
+		if (!running || mail.attempts >= maxAttempts) {
+			logger.warn("Giving up on email after {} attempts: {}", mail.attempts, failure.getMessage());
+			giveUp(mail, failure);
+			return;
+		}
+
+		long backoff = retryBackoffNanos << Math.min(mail.attempts - 1, 20);
+		mail.notBefore = System.nanoTime() + backoff;
+		retries.add(mail);
+		retriedCounter.increment();
+		logger.debug("Email delivery attempt {} failed, retrying in {} ms: {}", mail.attempts,
+				TimeUnit.NANOSECONDS.toMillis(backoff), failure.getMessage());
+	}
+
+	private void giveUp(PendingMail mail, Exception failure) {
+		failedCounter.increment();
+		mail.result.completeExceptionally(failure);
+	}
+
+	private static final class PendingMail {
+		private final MimeMessage message;
+		private final CompletableFuture<Void> result = new CompletableFuture<>();
+		private int attempts;
+		private long notBefore;
+		private Exception lastFailure;
+
+		private PendingMail(MimeMessage message) {
+			this.message = message;
+		}
+	}
+}
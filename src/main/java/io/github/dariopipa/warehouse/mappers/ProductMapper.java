@@ -1,5 +1,8 @@
 package io.github.dariopipa.warehouse.mappers;
 
+import java.time.Instant;
+
+import io.github.dariopipa.warehouse.cache.ProductSnapshot;
 import io.github.dariopipa.warehouse.dtos.requests.CreateProductDTO;
 import io.github.dariopipa.warehouse.dtos.requests.UpdateProductRequestDTO;
 import io.github.dariopipa.warehouse.dtos.responses.ProductGetOneResponseDTO;
@@ -49,9 +52,52 @@ public class ProductMapper {
 		dto.setCreatedBy(productEntity.getCreatedBy());
 		dto.setUpdatedAt(productEntity.getUpdatedAt());
 		dto.setUpdatedBy(productEntity.getUpdatedBy());
-		dto.setProductType(new ProductGetOneResponseDTO.ProductTypeDTO(productEntity.getProductType().getId(),
-				productEntity.getProductType().getName()));
+		dto.setVersion(productEntity.getVersion());
+		ProductType productType = productEntity.getProductType();
+		dto.setProductType(toProductTypeDto(productType.getId(), productType.getName(), productType.getVersion(),
+				productType.getUpdatedAt()));
+
+		return dto;
+	}
+
+	public static ProductSnapshot toSnapshot(Product productEntity) {
+		return new ProductSnapshot(productEntity.getId(), productEntity.getSku(), productEntity.getName(),
+				productEntity.getDescription(), productEntity.getQuantity(), productEntity.getLowStockThreshold(),
+				productEntity.getWeight(), productEntity.getHeight(), productEntity.getLength(),
+				productEntity.getCreatedAt(), productEntity.getCreatedBy(), productEntity.getUpdatedAt(),
+				productEntity.getUpdatedBy(), productEntity.getProductType().getId(),
+				productEntity.getProductType().getName(), productEntity.getProductType().getVersion(),
+				productEntity.getProductType().getUpdatedAt(), productEntity.getVersion());
+	}
+
+	public static ProductGetOneResponseDTO toDto(ProductSnapshot snapshot) {
+		ProductGetOneResponseDTO dto = new ProductGetOneResponseDTO();
+
+		dto.setId(snapshot.getId());
+		dto.setName(snapshot.getName());
+		dto.setSku(snapshot.getSku());
+		dto.setDescription(snapshot.getDescription());
+		dto.setQuantity(snapshot.getQuantity());
+		dto.setLowStockThreshold(snapshot.getLowStockThreshold());
+		dto.setWeight(snapshot.getWeight());
+		dto.setHeight(snapshot.getHeight());
+		dto.setLength(snapshot.getLength());
+		dto.setCreatedAt(snapshot.getCreatedAt());
+		dto.setCreatedBy(snapshot.getCreatedBy());
+		dto.setUpdatedAt(snapshot.getUpdatedAt());
+		dto.setUpdatedBy(snapshot.getUpdatedBy());
+		dto.setVersion(snapshot.getVersion());
+		dto.setProductType(toProductTypeDto(snapshot.getProductTypeId(), snapshot.getProductTypeName(),
+				snapshot.getProductTypeVersion(), snapshot.getProductTypeUpdatedAt()));
+
+		return dto;
+	}
 
+	private static ProductGetOneResponseDTO.ProductTypeDTO toProductTypeDto(Long id, String name, Long version,
+			Instant updatedAt) {
+		ProductGetOneResponseDTO.ProductTypeDTO dto = new ProductGetOneResponseDTO.ProductTypeDTO(id, name);
+		dto.setVersion(version);
+		dto.setUpdatedAt(updatedAt);
 		return dto;
 	}
 
@@ -26,6 +26,7 @@ public class ProductTypeMapper {
 		dto.setCreatedBy(productType.getCreatedBy());
 		dto.setUpdatedAt(productType.getUpdatedAt());
 		dto.setUpdatedBy(productType.getUpdatedBy());
+		dto.setVersion(productType.getVersion());
 		return dto;
 	}
 }
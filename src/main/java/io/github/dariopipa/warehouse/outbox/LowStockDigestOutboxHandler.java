@@ -0,0 +1,35 @@
+package io.github.dariopipa.warehouse.outbox;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.dariopipa.warehouse.entities.OutboxEvent;
+import io.github.dariopipa.warehouse.enums.OutboxEventType;
+import io.github.dariopipa.warehouse.events.LowStockDigestPayload;
+import io.github.dariopipa.warehouse.services.interfaces.StockAlertService;
+
+@Component
+public class LowStockDigestOutboxHandler implements OutboxEventHandler {
+
+	private final StockAlertService stockAlertService;
+	private final ObjectMapper objectMapper;
+
+	public LowStockDigestOutboxHandler(StockAlertService stockAlertService, ObjectMapper objectMapper) {
+		this.stockAlertService = stockAlertService;
+		this.objectMapper = objectMapper;
+	}
+
+	@Override
+	public OutboxEventType getEventType() {
+		return OutboxEventType.LOW_STOCK_DIGEST;
+	}
+
+	@Override
+	public CompletableFuture<Void> handle(OutboxEvent event) throws Exception {
+		LowStockDigestPayload payload = objectMapper.readValue(event.getPayload(), LowStockDigestPayload.class);
+		return stockAlertService.sendLowStockDigest(payload);
+	}
+}
@@ -0,0 +1,108 @@
+package io.github.dariopipa.warehouse.outbox;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.github.dariopipa.warehouse.entities.OutboxEvent;
+import io.github.dariopipa.warehouse.enums.OutboxEventType;
+import io.github.dariopipa.warehouse.services.interfaces.OutboxService;
+
+/**
+ * Polls the outbox table and delivers due events outside of any request
+ * transaction. Failed deliveries are retried with exponential backoff by
+ * {@link OutboxService#markFailed(Long, String)}.
+ * <p>
+ * All events of a batch are handed to their handlers before any delivery is
+ * awaited, so asynchronous handlers such as the mail dispatcher can send them
+ * together.
+ */
+@Component
+public class OutboxDispatcher {
+
+	private final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+	private final OutboxService outboxService;
+	private final Map<OutboxEventType, OutboxEventHandler> handlers = new EnumMap<>(OutboxEventType.class);
+	private final int batchSize;
+	private final long deliveryTimeoutMs;
+
+	public OutboxDispatcher(OutboxService outboxService, List<OutboxEventHandler> handlers,
+			@Value("${outbox.dispatcher.batch-size:50}") int batchSize,
+			@Value("${outbox.dispatcher.delivery-timeout-ms:30000}") long deliveryTimeoutMs) {
+		this.outboxService = outboxService;
+		this.batchSize = batchSize;
+		this.deliveryTimeoutMs = deliveryTimeoutMs;
+		handlers.forEach(handler -> this.handlers.put(handler.getEventType(), handler));
+	}
+
+	@Scheduled(fixedDelayString = "${outbox.dispatcher.poll-interval-ms:1000}")
+	public void dispatchDueEvents() {
+		List<OutboxEvent> events;
+		do {
+			events = outboxService.claimDueEvents(batchSize);
+			if (!events.isEmpty()) {
+				dispatchBatch(events);
+			}
+		} while (events.size() == batchSize);
+	}
+
+	@Scheduled(fixedDelayString = "${outbox.purge-interval-ms:3600000}")
+	public void purgeSentEvents() {
+		int purged = outboxService.purgeSent();
+		if (purged > 0) {
+			logger.info("Purged {} delivered outbox events", purged);
+		}
+	}
+
+	private void dispatchBatch(List<OutboxEvent> events) {
+		logger.debug("Dispatching {} outbox events", events.size());
+		Map<Long, CompletableFuture<Void>> deliveries = new LinkedHashMap<>();
+
+		for (OutboxEvent event : events) {
+			OutboxEventHandler handler = handlers.get(event.getEventType());
+			if (handler == null) {
+				outboxService.markFailed(event.getId(), "No handler registered for " + event.getEventType());
+				continue;
+			}
+
+			try {
+				deliveries.put(event.getId(), handler.handle(event));
+			} catch (Exception e) {
+				outboxService.markFailed(event.getId(), e.getMessage());
+			}
+		}
+
+		List<Long> sent = new ArrayList<>(deliveries.size());
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deliveryTimeoutMs);
+
+		for (Map.Entry<Long, CompletableFuture<Void>> delivery : deliveries.entrySet()) {
+			try {
+				delivery.getValue().get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+				sent.add(delivery.getKey());
+			} catch (ExecutionException e) {
+				outboxService.markFailed(delivery.getKey(), e.getCause().getMessage());
+			} catch (TimeoutException e) {
+				outboxService.markFailed(delivery.getKey(),
+						"Delivery not confirmed within " + deliveryTimeoutMs + " ms");
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				outboxService.markFailed(delivery.getKey(), "Interrupted while awaiting delivery");
+			}
+		}
+
+		outboxService.markSent(sent);
+	}
+}
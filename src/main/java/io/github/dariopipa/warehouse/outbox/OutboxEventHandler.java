@@ -0,0 +1,18 @@
+package io.github.dariopipa.warehouse.outbox;
+
+import java.util.concurrent.CompletableFuture;
+
+import io.github.dariopipa.warehouse.entities.OutboxEvent;
+import io.github.dariopipa.warehouse.enums.OutboxEventType;
+
+public interface OutboxEventHandler {
+
+	OutboxEventType getEventType();
+
+	/**
+	 * Starts delivering the event and returns a future that completes once it
+	 * has been delivered. A thrown exception or a failed future marks the
+	 * attempt as failed and schedules a retry.
+	 */
+	CompletableFuture<Void> handle(OutboxEvent event) throws Exception;
+}
@@ -0,0 +1,14 @@
+package io.github.dariopipa.warehouse.repositories;
+
+import java.util.List;
+
+import io.github.dariopipa.warehouse.entities.AuditLog;
+
+public interface AuditLogBatchRepository {
+
+	/**
+	 * Inserts the given audit logs with multi-row INSERT statements, bypassing
+	 * the persistence context.
+	 */
+	void insertBatch(List<AuditLog> auditLogs);
+}
@@ -0,0 +1,95 @@
+package io.github.dariopipa.warehouse.repositories;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import io.github.dariopipa.warehouse.entities.AuditLog;
+
+public class AuditLogBatchRepositoryImpl implements AuditLogBatchRepository {
+
+	// Keeps a single statement well below the PostgreSQL bind parameter limit.
+	private static final int MAX_ROWS_PER_STATEMENT = 1000;
+	private static final String INSERT_PREFIX = "INSERT INTO audit_log (id, user_id, action, entity_type, entity_id, details, logged_at) VALUES ";
+	private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?)";
+
+	// Each sequence value reserves a block of AuditLog.ID_ALLOCATION_SIZE ids
+	// starting at that value, the same pooled-lo blocks Hibernate uses.
+	private static final String NEXT_BLOCKS_POSTGRES = "SELECT nextval('audit_log_seq') FROM generate_series(1, ?)";
+	private static final String NEXT_BLOCKS_H2 = "SELECT NEXT VALUE FOR audit_log_seq FROM SYSTEM_RANGE(1, ?)";
+
+	private final JdbcTemplate jdbcTemplate;
+	private volatile String nextBlocksSql;
+
+	public AuditLogBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@Override
+	public void insertBatch(List<AuditLog> auditLogs) {
+		if (auditLogs.isEmpty()) {
+			return;
+		}
+
+		long[] ids = reserveIds(auditLogs.size());
+		for (int from = 0; from < auditLogs.size(); from += MAX_ROWS_PER_STATEMENT) {
+			List<AuditLog> chunk = auditLogs.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, auditLogs.size()));
+			jdbcTemplate.update(buildInsertSql(chunk.size()), buildArguments(chunk, ids, from));
+		}
+	}
+
+	private long[] reserveIds(int count) {
+		int blocks = (count + AuditLog.ID_ALLOCATION_SIZE - 1) / AuditLog.ID_ALLOCATION_SIZE;
+		List<Long> blockStarts = jdbcTemplate.queryForList(nextBlocksSql(), Long.class, blocks);
+
+		long[] ids = new long[count];
+		for (int i = 0; i < count; i++) {
+			ids[i] = blockStarts.get(i / AuditLog.ID_ALLOCATION_SIZE) + i % AuditLog.ID_ALLOCATION_SIZE;
+		}
+		return ids;
+	}
+
+	private String nextBlocksSql() {
+		String sql = nextBlocksSql;
+		if (sql == null) {
+			String databaseName = jdbcTemplate
+					.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+			sql = "PostgreSQL".equals(databaseName) ? NEXT_BLOCKS_POSTGRES : NEXT_BLOCKS_H2;
+			nextBlocksSql = sql;
+		}
+		return sql;
+	}
+
+	private String buildInsertSql(int rows) {
+		StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows * (ROW_PLACEHOLDERS.length() + 2));
+		sql.append(INSERT_PREFIX);
+		for (int i = 0; i < rows; i++) {
+			if (i > 0) {
+				sql.append(", ");
+			}
+			sql.append(ROW_PLACEHOLDERS);
+		}
+		return sql.toString();
+	}
+
+	private Object[] buildArguments(List<AuditLog> chunk, long[] ids, int offset) {
+		List<Object> args = new ArrayList<>(chunk.size() * 7);
+		for (int i = 0; i < chunk.size(); i++) {
+			AuditLog auditLog = chunk.get(i);
+			Instant loggedAt = auditLog.getCreatedAt() != null ? auditLog.getCreatedAt() : Instant.now();
+
+			args.add(ids[offset + i]);
+			args.add(auditLog.getUserId());
+			args.add(auditLog.getAction().name());
+			args.add(auditLog.getEntityType().name());
+			args.add(auditLog.getEntityId());
+			args.add(auditLog.getDetails());
+			args.add(Timestamp.from(loggedAt));
+		}
+		return args.toArray();
+	}
+}
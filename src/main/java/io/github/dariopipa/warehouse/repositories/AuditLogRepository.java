@@ -1,9 +1,12 @@
 package io.github.dariopipa.warehouse.repositories;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import io.github.dariopipa.warehouse.entities.AuditLog;
 
-public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
+public interface AuditLogRepository extends JpaRepository<AuditLog, Long>, AuditLogBatchRepository {
 
+	Slice<AuditLog> findSliceBy(Pageable pageable);
 }
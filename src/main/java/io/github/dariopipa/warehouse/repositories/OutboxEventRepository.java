@@ -0,0 +1,37 @@
+package io.github.dariopipa.warehouse.repositories;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import io.github.dariopipa.warehouse.entities.OutboxEvent;
+import io.github.dariopipa.warehouse.enums.OutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+	// A lock timeout of -2 renders as SKIP LOCKED, so concurrent dispatchers
+	// never claim the same events.
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+	@Query("SELECT e FROM OutboxEvent e WHERE e.status = :status AND e.nextAttemptAt <= :now ORDER BY e.nextAttemptAt")
+	List<OutboxEvent> findDueForUpdate(@Param("status") OutboxStatus status, @Param("now") Instant now, Limit limit);
+
+	@Modifying
+	@Query("UPDATE OutboxEvent e SET e.status = :status, e.processedAt = :processedAt WHERE e.id IN :ids")
+	int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") OutboxStatus status,
+			@Param("processedAt") Instant processedAt);
+
+	@Modifying
+	@Query("DELETE FROM OutboxEvent e WHERE e.status = :status AND e.processedAt < :before")
+	int deleteProcessedBefore(@Param("status") OutboxStatus status, @Param("before") Instant before);
+}
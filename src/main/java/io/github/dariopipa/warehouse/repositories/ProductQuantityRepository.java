@@ -0,0 +1,38 @@
+package io.github.dariopipa.warehouse.repositories;
+
+import java.util.Map;
+import java.util.Optional;
+
+import io.github.dariopipa.warehouse.enums.StockAlertState;
+
+public interface ProductQuantityRepository {
+
+	/**
+	 * Adds {@code delta} to the product quantity in a single conditional
+	 * statement. The update only applies when the product exists and the
+	 * resulting quantity is neither negative nor past
+	 * {@link Integer#MAX_VALUE}.
+	 *
+	 * @return the stock level after the update, or empty when no row was updated
+	 */
+	Optional<StockLevel> applyQuantityDelta(Long id, int delta);
+
+	/**
+	 * Applies several deltas in one JDBC batch, each with the same condition as
+	 * {@link #applyQuantityDelta(Long, int)}. Rows are updated in ascending id
+	 * order so concurrent batches always lock products in the same order.
+	 *
+	 * @return the stock level of every product whose update was applied;
+	 *         rejected ids are absent
+	 */
+	Map<Long, StockLevel> applyQuantityDeltas(Map<Long, Integer> deltas);
+
+	/**
+	 * Moves the low stock alert of the product to {@code state} unless it is
+	 * already there. Only the state column is written, so the product version
+	 * and update timestamp are left alone.
+	 *
+	 * @return whether this call changed the state
+	 */
+	boolean updateStockAlertState(Long id, StockAlertState state);
+}
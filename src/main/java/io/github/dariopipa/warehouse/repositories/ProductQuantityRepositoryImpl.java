@@ -0,0 +1,126 @@
+package io.github.dariopipa.warehouse.repositories;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import io.github.dariopipa.warehouse.enums.StockAlertState;
+
+public class ProductQuantityRepositoryImpl implements ProductQuantityRepository {
+
+	// Both bounds compare the current quantity to precomputed limits, so no
+	// expression can overflow the integer column before the row is rejected.
+	private static final String CONDITIONAL_UPDATE = "UPDATE product SET quantity = quantity + ?, updated_at = ?, version = version + 1 "
+			+ "WHERE id = ? AND deleted = false AND quantity >= ? AND quantity <= ?";
+
+	// PostgreSQL reports the new values straight from the UPDATE.
+	private static final String UPDATE_RETURNING = CONDITIONAL_UPDATE + " RETURNING quantity, low_stock_threshold, version";
+
+	// H2 has no RETURNING clause; a data change delta table gives the same
+	// single statement round trip.
+	private static final String UPDATE_FINAL_TABLE = "SELECT quantity, low_stock_threshold, version FROM FINAL TABLE ("
+			+ CONDITIONAL_UPDATE + ")";
+
+	private static final String UPDATE_STOCK_ALERT_STATE = "UPDATE product SET stock_alert_state = ? "
+			+ "WHERE id = ? AND stock_alert_state <> ?";
+
+	private static final String SELECT_STOCK_LEVELS = "SELECT id, quantity, low_stock_threshold, version FROM product WHERE id IN ";
+
+	private static final RowMapper<StockLevel> STOCK_LEVEL_MAPPER = (rs, rowNum) -> new StockLevel(rs.getInt(1),
+			rs.getInt(2), rs.getLong(3));
+
+	private final JdbcTemplate jdbcTemplate;
+	private volatile String updateSql;
+
+	public ProductQuantityRepositoryImpl(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@Override
+	public Optional<StockLevel> applyQuantityDelta(Long id, int delta) {
+		List<StockLevel> updated = jdbcTemplate.query(updateSql(), STOCK_LEVEL_MAPPER, delta,
+				Timestamp.from(Instant.now()), id, minQuantity(delta), maxQuantity(delta));
+
+		return updated.isEmpty() ? Optional.empty() : Optional.of(updated.get(0));
+	}
+
+	@Override
+	public Map<Long, StockLevel> applyQuantityDeltas(Map<Long, Integer> deltas) {
+		if (deltas.isEmpty()) {
+			return Map.of();
+		}
+
+		List<Object[]> batchArgs = new ArrayList<>(deltas.size());
+		List<Long> ids = new ArrayList<>(deltas.size());
+		Timestamp now = Timestamp.from(Instant.now());
+		new TreeMap<>(deltas).forEach((id, delta) -> {
+			ids.add(id);
+			batchArgs.add(new Object[] { delta, now, id, minQuantity(delta), maxQuantity(delta) });
+		});
+
+		int[] updateCounts = jdbcTemplate.batchUpdate(CONDITIONAL_UPDATE, batchArgs);
+		List<Long> appliedIds = new ArrayList<>(ids.size());
+		for (int i = 0; i < updateCounts.length; i++) {
+			if (updateCounts[i] > 0) {
+				appliedIds.add(ids.get(i));
+			}
+		}
+		if (appliedIds.isEmpty()) {
+			return Map.of();
+		}
+
+		// The updated rows stay locked by this transaction, so the values read
+		// back are the ones just written.
+		Map<Long, StockLevel> levels = new HashMap<>(appliedIds.size() * 2);
+		jdbcTemplate.query(SELECT_STOCK_LEVELS + placeholders(appliedIds.size()), (RowCallbackHandler) rs -> levels
+				.put(rs.getLong(1), new StockLevel(rs.getInt(2), rs.getInt(3), rs.getLong(4))), appliedIds.toArray());
+		return levels;
+	}
+
+	@Override
+	public boolean updateStockAlertState(Long id, StockAlertState state) {
+		return jdbcTemplate.update(UPDATE_STOCK_ALERT_STATE, state.name(), id, state.name()) > 0;
+	}
+
+	// Lowest current quantity the delta can be applied to without going negative
+	private static int minQuantity(int delta) {
+		return delta < 0 ? -delta : 0;
+	}
+
+	// Highest current quantity the delta can be applied to without overflowing
+	private static int maxQuantity(int delta) {
+		return delta > 0 ? Integer.MAX_VALUE - delta : Integer.MAX_VALUE;
+	}
+
+	private String placeholders(int count) {
+		StringBuilder sql = new StringBuilder(count * 3 + 2).append('(');
+		for (int i = 0; i < count; i++) {
+			if (i > 0) {
+				sql.append(", ");
+			}
+			sql.append('?');
+		}
+		return sql.append(')').toString();
+	}
+
+	private String updateSql() {
+		String sql = updateSql;
+		if (sql == null) {
+			String databaseName = jdbcTemplate
+					.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+			sql = "PostgreSQL".equals(databaseName) ? UPDATE_RETURNING : UPDATE_FINAL_TABLE;
+			updateSql = sql;
+		}
+		return sql;
+	}
+}
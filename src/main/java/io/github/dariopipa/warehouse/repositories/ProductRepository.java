@@ -1,19 +1,44 @@
 package io.github.dariopipa.warehouse.repositories;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import io.github.dariopipa.warehouse.entities.Product;
+import jakarta.persistence.QueryHint;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
-
-	@Modifying
-	@Query("UPDATE Product p SET p.quantity = p.quantity + :delta WHERE p.id = :id")
-	void updateQuantityById(@Param("id") Long id, @Param("delta") int delta);
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductQuantityRepository {
 
 	boolean existsByName(String name);
 
 	boolean existsBySku(String sku);
+
+	@Query("select p.name from Product p where p.name in :names")
+	List<String> findExistingNames(@Param("names") Collection<String> names);
+
+	// Native so soft deleted products, which still hold their SKU, are included.
+	@Query(value = "SELECT sku FROM product WHERE sku IN (:skus)", nativeQuery = true)
+	List<String> findExistingSkus(@Param("skus") Collection<String> skus);
+
+	Slice<Product> findSliceBy(Pageable pageable);
+
+	Window<Product> findBy(ScrollPosition position, Sort sort, Limit limit);
+
+	// Read through a forward-only cursor; PostgreSQL only honours the fetch size
+	// inside a transaction.
+	@QueryHints({ @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+			@QueryHint(name = "org.hibernate.readOnly", value = "true") })
+	@Query("select p from Product p join fetch p.productType order by p.id")
+	Stream<Product> streamAllByOrderById();
 }
@@ -1,6 +1,12 @@
 package io.github.dariopipa.warehouse.repositories;
 
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import io.github.dariopipa.warehouse.entities.ProductType;
 
@@ -8,5 +14,10 @@ public interface ProductTypeRepository extends JpaRepository<ProductType, Long>
 
 	boolean existsByName(String name);
 
+	@Query("SELECT pt.id FROM ProductType pt WHERE pt.name = :name")
+	Optional<Long> findIdByName(@Param("name") String name);
+
 	boolean existsByNameAndIdNot(String name, Long id);
+
+	Slice<ProductType> findSliceBy(Pageable pageable);
 }
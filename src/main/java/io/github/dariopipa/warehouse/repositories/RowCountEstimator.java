@@ -0,0 +1,52 @@
+package io.github.dariopipa.warehouse.repositories;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads the planner's row estimate for a table instead of running
+ * {@code COUNT(*)}. The estimate is refreshed by (auto)vacuum and analyze, so
+ * it can lag behind recent writes and includes soft deleted rows.
+ */
+@Repository
+public class RowCountEstimator {
+
+	private static final String RELTUPLES = "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)";
+
+	private final JdbcTemplate jdbcTemplate;
+	private volatile Boolean postgres;
+
+	public RowCountEstimator(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	/**
+	 * Returns the estimated row count of {@code table}, or the result of
+	 * {@code exactCount} when the database keeps no estimate (H2, or a table
+	 * that has never been analyzed).
+	 */
+	public long estimate(String table, LongSupplier exactCount) {
+		if (!isPostgres()) {
+			return exactCount.getAsLong();
+		}
+
+		List<Long> estimates = jdbcTemplate.queryForList(RELTUPLES, Long.class, table);
+		Long estimate = estimates.isEmpty() ? null : estimates.get(0);
+		return estimate == null || estimate < 0 ? exactCount.getAsLong() : estimate;
+	}
+
+	private boolean isPostgres() {
+		Boolean result = postgres;
+		if (result == null) {
+			String databaseName = jdbcTemplate
+					.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+			result = "PostgreSQL".equals(databaseName);
+			postgres = result;
+		}
+		return result;
+	}
+}
@@ -1,10 +1,45 @@
 package io.github.dariopipa.warehouse.repositories;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
 
 import io.github.dariopipa.warehouse.entities.StockAlert;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import jakarta.transaction.Transactional;
 
 public interface StockAlertRepository extends Repository<StockAlert, Long> {
 
 	void save(StockAlert stockAlert);
+
+	Optional<StockAlert> findById(Long id);
+
+	@Query("SELECT a FROM StockAlert a JOIN FETCH a.product WHERE a.id IN :ids ORDER BY a.id")
+	List<StockAlert> findAllWithProductByIdIn(@Param("ids") Collection<Long> ids);
+
+	// SKIP LOCKED (lock timeout -2), so concurrent digest runs never bundle
+	// the same alerts.
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+	@Query("SELECT a FROM StockAlert a WHERE a.emailQueued = false ORDER BY a.id")
+	List<StockAlert> findUnqueuedForUpdate(Limit limit);
+
+	@Transactional
+	@Modifying
+	@Query("UPDATE StockAlert a SET a.emailSent = true WHERE a.id = :id")
+	int markEmailSent(@Param("id") Long id);
+
+	@Transactional
+	@Modifying
+	@Query("UPDATE StockAlert a SET a.emailSent = true WHERE a.id IN :ids")
+	int markEmailsSent(@Param("ids") Collection<Long> ids);
 }
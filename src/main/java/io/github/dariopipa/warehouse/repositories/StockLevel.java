@@ -0,0 +1,36 @@
+package io.github.dariopipa.warehouse.repositories;
+
+/**
+ * Stock figures of a product as they are right after a quantity update.
+ */
+public class StockLevel {
+
+	private final int quantity;
+	private final int lowStockThreshold;
+	private final Long version;
+
+	public StockLevel(int quantity, int lowStockThreshold) {
+		this(quantity, lowStockThreshold, null);
+	}
+
+	public StockLevel(int quantity, int lowStockThreshold, Long version) {
+		this.quantity = quantity;
+		this.lowStockThreshold = lowStockThreshold;
+		this.version = version;
+	}
+
+	public int getQuantity() {
+		return quantity;
+	}
+
+	public int getLowStockThreshold() {
+		return lowStockThreshold;
+	}
+
+	/**
+	 * @return the product version the update produced, or null when unknown
+	 */
+	public Long getVersion() {
+		return version;
+	}
+}
@@ -1,19 +1,28 @@
 package io.github.dariopipa.warehouse.security;
 
 import java.io.IOException;
+import java.time.Duration;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.github.dariopipa.warehouse.cache.CacheLoads;
 import io.github.dariopipa.warehouse.utils.JwtUtils;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,11 +33,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
 	private final JwtUtils jwtUtils;
 	private final UserDetailsService userDetailsService;
+	private final AsyncCache<String, UserDetails> fallbackUserCache;
 	private final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
-	public JwtAuthenticationFilter(JwtUtils jwtUtils, UserDetailsService userDetailsService) {
+	public JwtAuthenticationFilter(JwtUtils jwtUtils, UserDetailsService userDetailsService,
+			@Value("${security.user-cache.ttl-seconds:30}") long userCacheTtlSeconds,
+			@Value("${security.user-cache.max-size:1000}") long userCacheMaxSize) {
 		this.jwtUtils = jwtUtils;
 		this.userDetailsService = userDetailsService;
+		this.fallbackUserCache = userCacheTtlSeconds > 0
+				? Caffeine.newBuilder().expireAfterWrite(Duration.ofSeconds(userCacheTtlSeconds))
+						.maximumSize(userCacheMaxSize).buildAsync()
+				: null;
 	}
 
 	@Override
@@ -36,31 +52,42 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 			@NonNull FilterChain filterChain) throws ServletException, IOException {
 
 		String authHeader = request.getHeader("Authorization");
-		String token = null;
-		String username = null;
 
-		// Extract JWT token from Authorization header
-		if (authHeader != null && authHeader.startsWith("Bearer ")) {
-			token = authHeader.substring(7);
+		if (authHeader != null && authHeader.startsWith("Bearer ")
+				&& SecurityContextHolder.getContext().getAuthentication() == null) {
+			String token = authHeader.substring(7);
 			try {
-				username = jwtUtils.getUsernameFromToken(token);
-			} catch (Exception e) {
-				log.error("Cannot get username or id from token: {}", e.getMessage());
-			}
-		}
+				// A single parse verifies the signature and expiration and
+				// yields everything needed to build the principal.
+				Claims claims = jwtUtils.parseClaims(token);
+				UserDetails userDetails = resolveUser(claims);
 
-		// Validate token and set authentication
-		if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-			UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-			if (jwtUtils.validateToken(token, username)) {
 				UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userDetails,
 						null, userDetails.getAuthorities());
 				authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 				SecurityContextHolder.getContext().setAuthentication(authToken);
+			} catch (JwtException | IllegalArgumentException e) {
+				log.error("Cannot authenticate with token: {}", e.getMessage());
+			} catch (UsernameNotFoundException e) {
+				log.warn("Token user no longer exists: {}", e.getMessage());
 			}
 		}
 
 		filterChain.doFilter(request, response);
 	}
-}
\ No newline at end of file
+
+	// Tokens issued before the id and roles claims existed fall back to a
+	// database lookup, cached briefly so they do not cost a query per request.
+	private UserDetails resolveUser(Claims claims) {
+		UserDetails user = jwtUtils.getUserFromClaims(claims).orElse(null);
+		if (user != null) {
+			return user;
+		}
+
+		String username = claims.getSubject();
+		if (fallbackUserCache == null) {
+			return userDetailsService.loadUserByUsername(username);
+		}
+		return CacheLoads.get(fallbackUserCache, username, userDetailsService::loadUserByUsername);
+	}
+}
@@ -1,21 +1,28 @@
 package io.github.dariopipa.warehouse.services;
 
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import io.github.dariopipa.warehouse.entities.AuditLog;
 import io.github.dariopipa.warehouse.events.AuditLogEvent;
 import io.github.dariopipa.warehouse.repositories.AuditLogRepository;
+import io.github.dariopipa.warehouse.repositories.RowCountEstimator;
 import io.github.dariopipa.warehouse.services.interfaces.AuditLogService;
+import jakarta.transaction.Transactional;
 
 @Service
 public class AuditLogServiceImpl implements AuditLogService {
 
 	private final AuditLogRepository auditLogRepository;
+	private final RowCountEstimator rowCountEstimator;
 
-	public AuditLogServiceImpl(AuditLogRepository auditLogRepository) {
+	public AuditLogServiceImpl(AuditLogRepository auditLogRepository, RowCountEstimator rowCountEstimator) {
 		this.auditLogRepository = auditLogRepository;
+		this.rowCountEstimator = rowCountEstimator;
 	}
 
 	@Override
@@ -26,9 +33,32 @@ public class AuditLogServiceImpl implements AuditLogService {
 		this.auditLogRepository.save(auditLogEntity);
 	}
 
+	@Override
+	@Transactional(Transactional.TxType.REQUIRES_NEW)
+	public void saveAll(List<AuditLogEvent> events) {
+		List<AuditLog> auditLogs = events.stream().map(event -> {
+			AuditLog auditLog = new AuditLog(event.getUserId(), event.getAction(), event.getEntityType(),
+					event.getEntityId(), event.getDetails());
+			auditLog.setCreatedAt(event.getOccurredAt());
+			return auditLog;
+		}).toList();
+
+		this.auditLogRepository.insertBatch(auditLogs);
+	}
+
 	@Override
 	public Page<AuditLog> findAll(Pageable pageable) {
 		return this.auditLogRepository.findAll(pageable);
 	}
 
+	@Override
+	public Slice<AuditLog> findSlice(Pageable pageable) {
+		return this.auditLogRepository.findSliceBy(pageable);
+	}
+
+	@Override
+	public long estimateCount() {
+		return rowCountEstimator.estimate("audit_log", auditLogRepository::count);
+	}
+
 }
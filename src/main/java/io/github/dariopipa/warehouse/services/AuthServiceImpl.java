@@ -8,6 +8,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import io.github.dariopipa.warehouse.audit.AuditLogger;
+import io.github.dariopipa.warehouse.cache.RoleEmailsCache;
 import io.github.dariopipa.warehouse.dtos.requests.RegisterUserDTO;
 import io.github.dariopipa.warehouse.entities.Roles;
 import io.github.dariopipa.warehouse.entities.User;
@@ -26,13 +27,15 @@ public class AuthServiceImpl implements AuthService {
 	private final RoleRepository roleRepository;
 	private final PasswordEncoder passwordEncoder;
 	private final AuditLogger auditLogger;
+	private final RoleEmailsCache roleEmailsCache;
 
 	public AuthServiceImpl(UserRepository userRepository, RoleRepository roleRepository,
-			PasswordEncoder passwordEncoder, AuditLogger auditLogger) {
+			PasswordEncoder passwordEncoder, AuditLogger auditLogger, RoleEmailsCache roleEmailsCache) {
 		this.userRepository = userRepository;
 		this.roleRepository = roleRepository;
 		this.passwordEncoder = passwordEncoder;
 		this.auditLogger = auditLogger;
+		this.roleEmailsCache = roleEmailsCache;
 	}
 
 	@Override
@@ -43,6 +46,7 @@ public class AuthServiceImpl implements AuthService {
 		user.setRoles(roles);
 
 		User savedUser = userRepository.save(user);
+		roleEmailsCache.evict(savedUser.getId());
 		auditLogger.log(loggedInUser, AuditAction.CREATE, EntityType.USER, savedUser.getId());
 		return savedUser;
 	}
@@ -74,6 +78,6 @@ public class AuthServiceImpl implements AuthService {
 
 	@Override
 	public List<String> findEmailsByRole(RolesEnum role) {
-		return userRepository.findEmailsByRole(role);
+		return roleEmailsCache.findEmailsByRole(role);
 	}
 }
@@ -1,5 +1,7 @@
 package io.github.dariopipa.warehouse.services;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.mail.javamail.JavaMailSender;
@@ -7,6 +9,7 @@ import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
 import io.github.dariopipa.warehouse.dtos.requests.SendEmailDTO;
+import io.github.dariopipa.warehouse.mail.MailDispatcher;
 import io.github.dariopipa.warehouse.services.interfaces.EmailService;
 import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeMessage;
@@ -17,16 +20,18 @@ public class EmailServiceImpl implements EmailService {
 	private final Logger logger = LoggerFactory.getLogger(EmailServiceImpl.class);
 
 	private final JavaMailSender javaMailSender;
+	private final MailDispatcher mailDispatcher;
 
-	public EmailServiceImpl(JavaMailSender javaMailSender) {
+	public EmailServiceImpl(JavaMailSender javaMailSender, MailDispatcher mailDispatcher) {
 		this.javaMailSender = javaMailSender;
+		this.mailDispatcher = mailDispatcher;
 	}
 
 	@Override
-	public void sendEmail(SendEmailDTO emailDTO) {
-
+	public CompletableFuture<Void> sendEmail(SendEmailDTO emailDTO) {
+		MimeMessage message;
 		try {
-			MimeMessage message = javaMailSender.createMimeMessage();
+			message = javaMailSender.createMimeMessage();
 			MimeMessageHelper helper = new MimeMessageHelper(message, true);
 
 			helper.setFrom(new InternetAddress(emailDTO.getFrom(), "Warehouse App"));
@@ -34,10 +39,11 @@ public class EmailServiceImpl implements EmailService {
 			helper.setSubject(emailDTO.getSubject());
 			helper.setText(emailDTO.getBody(), true);
 
-			javaMailSender.send(message);
-
 		} catch (Exception e) {
-			logger.warn("Email failed to send to {}: {}", emailDTO.getTo(), e.getMessage());
+			logger.warn("Email to {} could not be built: {}", emailDTO.getTo(), e.getMessage());
+			return CompletableFuture.failedFuture(e);
 		}
+
+		return mailDispatcher.submit(message);
 	}
 }
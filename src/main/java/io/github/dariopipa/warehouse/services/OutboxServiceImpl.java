@@ -0,0 +1,126 @@
+package io.github.dariopipa.warehouse.services;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.dariopipa.warehouse.entities.OutboxEvent;
+import io.github.dariopipa.warehouse.enums.OutboxEventType;
+import io.github.dariopipa.warehouse.enums.OutboxStatus;
+import io.github.dariopipa.warehouse.repositories.OutboxEventRepository;
+import io.github.dariopipa.warehouse.services.interfaces.OutboxService;
+import jakarta.transaction.Transactional;
+
+@Service
+@Transactional
+public class OutboxServiceImpl implements OutboxService {
+
+	private static final int MAX_ERROR_LENGTH = 1000;
+
+	private final Logger logger = LoggerFactory.getLogger(OutboxServiceImpl.class);
+
+	private final OutboxEventRepository outboxEventRepository;
+	private final ObjectMapper objectMapper;
+
+	@Value("${outbox.max-attempts:8}")
+	private int maxAttempts;
+
+	@Value("${outbox.initial-backoff-ms:1000}")
+	private long initialBackoffMs;
+
+	@Value("${outbox.max-backoff-ms:300000}")
+	private long maxBackoffMs;
+
+	@Value("${outbox.lease-ms:60000}")
+	private long leaseMs;
+
+	@Value("${outbox.retention-hours:24}")
+	private long retentionHours;
+
+	public OutboxServiceImpl(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+		this.outboxEventRepository = outboxEventRepository;
+		this.objectMapper = objectMapper;
+	}
+
+	@Override
+	public void enqueue(OutboxEventType eventType, Long aggregateId, Object payload) {
+		try {
+			String json = objectMapper.writeValueAsString(payload);
+			OutboxEvent event = outboxEventRepository.save(new OutboxEvent(eventType, aggregateId, json));
+			logger.debug("Outbox event {} enqueued for aggregate {}", event.getId(), aggregateId);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Cannot serialize outbox payload for " + eventType, e);
+		}
+	}
+
+	@Override
+	public List<OutboxEvent> claimDueEvents(int batchSize) {
+		Instant now = Instant.now();
+		List<OutboxEvent> events = outboxEventRepository.findDueForUpdate(OutboxStatus.PENDING, now,
+				Limit.of(batchSize));
+
+		// Lease the claimed events so they are not picked up again while being
+		// delivered; if this node dies they become due once the lease expires.
+		Instant leaseExpiry = now.plusMillis(leaseMs);
+		events.forEach(event -> event.setNextAttemptAt(leaseExpiry));
+		return events;
+	}
+
+	@Override
+	public void markSent(Collection<Long> ids) {
+		if (ids.isEmpty()) {
+			return;
+		}
+		outboxEventRepository.updateStatus(ids, OutboxStatus.SENT, Instant.now());
+	}
+
+	@Override
+	public void markFailed(Long id, String error) {
+		outboxEventRepository.findById(id).ifPresent(event -> {
+			int attempts = event.getAttempts() + 1;
+			event.setAttempts(attempts);
+			event.setLastError(truncate(error));
+
+			if (attempts >= maxAttempts) {
+				event.setStatus(OutboxStatus.FAILED);
+				event.setProcessedAt(Instant.now());
+				logger.error("Outbox event {} failed permanently after {} attempts: {}", id, attempts, error);
+				return;
+			}
+
+			Duration backoff = backoffFor(attempts);
+			event.setNextAttemptAt(Instant.now().plus(backoff));
+			logger.warn("Outbox event {} failed (attempt {}), retrying in {} ms: {}", id, attempts,
+					backoff.toMillis(), error);
+		});
+	}
+
+	@Override
+	public int purgeSent() {
+		return outboxEventRepository.deleteProcessedBefore(OutboxStatus.SENT,
+				Instant.now().minus(Duration.ofHours(retentionHours)));
+	}
+
+	Duration backoffFor(int attempts) {
+		int exponent = Math.min(attempts - 1, 30);
+		long delay = initialBackoffMs << exponent;
+		return Duration.ofMillis(delay <= 0 || delay > maxBackoffMs ? maxBackoffMs : delay);
+	}
+
+	private String truncate(String error) {
+		if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+			return error;
+		}
+		return error.substring(0, MAX_ERROR_LENGTH);
+	}
+}
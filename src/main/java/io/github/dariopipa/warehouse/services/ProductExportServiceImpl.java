@@ -0,0 +1,62 @@
+package io.github.dariopipa.warehouse.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.dariopipa.warehouse.entities.Product;
+import io.github.dariopipa.warehouse.exports.ProductExportFormat;
+import io.github.dariopipa.warehouse.exports.ProductRowWriter;
+import io.github.dariopipa.warehouse.repositories.ProductRepository;
+import io.github.dariopipa.warehouse.services.interfaces.ProductExportService;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+
+@Service
+public class ProductExportServiceImpl implements ProductExportService {
+
+	private final Logger logger = LoggerFactory.getLogger(ProductExportServiceImpl.class);
+
+	private final ProductRepository productRepository;
+	private final EntityManager entityManager;
+	private final ObjectMapper objectMapper;
+
+	public ProductExportServiceImpl(ProductRepository productRepository, EntityManager entityManager,
+			ObjectMapper objectMapper) {
+		this.productRepository = productRepository;
+		this.entityManager = entityManager;
+		this.objectMapper = objectMapper;
+	}
+
+	@Override
+	@Transactional
+	public long exportProducts(OutputStream output, ProductExportFormat format) throws IOException {
+		logger.info("Exporting products as {}", format);
+
+		ProductRowWriter writer = format.open(output, objectMapper);
+		long count = 0;
+		try (Stream<Product> products = productRepository.streamAllByOrderById()) {
+			Iterator<Product> iterator = products.iterator();
+			while (iterator.hasNext()) {
+				Product product = iterator.next();
+				writer.write(product);
+				count++;
+
+				// Written products are detached so the persistence context does
+				// not grow with the export; the few product types stay managed.
+				entityManager.detach(product);
+			}
+		}
+		writer.finish();
+
+		logger.info("Exported {} products as {}", count, format);
+		return count;
+	}
+}
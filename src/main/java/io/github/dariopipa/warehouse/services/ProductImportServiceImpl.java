@@ -0,0 +1,243 @@
+package io.github.dariopipa.warehouse.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.dariopipa.warehouse.dtos.requests.CreateProductDTO;
+import io.github.dariopipa.warehouse.dtos.responses.BulkImportResponseDTO;
+import io.github.dariopipa.warehouse.entities.Product;
+import io.github.dariopipa.warehouse.entities.ProductType;
+import io.github.dariopipa.warehouse.imports.ProductImportBatchWriter;
+import io.github.dariopipa.warehouse.imports.ProductImportFormat;
+import io.github.dariopipa.warehouse.imports.ProductImportRow;
+import io.github.dariopipa.warehouse.imports.ProductRowReader;
+import io.github.dariopipa.warehouse.mappers.ProductMapper;
+import io.github.dariopipa.warehouse.repositories.ProductRepository;
+import io.github.dariopipa.warehouse.repositories.ProductTypeRepository;
+import io.github.dariopipa.warehouse.services.interfaces.ProductImportService;
+import io.github.dariopipa.warehouse.services.interfaces.SkuGeneratorService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+@Service
+public class ProductImportServiceImpl implements ProductImportService {
+
+	private static final String UNIQUE_VIOLATION = "23505";
+
+	private final Logger logger = LoggerFactory.getLogger(ProductImportServiceImpl.class);
+
+	private final ProductRepository productRepository;
+	private final ProductTypeRepository productTypeRepository;
+	private final SkuGeneratorService skuGeneratorService;
+	private final ProductImportBatchWriter batchWriter;
+	private final Validator validator;
+	private final ObjectMapper objectMapper;
+	private final int batchSize;
+	private final int maxReportedErrors;
+
+	public ProductImportServiceImpl(ProductRepository productRepository, ProductTypeRepository productTypeRepository,
+			SkuGeneratorService skuGeneratorService, ProductImportBatchWriter batchWriter, Validator validator,
+			ObjectMapper objectMapper, @Value("${products.import.batch-size:500}") int batchSize,
+			@Value("${products.import.max-reported-errors:1000}") int maxReportedErrors) {
+		this.productRepository = productRepository;
+		this.productTypeRepository = productTypeRepository;
+		this.skuGeneratorService = skuGeneratorService;
+		this.batchWriter = batchWriter;
+		this.validator = validator;
+		this.objectMapper = objectMapper;
+		this.batchSize = batchSize;
+		this.maxReportedErrors = maxReportedErrors;
+	}
+
+	@Override
+	public BulkImportResponseDTO importProducts(InputStream input, ProductImportFormat format, Long loggedInUser)
+			throws IOException {
+		logger.info("Importing products from {} for user: {}", format, loggedInUser);
+
+		ProductRowReader reader = format.open(input, objectMapper);
+		ImportRun run = new ImportRun(loggedInUser);
+		List<ProductImportRow> batch = new ArrayList<>(batchSize);
+
+		ProductImportRow row;
+		while ((row = reader.next()) != null) {
+			run.report.setTotalRows(run.report.getTotalRows() + 1);
+			if (!row.isParsed()) {
+				run.fail(row.getLine(), null, row.getError());
+				continue;
+			}
+
+			String violations = validate(row.getProduct());
+			if (violations != null) {
+				run.fail(row.getLine(), row.getProduct().getName(), violations);
+				continue;
+			}
+
+			batch.add(row);
+			if (batch.size() == batchSize) {
+				writeBatch(batch, run);
+				batch.clear();
+			}
+		}
+		if (!batch.isEmpty()) {
+			writeBatch(batch, run);
+		}
+
+		logger.info("Product import finished - rows: {}, imported: {}, failed: {}", run.report.getTotalRows(),
+				run.report.getImported(), run.report.getFailed());
+		return run.report;
+	}
+
+	private String validate(CreateProductDTO product) {
+		Set<ConstraintViolation<CreateProductDTO>> violations = validator.validate(product);
+		if (violations.isEmpty()) {
+			return null;
+		}
+		return violations.stream().map(v -> v.getPropertyPath() + ": " + v.getMessage()).sorted()
+				.collect(Collectors.joining("; "));
+	}
+
+	private void writeBatch(List<ProductImportRow> rows, ImportRun run) {
+		resolveProductTypes(rows, run);
+		Set<String> existingNames = new HashSet<>(productRepository.findExistingNames(
+				rows.stream().map(r -> r.getProduct().getName()).filter(n -> !run.names.contains(n)).toList()));
+
+		List<ProductImportRow> accepted = new ArrayList<>(rows.size());
+		List<Product> products = new ArrayList<>(rows.size());
+		for (ProductImportRow row : rows) {
+			CreateProductDTO dto = row.getProduct();
+			ProductType productType = run.productTypes.get(dto.getProductTypeId());
+			if (productType == null) {
+				run.fail(row.getLine(), dto.getName(), "Product type not found with id: " + dto.getProductTypeId());
+			} else if (existingNames.contains(dto.getName()) || !run.names.add(dto.getName())) {
+				run.fail(row.getLine(), dto.getName(), "Product already exists with that name");
+			} else {
+				String sku = skuGeneratorService.generateSku(dto.getName(), productType.getName());
+				accepted.add(row);
+				products.add(ProductMapper.toEntity(dto, run.loggedInUser, productType, sku));
+			}
+		}
+
+		dropSkuCollisions(accepted, products, run);
+		if (products.isEmpty()) {
+			return;
+		}
+
+		try {
+			run.imported(batchWriter.insert(products, run.loggedInUser).size());
+		} catch (DataIntegrityViolationException e) {
+			logger.warn("Import batch of {} products rejected, retrying row by row: {}", products.size(),
+					e.getMessage());
+			insertOneByOne(accepted, products, run);
+		}
+	}
+
+	// Product types are looked up once per import, in one query per batch.
+	private void resolveProductTypes(List<ProductImportRow> rows, ImportRun run) {
+		Set<Long> unknownIds = rows.stream().map(r -> r.getProduct().getProductTypeId())
+				.filter(id -> !run.productTypes.containsKey(id)).collect(Collectors.toSet());
+		if (unknownIds.isEmpty()) {
+			return;
+		}
+
+		for (ProductType productType : productTypeRepository.findAllById(unknownIds)) {
+			run.productTypes.put(productType.getId(), productType);
+		}
+		for (Long id : unknownIds) {
+			run.productTypes.putIfAbsent(id, null);
+		}
+	}
+
+	// The allocator hands out unique counters, so this normally finds nothing.
+	// It stays as a cheap safety net for SKUs written some other way, which
+	// would otherwise cost a rejected batch insert.
+	private void dropSkuCollisions(List<ProductImportRow> accepted, List<Product> products, ImportRun run) {
+		if (products.isEmpty()) {
+			return;
+		}
+
+		Set<String> existingSkus = new HashSet<>(
+				productRepository.findExistingSkus(products.stream().map(Product::getSku).toList()));
+		Iterator<ProductImportRow> rows = accepted.iterator();
+		Iterator<Product> entities = products.iterator();
+		while (rows.hasNext()) {
+			ProductImportRow row = rows.next();
+			String sku = entities.next().getSku();
+			if (existingSkus.contains(sku) || !run.skus.add(sku)) {
+				rows.remove();
+				entities.remove();
+				run.names.remove(row.getProduct().getName());
+				run.fail(row.getLine(), row.getProduct().getName(), "Sku already exists: " + sku);
+			}
+		}
+	}
+
+	private void insertOneByOne(List<ProductImportRow> accepted, List<Product> products, ImportRun run) {
+		for (int i = 0; i < products.size(); i++) {
+			Product product = products.get(i);
+			product.setId(null);
+			try {
+				run.imported(batchWriter.insert(List.of(product), run.loggedInUser).size());
+			} catch (DataIntegrityViolationException e) {
+				ProductImportRow row = accepted.get(i);
+				run.names.remove(row.getProduct().getName());
+				run.fail(row.getLine(), row.getProduct().getName(), insertFailure(e, product));
+			}
+		}
+	}
+
+	// A row can also fail on a foreign key (product type deleted meanwhile) or
+	// a column constraint, so only a unique violation on the SKU is reported as
+	// such; anything else reports the database's own message.
+	private String insertFailure(DataIntegrityViolationException e, Product product) {
+		Throwable cause = e.getMostSpecificCause();
+		if (cause instanceof SQLException sqlException && UNIQUE_VIOLATION.equals(sqlException.getSQLState())
+				&& cause.getMessage().toLowerCase(Locale.ROOT).contains("sku")) {
+			return "Sku already exists: " + product.getSku();
+		}
+		return cause.getMessage();
+	}
+
+	private final class ImportRun {
+
+		private final Long loggedInUser;
+		private final BulkImportResponseDTO report = new BulkImportResponseDTO();
+		private final Map<Long, ProductType> productTypes = new HashMap<>();
+		private final Set<String> names = new HashSet<>();
+		private final Set<String> skus = new HashSet<>();
+
+		private ImportRun(Long loggedInUser) {
+			this.loggedInUser = loggedInUser;
+		}
+
+		private void imported(int count) {
+			report.setImported(report.getImported() + count);
+		}
+
+		private void fail(long line, String name, String error) {
+			report.setFailed(report.getFailed() + 1);
+			if (report.getErrors().size() < maxReportedErrors) {
+				report.getErrors().add(new BulkImportResponseDTO.RowErrorDTO(line, name, error));
+			} else {
+				report.setErrorsTruncated(true);
+			}
+		}
+	}
+}
@@ -1,30 +1,48 @@
 package io.github.dariopipa.warehouse.services;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 import io.github.dariopipa.warehouse.audit.AuditLogger;
+import io.github.dariopipa.warehouse.cache.ProductSnapshotCache;
 import io.github.dariopipa.warehouse.dtos.requests.CreateProductDTO;
 import io.github.dariopipa.warehouse.dtos.requests.UpdateProductRequestDTO;
+import io.github.dariopipa.warehouse.dtos.requests.UpdateQuantityItemDTO;
 import io.github.dariopipa.warehouse.dtos.requests.UpdateQuantityRequestDTO;
+import io.github.dariopipa.warehouse.dtos.responses.BatchQuantityUpdateResponseDTO;
 import io.github.dariopipa.warehouse.dtos.responses.ProductGetOneResponseDTO;
 import io.github.dariopipa.warehouse.entities.Product;
 import io.github.dariopipa.warehouse.entities.ProductType;
 import io.github.dariopipa.warehouse.enums.AuditAction;
+import io.github.dariopipa.warehouse.enums.BatchUpdateModeEnum;
 import io.github.dariopipa.warehouse.enums.EntityType;
-import io.github.dariopipa.warehouse.enums.OperationsType;
 import io.github.dariopipa.warehouse.exceptions.ConflictException;
 import io.github.dariopipa.warehouse.exceptions.EntityNotFoundException;
+import io.github.dariopipa.warehouse.exceptions.PreconditionFailedException;
 import io.github.dariopipa.warehouse.mappers.ProductMapper;
 import io.github.dariopipa.warehouse.repositories.ProductRepository;
+import io.github.dariopipa.warehouse.repositories.RowCountEstimator;
+import io.github.dariopipa.warehouse.repositories.StockLevel;
 import io.github.dariopipa.warehouse.services.interfaces.ProductService;
 import io.github.dariopipa.warehouse.services.interfaces.ProductTypeService;
 import io.github.dariopipa.warehouse.services.interfaces.SkuGeneratorService;
-import io.github.dariopipa.warehouse.services.interfaces.StockAlertService;
+import io.github.dariopipa.warehouse.stock.QuantityDelta;
+import io.github.dariopipa.warehouse.stock.QuantityDeltaApplier;
+import io.github.dariopipa.warehouse.stock.QuantityDeltaResult;
+import io.github.dariopipa.warehouse.stock.StockDeltaCoalescer;
 import jakarta.transaction.Transactional;
 
 @Service
@@ -37,16 +55,23 @@ public class ProductServiceImpl implements ProductService {
 	private final ProductTypeService productTypeService;
 	private final SkuGeneratorService skuGeneratorService;
 	private final AuditLogger auditLogger;
-	private final StockAlertService stockAlertService;
+	private final QuantityDeltaApplier quantityDeltaApplier;
+	private final StockDeltaCoalescer stockDeltaCoalescer;
+	private final RowCountEstimator rowCountEstimator;
+	private final ProductSnapshotCache productSnapshotCache;
 
 	public ProductServiceImpl(ProductRepository productRepository, ProductTypeService productTypeService,
-			SkuGeneratorService skuGeneratorService, AuditLogger auditLogger, StockAlertService stockAlertService) {
+			SkuGeneratorService skuGeneratorService, AuditLogger auditLogger,
+			QuantityDeltaApplier quantityDeltaApplier, StockDeltaCoalescer stockDeltaCoalescer,
+			RowCountEstimator rowCountEstimator, ProductSnapshotCache productSnapshotCache) {
 		this.productRepository = productRepository;
 		this.productTypeService = productTypeService;
 		this.skuGeneratorService = skuGeneratorService;
 		this.auditLogger = auditLogger;
-		this.stockAlertService = stockAlertService;
-
+		this.quantityDeltaApplier = quantityDeltaApplier;
+		this.stockDeltaCoalescer = stockDeltaCoalescer;
+		this.rowCountEstimator = rowCountEstimator;
+		this.productSnapshotCache = productSnapshotCache;
 	}
 
 	@Override
@@ -62,7 +87,9 @@ public class ProductServiceImpl implements ProductService {
 		String generatedSku = skuGeneratorService.generateSku(dto.getName(), productType.getName());
 		Product productEntity = ProductMapper.toEntity(dto, loggedInUser, productType, generatedSku);
 		try {
-			Product savedEntity = this.productRepository.save(productEntity);
+			// Flushed here: with sequence ids the INSERT would otherwise only run
+			// at commit, outside this catch.
+			Product savedEntity = this.productRepository.saveAndFlush(productEntity);
 			logger.info("Product saved with id: {}", savedEntity.getId());
 
 			auditLogger.log(loggedInUser, AuditAction.CREATE, EntityType.PRODUCT, savedEntity.getId());
@@ -77,16 +104,36 @@ public class ProductServiceImpl implements ProductService {
 	}
 
 	@Override
-	public void update(Long id, UpdateProductRequestDTO updateRequestDTO, Long loggedInUser) {
+	public ProductGetOneResponseDTO update(Long id, UpdateProductRequestDTO updateRequestDTO, Long expectedVersion, Long loggedInUser) {
 		logger.info("Updating product with id: {}", id);
 
 		Product product = getProduct(id);
+		if (expectedVersion != null && !expectedVersion.equals(product.getVersion())) {
+			throw new PreconditionFailedException("Product with id: " + id + " is at version " + product.getVersion()
+					+ ", not " + expectedVersion);
+		}
 		ProductType productType = productTypeService.getProductType(updateRequestDTO.getProductTypeId());
 
-		this.productRepository.save(ProductMapper.updateEntityFromDto(updateRequestDTO, product, productType));
+		// Flushed here so a concurrent change fails this request with the version
+		// check, and so the returned product carries the new version.
+		Product updated;
+		try {
+			updated = this.productRepository
+					.saveAndFlush(ProductMapper.updateEntityFromDto(updateRequestDTO, product, productType));
+		} catch (ObjectOptimisticLockingFailureException e) {
+			if (expectedVersion == null) {
+				throw e;
+			}
+			// The version matched when read but another write committed before this
+			// one, so the precondition the client sent no longer holds.
+			throw new PreconditionFailedException(
+					"Product with id: " + id + " changed after version " + expectedVersion);
+		}
+		productSnapshotCache.evict(id, updated.getVersion());
 		logger.info("Product updated with id: {}", id);
 
 		auditLogger.log(loggedInUser, AuditAction.UPDATE, EntityType.PRODUCT, id);
+		return ProductMapper.toDto(updated);
 	}
 
 	@Override
@@ -95,6 +142,7 @@ public class ProductServiceImpl implements ProductService {
 		Product product = getProduct(id);
 
 		this.productRepository.delete(product);
+		productSnapshotCache.evict(id);
 		logger.info("Product deleted with id: {}", id);
 		auditLogger.log(loggedInUser, AuditAction.DELETE, EntityType.PRODUCT, id);
 	}
@@ -106,36 +154,90 @@ public class ProductServiceImpl implements ProductService {
 	}
 
 	@Override
+	public Slice<ProductGetOneResponseDTO> getCollectionSlice(Pageable pageable) {
+		logger.info("Fetching product slice with pageable: {}", pageable);
+		return productRepository.findSliceBy(pageable).map(ProductMapper::toDto);
+	}
+
+	@Override
+	public long estimateCount() {
+		return rowCountEstimator.estimate("product", productRepository::count);
+	}
+
+	@Override
+	public Window<ProductGetOneResponseDTO> getCollection(ScrollPosition position, Sort sort, int size) {
+		logger.info("Fetching product collection after position: {}, sort: {}, size: {}", position, sort, size);
+
+		// The id is appended as a tie-breaker so every product has a unique
+		// position in the sort order.
+		return productRepository.findBy(position, sort.and(Sort.by(sort.iterator().next().getDirection(), "id")),
+				Limit.of(size)).map(ProductMapper::toDto);
+	}
+
+	// Not transactional, so a read served from the cache never borrows a
+	// connection.
+	@Override
+	@Transactional(Transactional.TxType.SUPPORTS)
 	public ProductGetOneResponseDTO getById(final Long id) {
 		logger.info("Fetching product by id: {}", id);
 
-		Product product = getProduct(id);
-		return ProductMapper.toDto(product);
+		return productSnapshotCache.findById(id).map(ProductMapper::toDto)
+				.orElseThrow(() -> new EntityNotFoundException("Product not found with id: " + id));
 	}
 
 	@Override
-	@Transactional
+	@Transactional(Transactional.TxType.SUPPORTS)
 	public void updateQuantity(Long id, UpdateQuantityRequestDTO updateQuantityRequestDTO, Long loggedInUser) {
 
 		logger.info("Updating quantity for product id: {} with operation: {} and quantity: {}", id,
 				updateQuantityRequestDTO.getOperation(), updateQuantityRequestDTO.getQuantity());
 
-		Product product = getProduct(id);
-		int delta = updateQuantityRequestDTO.getOperation() == OperationsType.INCREASE
-				? updateQuantityRequestDTO.getQuantity()
-				: -updateQuantityRequestDTO.getQuantity();
+		QuantityDelta quantityDelta = QuantityDelta.of(id, updateQuantityRequestDTO.getOperation(),
+				updateQuantityRequestDTO.getQuantity(), loggedInUser);
 
-		int newQuantity = product.getQuantity() + delta;
-		if (newQuantity < 0) {
-			throw new IllegalArgumentException("Product quantity cannot be reduced to less than 0");
+		// In coalescing mode the request waits for the next flush, so it must
+		// not hold a transaction (and a pooled connection) while it waits.
+		StockLevel stockLevel = stockDeltaCoalescer.isEnabled() ? stockDeltaCoalescer.apply(quantityDelta)
+				: quantityDeltaApplier.apply(quantityDelta);
+		productSnapshotCache.evict(id, stockLevel.getVersion());
+
+		logger.info("Quantity updated for product id: {} by delta: {}, new quantity: {}", id,
+				quantityDelta.getDelta(), stockLevel.getQuantity());
+	}
+
+	@Override
+	public BatchQuantityUpdateResponseDTO updateQuantities(List<UpdateQuantityItemDTO> items, BatchUpdateModeEnum mode,
+			Long loggedInUser) {
+		logger.info("Updating quantities for {} items with mode: {}", items.size(), mode);
+
+		List<QuantityDelta> quantityDeltas = new ArrayList<>(items.size());
+		for (UpdateQuantityItemDTO item : items) {
+			quantityDeltas.add(QuantityDelta.of(item.getId(), item.getOperation(), item.getQuantity(), loggedInUser));
 		}
 
-		this.productRepository.updateQuantityById(id, delta);
-		this.stockAlertService.alertStockLow(product, newQuantity);
-		this.auditLogger.logQuantityUpdate(loggedInUser, EntityType.PRODUCT, id,
-				updateQuantityRequestDTO.getOperation(), newQuantity);
+		// Batches bypass the coalescer: they already reach the database as one
+		// batched statement.
+		List<QuantityDeltaResult> results = mode == BatchUpdateModeEnum.partial
+				? quantityDeltaApplier.applyAll(quantityDeltas)
+				: quantityDeltaApplier.applyAllOrNothing(quantityDeltas);
+
+		BatchQuantityUpdateResponseDTO response = new BatchQuantityUpdateResponseDTO();
+		for (QuantityDeltaResult result : results) {
+			Long productId = result.getRequest().getProductId();
+			if (result.isApplied()) {
+				productSnapshotCache.evict(productId, result.getStockLevel().getVersion());
+				response.setApplied(response.getApplied() + 1);
+				response.getResults().add(new BatchQuantityUpdateResponseDTO.ItemResultDTO(productId, true,
+						result.getStockLevel().getQuantity(), null));
+			} else {
+				response.setRejected(response.getRejected() + 1);
+				response.getResults().add(new BatchQuantityUpdateResponseDTO.ItemResultDTO(productId, false, null,
+						result.getError().getMessage()));
+			}
+		}
 
-		logger.info("Quantity updated for product id: {} by delta: {}", id, delta);
+		logger.info("Quantities updated - applied: {}, rejected: {}", response.getApplied(), response.getRejected());
+		return response;
 	}
 
 	private Product getProduct(Long id) {
@@ -4,9 +4,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import io.github.dariopipa.warehouse.audit.AuditLogger;
+import io.github.dariopipa.warehouse.cache.ProductSnapshotCache;
+import io.github.dariopipa.warehouse.cache.ProductTypeCache;
 import io.github.dariopipa.warehouse.dtos.requests.ProductTypesDTO;
 import io.github.dariopipa.warehouse.dtos.responses.ProductTypeResponseDTO;
 import io.github.dariopipa.warehouse.entities.ProductType;
@@ -16,6 +19,7 @@ import io.github.dariopipa.warehouse.exceptions.ConflictException;
 import io.github.dariopipa.warehouse.exceptions.EntityNotFoundException;
 import io.github.dariopipa.warehouse.mappers.ProductTypeMapper;
 import io.github.dariopipa.warehouse.repositories.ProductTypeRepository;
+import io.github.dariopipa.warehouse.repositories.RowCountEstimator;
 import io.github.dariopipa.warehouse.services.interfaces.ProductTypeService;
 
 @Service
@@ -24,10 +28,18 @@ public class ProductTypeServiceImpl implements ProductTypeService {
 	private final Logger logger = LoggerFactory.getLogger(ProductTypeServiceImpl.class);
 	private final ProductTypeRepository productTypeRepository;
 	private final AuditLogger auditLogger;
+	private final RowCountEstimator rowCountEstimator;
+	private final ProductTypeCache productTypeCache;
+	private final ProductSnapshotCache productSnapshotCache;
 
-	public ProductTypeServiceImpl(ProductTypeRepository productTypeRepository, AuditLogger auditLogger) {
+	public ProductTypeServiceImpl(ProductTypeRepository productTypeRepository, AuditLogger auditLogger,
+			RowCountEstimator rowCountEstimator, ProductTypeCache productTypeCache,
+			ProductSnapshotCache productSnapshotCache) {
 		this.productTypeRepository = productTypeRepository;
 		this.auditLogger = auditLogger;
+		this.rowCountEstimator = rowCountEstimator;
+		this.productTypeCache = productTypeCache;
+		this.productSnapshotCache = productSnapshotCache;
 	}
 
 	@Override
@@ -37,6 +49,18 @@ public class ProductTypeServiceImpl implements ProductTypeService {
 		return productTypeRepository.findAll(pageable).map(ProductTypeMapper::toDto);
 	}
 
+	@Override
+	public Slice<ProductTypeResponseDTO> getCollectionSlice(Pageable pageable) {
+		logger.info("Fetching product type slice with pageable: {}", pageable);
+
+		return productTypeRepository.findSliceBy(pageable).map(ProductTypeMapper::toDto);
+	}
+
+	@Override
+	public long estimateCount() {
+		return rowCountEstimator.estimate("product_type", productTypeRepository::count);
+	}
+
 	@Override
 	public ProductTypeResponseDTO getById(Long id) {
 		logger.info("Fetching product type by id: {}", id);
@@ -49,7 +73,7 @@ public class ProductTypeServiceImpl implements ProductTypeService {
 	public Long save(ProductTypesDTO dto, Long loggedInUser) {
 		logger.info("Saving new product type: {}", dto.getName());
 
-		if (productTypeRepository.existsByName(dto.getName())) {
+		if (productTypeCache.existsByName(dto.getName())) {
 			logger.warn("Product type name already exists: {}", dto.getName());
 			throw new ConflictException("Product type name already exists");
 		}
@@ -57,6 +81,7 @@ public class ProductTypeServiceImpl implements ProductTypeService {
 		ProductType entity = ProductTypeMapper.toEntity(dto, loggedInUser);
 		ProductType saved = productTypeRepository.save(entity);
 
+		productTypeCache.evict(saved.getId());
 		logger.info("Product type saved with id: {}", saved.getId());
 
 		auditLogger.log(loggedInUser, AuditAction.CREATE, EntityType.PRODUCT_TYPE, saved.getId());
@@ -67,14 +92,19 @@ public class ProductTypeServiceImpl implements ProductTypeService {
 	public void update(Long id, ProductTypesDTO productType, Long loggedInUser) {
 		logger.info("Updating product type with id: {} and name: {}", id, productType.getName());
 
-		ProductType existingProductType = getProductType(id);
-		if (this.productTypeRepository.existsByNameAndIdNot(productType.getName(), id)) {
+		ProductType existingProductType = getManagedProductType(id);
+		if (productTypeCache.findByName(productType.getName()).filter(other -> !other.getId().equals(id))
+				.isPresent()) {
 			logger.warn("Product type name already exists for update: {}", productType.getName());
 			throw new ConflictException("Product type name already exists");
 		}
 
 		existingProductType.setName(productType.getName());
-		this.productTypeRepository.save(existingProductType);
+		// Flushed so the eviction carries the new version
+		ProductType updated = this.productTypeRepository.saveAndFlush(existingProductType);
+		productTypeCache.evict(id, updated.getVersion());
+		// Product snapshots carry the type name.
+		productSnapshotCache.evictAll();
 		logger.info("Product type updated with id: {}", id);
 
 		auditLogger.log(loggedInUser, AuditAction.UPDATE, EntityType.PRODUCT_TYPE, id);
@@ -84,17 +114,29 @@ public class ProductTypeServiceImpl implements ProductTypeService {
 	public void delete(Long id, Long loggedInUser) {
 		logger.info("Deleting product type with id: {}", id);
 
-		ProductType productType = getProductType(id);
+		ProductType productType = getManagedProductType(id);
 		this.productTypeRepository.delete(productType);
+		productTypeCache.evict(id);
+		productSnapshotCache.evictAll();
 		logger.info("Product type deleted with id: {}", id);
 
 		auditLogger.log(loggedInUser, AuditAction.DELETE, EntityType.PRODUCT_TYPE, id);
 	}
 
+	/**
+	 * Served from {@link ProductTypeCache}: the returned product type is a
+	 * detached copy, fine for linking products to it but not for changing it.
+	 */
 	@Override
 	public ProductType getProductType(Long id) {
 		logger.debug("Retrieving product type with id: {}", id);
 
+		return productTypeCache.findById(id)
+				.orElseThrow(() -> new EntityNotFoundException("Product type not found with id: " + id));
+	}
+
+	// Updates and deletes work on a freshly loaded entity, never on a cached copy.
+	private ProductType getManagedProductType(Long id) {
 		return productTypeRepository.findById(id)
 				.orElseThrow(() -> new EntityNotFoundException("Product type not found with id: " + id));
 	}
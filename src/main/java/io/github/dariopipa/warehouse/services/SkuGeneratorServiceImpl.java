@@ -1,29 +1,31 @@
 package io.github.dariopipa.warehouse.services;
 
-import java.time.LocalDate;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import io.github.dariopipa.warehouse.services.interfaces.SkuGeneratorService;
+import io.github.dariopipa.warehouse.sku.SkuAllocator;
+import io.github.dariopipa.warehouse.sku.SkuFormat;
 
 @Service
 public class SkuGeneratorServiceImpl implements SkuGeneratorService {
 
 	private final Logger logger = LoggerFactory.getLogger(SkuGeneratorServiceImpl.class);
 
+	private final SkuAllocator skuAllocator;
+	private final SkuFormat skuFormat;
+
+	public SkuGeneratorServiceImpl(SkuAllocator skuAllocator, SkuFormat skuFormat) {
+		this.skuAllocator = skuAllocator;
+		this.skuFormat = skuFormat;
+	}
+
 	@Override
 	public String generateSku(String productName, String productTypeName) {
-		logger.info("Generating SKU for product: {} and type: {}", productName, productTypeName);
-
-		String prefixFromProductName = productName.substring(0, 2).toUpperCase();
-		String prefixFromProductTypeName = productTypeName.substring(0, 2).toUpperCase();
+		logger.debug("Generating SKU for product: {} and type: {}", productName, productTypeName);
 
-		int currentYear = LocalDate.now().getYear();
-		long timestamp = System.currentTimeMillis() % 100_000;
-		String sku = String.format("%s-%s-%d-%05d", prefixFromProductName, prefixFromProductTypeName, currentYear,
-				timestamp);
+		String sku = skuFormat.format(productName, productTypeName, skuAllocator.next());
 
 		logger.debug("Generated SKU: {}", sku);
 		return sku;
@@ -1,97 +1,195 @@
 package io.github.dariopipa.warehouse.services;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import io.github.dariopipa.warehouse.dtos.requests.SendEmailDTO;
 import io.github.dariopipa.warehouse.entities.Product;
 import io.github.dariopipa.warehouse.entities.StockAlert;
+import io.github.dariopipa.warehouse.enums.OutboxEventType;
 import io.github.dariopipa.warehouse.enums.RolesEnum;
+import io.github.dariopipa.warehouse.enums.StockAlertMode;
+import io.github.dariopipa.warehouse.events.LowStockAlertPayload;
+import io.github.dariopipa.warehouse.events.LowStockDigestPayload;
+import io.github.dariopipa.warehouse.repositories.ProductRepository;
 import io.github.dariopipa.warehouse.repositories.StockAlertRepository;
 import io.github.dariopipa.warehouse.services.interfaces.AuthService;
 import io.github.dariopipa.warehouse.services.interfaces.EmailService;
+import io.github.dariopipa.warehouse.services.interfaces.OutboxService;
 import io.github.dariopipa.warehouse.services.interfaces.StockAlertService;
+import io.github.dariopipa.warehouse.stock.StockAlertStateTracker;
+import jakarta.transaction.Transactional;
 
 @Service
 public class StockAlertServiceImpl implements StockAlertService {
 
 	@Value("${DEFAULT_COMPANY_EMAIL}")
 	private String DEFAULT_COMPANY_EMAIL;
+
+	@Value("${stock.alert.mode:IMMEDIATE}")
+	private StockAlertMode mode;
+
 	private final StockAlertRepository stockAlertRepository;
+	private final ProductRepository productRepository;
 	private final EmailService emailService;
 	private final AuthService authService;
+	private final OutboxService outboxService;
+	private final StockAlertStateTracker alertStates;
 
 	private final Logger logger = LoggerFactory.getLogger(StockAlertServiceImpl.class);
 
-	public StockAlertServiceImpl(StockAlertRepository stockAlertRepository, EmailService emailService,
-			AuthService authService) {
+	public StockAlertServiceImpl(StockAlertRepository stockAlertRepository, ProductRepository productRepository,
+			EmailService emailService, AuthService authService, OutboxService outboxService,
+			StockAlertStateTracker alertStates) {
 		this.stockAlertRepository = stockAlertRepository;
+		this.productRepository = productRepository;
 		this.emailService = emailService;
 		this.authService = authService;
+		this.outboxService = outboxService;
+		this.alertStates = alertStates;
 	}
 
 	@Override
-	public void alertStockLow(Product product, int newQuantity) {
-		if (!isStockBelowThreshold(product, newQuantity)) {
-			logger.debug("Stock level for product '{}' is OK. Quantity: {}, Threshold: {}", product.getName(),
-					newQuantity, product.getLowStockThreshold());
+	public void alertStockLow(Long productId, int newQuantity, int lowStockThreshold) {
+		if (newQuantity >= lowStockThreshold) {
+			logger.debug("Stock level for product {} is OK. Quantity: {}, Threshold: {}", productId, newQuantity,
+					lowStockThreshold);
+			if (alertStates.rearm(productId)) {
+				logger.info("Low stock alert re-armed for product {}", productId);
+			}
 			return;
 		}
 
-		logger.warn("Low stock detected for product '{}'. Current quantity: {}, Threshold: {}", product.getName(),
-				newQuantity, product.getLowStockThreshold());
+		// Only the first drop below the threshold since the last restock alerts
+		if (!alertStates.fire(productId)) {
+			logger.debug("Low stock alert already fired for product {}. Quantity: {}, Threshold: {}", productId,
+					newQuantity, lowStockThreshold);
+			return;
+		}
 
-		boolean emailSent = sendLowStockEmail(product, newQuantity);
-		saveStockAlert(product, emailSent);
+		logger.warn("Low stock detected for product {}. Current quantity: {}, Threshold: {}", productId, newQuantity,
+				lowStockThreshold);
+
+		// The alert row and its outbox event are written in the caller's
+		// transaction; the email is delivered by the outbox dispatcher after
+		// commit. In digest mode the row waits for the next digest instead.
+		StockAlert alert = saveStockAlert(productId, mode == StockAlertMode.IMMEDIATE);
+		if (mode == StockAlertMode.IMMEDIATE) {
+			outboxService.enqueue(OutboxEventType.LOW_STOCK_ALERT, productId,
+					new LowStockAlertPayload(alert.getId(), productId, newQuantity, lowStockThreshold));
+		}
 	}
 
-	private boolean isStockBelowThreshold(Product product, int quantity) {
-		return quantity < product.getLowStockThreshold();
+	@Override
+	public CompletableFuture<Void> sendLowStockEmail(LowStockAlertPayload alert) {
+		StockAlert stockAlert = stockAlertRepository.findById(alert.getStockAlertId()).orElse(null);
+		if (stockAlert == null || stockAlert.getProduct() == null) {
+			logger.warn("Stock alert {} no longer exists, skipping low stock email", alert.getStockAlertId());
+			return CompletableFuture.completedFuture(null);
+		}
+
+		Long stockAlertId = stockAlert.getId();
+		String productName = stockAlert.getProduct().getName();
+		List<String> recipients = authService.findEmailsByRole(RolesEnum.ROLE_MANAGER);
+
+		SendEmailDTO emailDTO = createLowStockEmailDTO(productName, alert, recipients);
+
+		// Only a delivered email marks the alert as sent
+		return emailService.sendEmail(emailDTO).thenRun(() -> {
+			stockAlertRepository.markEmailSent(stockAlertId);
+			logger.info("Low stock email sent successfully for product '{}' to {}", productName, emailDTO.getTo());
+		});
 	}
 
-	private boolean sendLowStockEmail(Product product, int currentQuantity) {
-		try {
+	@Override
+	@Transactional
+	public int enqueueLowStockDigest(int maxAlerts) {
+		List<StockAlert> alerts = stockAlertRepository.findUnqueuedForUpdate(Limit.of(maxAlerts));
+		if (alerts.isEmpty()) {
+			return 0;
+		}
 
-			List<String> recipients = authService.findEmailsByRole(RolesEnum.ROLE_MANAGER);
+		List<Long> ids = alerts.stream().map(StockAlert::getId).toList();
+		alerts.forEach(alert -> alert.setEmailQueued(true));
+		outboxService.enqueue(OutboxEventType.LOW_STOCK_DIGEST, ids.get(0), new LowStockDigestPayload(ids));
 
-			SendEmailDTO emailDTO = createLowStockEmailDTO(product, currentQuantity, recipients);
-			emailService.sendEmail(emailDTO);
+		logger.info("Low stock digest enqueued for {} alerts", ids.size());
+		return ids.size();
+	}
 
-			logger.info("Low stock email sent successfully for product '{}' to {}", product.getName(),
+	@Override
+	public CompletableFuture<Void> sendLowStockDigest(LowStockDigestPayload digest) {
+		List<StockAlert> alerts = stockAlertRepository.findAllWithProductByIdIn(digest.getStockAlertIds());
+		if (alerts.isEmpty()) {
+			logger.warn("Stock alerts {} no longer exist, skipping low stock digest", digest.getStockAlertIds());
+			return CompletableFuture.completedFuture(null);
+		}
+
+		// A product that fired again after a restock is listed once
+		Map<Long, Product> products = new LinkedHashMap<>();
+		alerts.forEach(alert -> products.putIfAbsent(alert.getProduct().getId(), alert.getProduct()));
+
+		List<Long> alertIds = alerts.stream().map(StockAlert::getId).toList();
+		List<String> recipients = authService.findEmailsByRole(RolesEnum.ROLE_MANAGER);
+
+		SendEmailDTO emailDTO = createLowStockDigestDTO(products.values(), recipients);
+		return emailService.sendEmail(emailDTO).thenRun(() -> {
+			stockAlertRepository.markEmailsSent(alertIds);
+			logger.info("Low stock digest for {} products sent successfully to {}", products.size(),
 					emailDTO.getTo());
-			return true;
+		});
+	}
 
-		} catch (Exception e) {
+	private SendEmailDTO createLowStockDigestDTO(Collection<Product> products, List<String> recipients) {
+		StringBuilder lines = new StringBuilder();
+		products.forEach(product -> lines.append(String.format("- '%s': quantity %d, threshold %d%n",
+				product.getName(), product.getQuantity(), product.getLowStockThreshold())));
 
-			logger.warn("Failed to send low stock email for product '{}': {}", product.getName(), e.getMessage());
-			return false;
-		}
+		SendEmailDTO emailDTO = new SendEmailDTO();
+		emailDTO.setTo(recipients);
+		emailDTO.setFrom(DEFAULT_COMPANY_EMAIL);
+		emailDTO.setSubject("Low Stock Digest: " + products.size() + " products");
+		emailDTO.setBody(String.format("""
+				Warning: The stock of the following products is low!
+
+				%s
+				Please restock as soon as possible.
+				""", lines));
+		return emailDTO;
 	}
 
-	private SendEmailDTO createLowStockEmailDTO(Product product, int currentQuantity, List<String> recipients) {
+	private SendEmailDTO createLowStockEmailDTO(String productName, LowStockAlertPayload alert,
+			List<String> recipients) {
 
 		SendEmailDTO emailDTO = new SendEmailDTO();
 		emailDTO.setTo(recipients);
 		emailDTO.setFrom(DEFAULT_COMPANY_EMAIL);
-		emailDTO.setSubject("Low Stock Alert: " + product.getName());
-		emailDTO.setBody(createEmailBody(product, currentQuantity));
+		emailDTO.setSubject("Low Stock Alert: " + productName);
+		emailDTO.setBody(createEmailBody(productName, alert.getQuantity(), alert.getLowStockThreshold()));
 		return emailDTO;
 	}
 
-	private void saveStockAlert(Product product, boolean emailSent) {
+	private StockAlert saveStockAlert(Long productId, boolean emailQueued) {
 		StockAlert alert = new StockAlert();
-		alert.setProduct(product);
-		alert.setEmailSent(emailSent);
+		alert.setProduct(productRepository.getReferenceById(productId));
+		alert.setEmailSent(false);
+		alert.setEmailQueued(emailQueued);
 
 		stockAlertRepository.save(alert);
-		logger.info("Stock alert saved for product '{}' with emailSent={}", product.getName(), emailSent);
+		logger.info("Stock alert saved for product {}", productId);
+		return alert;
 	}
 
-	private String createEmailBody(Product product, int currentQuantity) {
+	private String createEmailBody(String productName, int currentQuantity, int lowStockThreshold) {
 		return String.format("""
 				Warning: The stock for product '%s' is low!
 
@@ -99,6 +197,6 @@ public class StockAlertServiceImpl implements StockAlertService {
 				Threshold: %d
 
 				Please restock as soon as possible.
-				""", product.getName(), currentQuantity, product.getLowStockThreshold());
+				""", productName, currentQuantity, lowStockThreshold);
 	}
 }
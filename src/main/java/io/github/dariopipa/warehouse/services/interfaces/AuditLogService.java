@@ -1,7 +1,10 @@
 package io.github.dariopipa.warehouse.services.interfaces;
 
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import io.github.dariopipa.warehouse.entities.AuditLog;
 import io.github.dariopipa.warehouse.events.AuditLogEvent;
@@ -10,6 +13,12 @@ public interface AuditLogService {
 
 	void save(AuditLogEvent event);
 
+	void saveAll(List<AuditLogEvent> events);
+
 	Page<AuditLog> findAll(Pageable pageable);
 
+	Slice<AuditLog> findSlice(Pageable pageable);
+
+	long estimateCount();
+
 }
@@ -1,7 +1,15 @@
 package io.github.dariopipa.warehouse.services.interfaces;
 
+import java.util.concurrent.CompletableFuture;
+
 import io.github.dariopipa.warehouse.dtos.requests.SendEmailDTO;
 
 public interface EmailService {
-	void sendEmail(SendEmailDTO emailDTO);
+
+	/**
+	 * Queues the email for asynchronous delivery. The returned future completes
+	 * once the mail server has accepted the message and fails if it could not be
+	 * built or delivered.
+	 */
+	CompletableFuture<Void> sendEmail(SendEmailDTO emailDTO);
 }
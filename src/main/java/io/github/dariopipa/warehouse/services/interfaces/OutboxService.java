@@ -0,0 +1,20 @@
+package io.github.dariopipa.warehouse.services.interfaces;
+
+import java.util.Collection;
+import java.util.List;
+
+import io.github.dariopipa.warehouse.entities.OutboxEvent;
+import io.github.dariopipa.warehouse.enums.OutboxEventType;
+
+public interface OutboxService {
+
+	void enqueue(OutboxEventType eventType, Long aggregateId, Object payload);
+
+	List<OutboxEvent> claimDueEvents(int batchSize);
+
+	void markSent(Collection<Long> ids);
+
+	void markFailed(Long id, String error);
+
+	int purgeSent();
+}
@@ -0,0 +1,14 @@
+package io.github.dariopipa.warehouse.services.interfaces;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import io.github.dariopipa.warehouse.exports.ProductExportFormat;
+
+public interface ProductExportService {
+
+	/**
+	 * Writes every product to {@code output} and returns how many were written.
+	 */
+	long exportProducts(OutputStream output, ProductExportFormat format) throws IOException;
+}
@@ -0,0 +1,13 @@
+package io.github.dariopipa.warehouse.services.interfaces;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import io.github.dariopipa.warehouse.dtos.responses.BulkImportResponseDTO;
+import io.github.dariopipa.warehouse.imports.ProductImportFormat;
+
+public interface ProductImportService {
+
+	BulkImportResponseDTO importProducts(InputStream input, ProductImportFormat format, Long loggedInUser)
+			throws IOException;
+}
@@ -1,27 +1,50 @@
 package io.github.dariopipa.warehouse.services.interfaces;
 
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 import io.github.dariopipa.warehouse.dtos.requests.CreateProductDTO;
 import io.github.dariopipa.warehouse.dtos.requests.UpdateProductRequestDTO;
+import io.github.dariopipa.warehouse.dtos.requests.UpdateQuantityItemDTO;
 import io.github.dariopipa.warehouse.dtos.requests.UpdateQuantityRequestDTO;
+import io.github.dariopipa.warehouse.dtos.responses.BatchQuantityUpdateResponseDTO;
 import io.github.dariopipa.warehouse.dtos.responses.ProductGetOneResponseDTO;
 import io.github.dariopipa.warehouse.entities.Product;
+import io.github.dariopipa.warehouse.enums.BatchUpdateModeEnum;
 
 public interface ProductService {
 
 	Long save(CreateProductDTO product, Long loggedInUser);
 
-	void update(Long id, UpdateProductRequestDTO product, Long loggedInUser);
+	/**
+	 * @param expectedVersion version the client last read, or null to skip the
+	 *                        check
+	 * @return the product as updated
+	 */
+	ProductGetOneResponseDTO update(Long id, UpdateProductRequestDTO product, Long expectedVersion, Long loggedInUser);
 
 	void delete(Long id, Long loggedInUser);
 
 	Page<ProductGetOneResponseDTO> getCollection(Pageable pageable);
 
+	Slice<ProductGetOneResponseDTO> getCollectionSlice(Pageable pageable);
+
+	long estimateCount();
+
+	Window<ProductGetOneResponseDTO> getCollection(ScrollPosition position, Sort sort, int size);
+
 	ProductGetOneResponseDTO getById(Long id);
 
 	Product getProductEntityById(Long id);
 
 	void updateQuantity(Long id, UpdateQuantityRequestDTO updateQuantityRequestDTO, Long loggedInUser);
+
+	BatchQuantityUpdateResponseDTO updateQuantities(List<UpdateQuantityItemDTO> items, BatchUpdateModeEnum mode,
+			Long loggedInUser);
 }
@@ -2,6 +2,7 @@ package io.github.dariopipa.warehouse.services.interfaces;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import io.github.dariopipa.warehouse.dtos.requests.ProductTypesDTO;
 import io.github.dariopipa.warehouse.dtos.responses.ProductTypeResponseDTO;
@@ -17,6 +18,10 @@ public interface ProductTypeService {
 
 	Page<ProductTypeResponseDTO> getCollection(Pageable pageable);
 
+	Slice<ProductTypeResponseDTO> getCollectionSlice(Pageable pageable);
+
+	long estimateCount();
+
 	ProductTypeResponseDTO getById(Long id);
 
 	ProductType getProductType(Long id);
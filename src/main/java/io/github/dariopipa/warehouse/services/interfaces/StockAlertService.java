@@ -1,7 +1,31 @@
 package io.github.dariopipa.warehouse.services.interfaces;
 
-import io.github.dariopipa.warehouse.entities.Product;
+import java.util.concurrent.CompletableFuture;
+
+import io.github.dariopipa.warehouse.events.LowStockAlertPayload;
+import io.github.dariopipa.warehouse.events.LowStockDigestPayload;
 
 public interface StockAlertService {
-	void alertStockLow(Product product, int newQuantity);
+	void alertStockLow(Long productId, int newQuantity, int lowStockThreshold);
+
+	/**
+	 * Emails the managers about the alert. The returned future completes once
+	 * the email has been delivered and the alert marked as sent.
+	 */
+	CompletableFuture<Void> sendLowStockEmail(LowStockAlertPayload alert);
+
+	/**
+	 * Bundles up to {@code maxAlerts} alerts that have not been handed to an
+	 * email yet into one digest outbox event.
+	 *
+	 * @return the number of alerts bundled
+	 */
+	int enqueueLowStockDigest(int maxAlerts);
+
+	/**
+	 * Emails the managers one digest of every product in the bundle. The
+	 * returned future completes once the email has been delivered and the
+	 * alerts marked as sent.
+	 */
+	CompletableFuture<Void> sendLowStockDigest(LowStockDigestPayload digest);
 }
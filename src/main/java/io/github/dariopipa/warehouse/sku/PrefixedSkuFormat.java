@@ -0,0 +1,22 @@
+package io.github.dariopipa.warehouse.sku;
+
+import java.time.LocalDate;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code PH-EL-2026-00042}: the first two letters of the product and type
+ * names, the current year and the counter padded to five digits.
+ */
+@Component
+public class PrefixedSkuFormat implements SkuFormat {
+
+	@Override
+	public String format(String productName, String productTypeName, long counter) {
+		String prefixFromProductName = productName.substring(0, 2).toUpperCase();
+		String prefixFromProductTypeName = productTypeName.substring(0, 2).toUpperCase();
+
+		return String.format("%s-%s-%d-%05d", prefixFromProductName, prefixFromProductTypeName,
+				LocalDate.now().getYear(), counter);
+	}
+}
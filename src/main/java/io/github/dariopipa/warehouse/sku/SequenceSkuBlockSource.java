@@ -0,0 +1,61 @@
+package io.github.dariopipa.warehouse.sku;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Reserves SKU blocks from a database sequence that increments by the block
+ * size, so each {@code nextval} is the first value of a block no other node
+ * will get.
+ *
+ * <p>
+ * The sequence is created on first start with the configured block size.
+ * After that its increment is the block size actually used, so nodes
+ * configured differently can never hand out overlapping values; changing the
+ * block size needs an {@code ALTER SEQUENCE}.
+ */
+@Component
+public class SequenceSkuBlockSource implements SkuBlockSource {
+
+	private static final String SEQUENCE_NAME = "sku_seq";
+
+	private final Logger logger = LoggerFactory.getLogger(SequenceSkuBlockSource.class);
+
+	private final JdbcTemplate jdbcTemplate;
+	private final long configuredBlockSize;
+	private long blockSize;
+
+	public SequenceSkuBlockSource(JdbcTemplate jdbcTemplate, @Value("${sku.block-size:1000}") long configuredBlockSize) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.configuredBlockSize = configuredBlockSize;
+	}
+
+	@PostConstruct
+	public void init() {
+		jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + SEQUENCE_NAME + " START WITH 1 INCREMENT BY "
+				+ configuredBlockSize);
+
+		Long increment = jdbcTemplate.queryForObject("SELECT increment FROM information_schema.sequences "
+				+ "WHERE lower(sequence_name) = ? AND sequence_schema = current_schema()", Long.class, SEQUENCE_NAME);
+		if (increment == null || increment < 1) {
+			throw new IllegalStateException("Sequence " + SEQUENCE_NAME + " must increment by a positive block size");
+		}
+		if (increment != configuredBlockSize) {
+			logger.warn("Sequence {} increments by {}, using that as the SKU block size instead of {}", SEQUENCE_NAME,
+					increment, configuredBlockSize);
+		}
+		blockSize = increment;
+	}
+
+	@Override
+	public SkuBlock reserve() {
+		Long start = jdbcTemplate.queryForObject("SELECT nextval('" + SEQUENCE_NAME + "')", Long.class);
+		logger.debug("Reserved SKU block starting at {} with size {}", start, blockSize);
+		return new SkuBlock(start, blockSize);
+	}
+}
@@ -0,0 +1,37 @@
+package io.github.dariopipa.warehouse.sku;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands out SKU counter values that are unique across the cluster. Values come
+ * from a block reserved up front, so the common case is a single atomic
+ * increment with no database round trip and no lock.
+ *
+ * <p>
+ * When the block runs out, threads that notice reserve a new one and race to
+ * install it; the losing blocks are dropped. Values are therefore unique and
+ * increasing per block but not gap free.
+ */
+@Component
+public class SkuAllocator {
+
+	private final SkuBlockSource blockSource;
+	private final AtomicReference<SkuBlock> current = new AtomicReference<>(SkuBlock.EMPTY);
+
+	public SkuAllocator(SkuBlockSource blockSource) {
+		this.blockSource = blockSource;
+	}
+
+	public long next() {
+		while (true) {
+			SkuBlock block = current.get();
+			long value = block.take();
+			if (value >= 0) {
+				return value;
+			}
+			current.compareAndSet(block, blockSource.reserve());
+		}
+	}
+}
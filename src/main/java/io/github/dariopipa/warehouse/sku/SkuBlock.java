@@ -0,0 +1,31 @@
+package io.github.dariopipa.warehouse.sku;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A range of SKU counter values reserved for this node, handed out without
+ * locking.
+ */
+public final class SkuBlock {
+
+	static final SkuBlock EMPTY = new SkuBlock(0, 0);
+
+	private final AtomicLong next;
+	private final long end;
+
+	public SkuBlock(long start, long size) {
+		if (start < 0 || size < 0) {
+			throw new IllegalArgumentException("Invalid SKU block: start " + start + ", size " + size);
+		}
+		this.next = new AtomicLong(start);
+		this.end = start + size;
+	}
+
+	/**
+	 * @return the next unused value, or -1 once the block is exhausted
+	 */
+	long take() {
+		long value = next.getAndIncrement();
+		return value < end ? value : -1;
+	}
+}
@@ -0,0 +1,10 @@
+package io.github.dariopipa.warehouse.sku;
+
+/**
+ * Reserves ranges of SKU counter values. Ranges handed out by any node of the
+ * cluster must never overlap, now or after a restart.
+ */
+public interface SkuBlockSource {
+
+	SkuBlock reserve();
+}
@@ -0,0 +1,11 @@
+package io.github.dariopipa.warehouse.sku;
+
+/**
+ * Renders a SKU from a product and its allocated counter value. The counter is
+ * unique on its own, so a format stays collision free as long as it includes
+ * the counter unchanged.
+ */
+public interface SkuFormat {
+
+	String format(String productName, String productTypeName, long counter);
+}
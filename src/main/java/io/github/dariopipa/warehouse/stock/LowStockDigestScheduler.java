@@ -0,0 +1,36 @@
+package io.github.dariopipa.warehouse.stock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.github.dariopipa.warehouse.services.interfaces.StockAlertService;
+
+/**
+ * In digest mode, bundles the low stock alerts raised since the last run into
+ * one email every {@code stock.alert.digest-interval-ms}. A backlog larger than
+ * {@code stock.alert.digest-max-alerts} is split over several emails.
+ */
+@Component
+@ConditionalOnProperty(name = "stock.alert.mode", havingValue = "DIGEST")
+public class LowStockDigestScheduler {
+
+	private final StockAlertService stockAlertService;
+	private final int maxAlerts;
+
+	public LowStockDigestScheduler(StockAlertService stockAlertService,
+			@Value("${stock.alert.digest-max-alerts:500}") int maxAlerts) {
+		this.stockAlertService = stockAlertService;
+		this.maxAlerts = maxAlerts;
+	}
+
+	@Scheduled(fixedDelayString = "${stock.alert.digest-interval-ms:900000}",
+			initialDelayString = "${stock.alert.digest-interval-ms:900000}")
+	public void enqueueDigests() {
+		int bundled;
+		do {
+			bundled = stockAlertService.enqueueLowStockDigest(maxAlerts);
+		} while (bundled == maxAlerts);
+	}
+}
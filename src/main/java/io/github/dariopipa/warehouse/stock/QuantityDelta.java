@@ -0,0 +1,42 @@
+package io.github.dariopipa.warehouse.stock;
+
+import io.github.dariopipa.warehouse.enums.OperationsType;
+
+/**
+ * A single quantity change requested by a user.
+ */
+public class QuantityDelta {
+
+	private final Long productId;
+	private final int delta;
+	private final Long userId;
+	private final OperationsType operation;
+
+	public QuantityDelta(Long productId, int delta, Long userId, OperationsType operation) {
+		this.productId = productId;
+		this.delta = delta;
+		this.userId = userId;
+		this.operation = operation;
+	}
+
+	public static QuantityDelta of(Long productId, OperationsType operation, int quantity, Long userId) {
+		int delta = operation == OperationsType.INCREASE ? quantity : -quantity;
+		return new QuantityDelta(productId, delta, userId, operation);
+	}
+
+	public Long getProductId() {
+		return productId;
+	}
+
+	public int getDelta() {
+		return delta;
+	}
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public OperationsType getOperation() {
+		return operation;
+	}
+}
@@ -0,0 +1,263 @@
+package io.github.dariopipa.warehouse.stock;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import io.github.dariopipa.warehouse.audit.AuditLogger;
+import io.github.dariopipa.warehouse.enums.EntityType;
+import io.github.dariopipa.warehouse.exceptions.EntityNotFoundException;
+import io.github.dariopipa.warehouse.repositories.ProductRepository;
+import io.github.dariopipa.warehouse.repositories.StockLevel;
+import io.github.dariopipa.warehouse.services.interfaces.StockAlertService;
+import jakarta.transaction.Transactional;
+
+/**
+ * Applies quantity deltas to products together with their side effects (low
+ * stock alert and audit record) in one transaction. The quantity can never go
+ * below zero or past {@link Integer#MAX_VALUE}: the check is part of the UPDATE
+ * statement itself.
+ */
+@Component
+@Transactional
+public class QuantityDeltaApplier {
+
+	private static final String NEGATIVE_QUANTITY = "Product quantity cannot be reduced to less than 0";
+	private static final String TOO_LARGE = "Product quantity cannot exceed " + Integer.MAX_VALUE;
+
+	private final Logger logger = LoggerFactory.getLogger(QuantityDeltaApplier.class);
+
+	private final ProductRepository productRepository;
+	private final StockAlertService stockAlertService;
+	private final AuditLogger auditLogger;
+
+	public QuantityDeltaApplier(ProductRepository productRepository, StockAlertService stockAlertService,
+			AuditLogger auditLogger) {
+		this.productRepository = productRepository;
+		this.stockAlertService = stockAlertService;
+		this.auditLogger = auditLogger;
+	}
+
+	public StockLevel apply(QuantityDelta request) {
+		StockLevel stockLevel = productRepository.applyQuantityDelta(request.getProductId(), request.getDelta())
+				.orElseThrow(() -> rejection(request.getProductId(), request.getDelta()));
+
+		stockAlertService.alertStockLow(request.getProductId(), stockLevel.getQuantity(),
+				stockLevel.getLowStockThreshold());
+		audit(request, stockLevel);
+		return stockLevel;
+	}
+
+	/**
+	 * Applies the net delta of every product in one batched statement. When the
+	 * net delta of a product is rejected its requests are replayed one by one in
+	 * arrival order, so only the requests that would drive the stock negative
+	 * fail. A request that would drive the stock negative, or past
+	 * {@link Integer#MAX_VALUE}, part way through an accepted net delta is
+	 * rejected too, and the stock is corrected to leave it out. Rejected
+	 * requests do not roll back the others.
+	 *
+	 * @return one result per request, in the order given
+	 */
+	public List<QuantityDeltaResult> applyAll(List<QuantityDelta> requests) {
+		Map<QuantityDelta, QuantityDeltaResult> results = new IdentityHashMap<>(requests.size());
+		Map<Long, List<QuantityDelta>> byProduct = groupByProduct(requests);
+		Map<Long, Integer> netDeltas = netDeltas(byProduct, results);
+
+		Map<Long, StockLevel> applied = productRepository.applyQuantityDeltas(netDeltas);
+
+		byProduct.forEach((productId, productRequests) -> {
+			StockLevel finalLevel = applied.get(productId);
+			if (finalLevel != null) {
+				int quantity = distribute(productRequests, netDeltas.get(productId), finalLevel, results);
+				if (quantity != finalLevel.getQuantity()) {
+					finalLevel = correct(productId, quantity - finalLevel.getQuantity());
+				}
+			} else {
+				logger.debug("Net delta rejected for product {}, replaying {} requests", productId,
+						productRequests.size());
+				finalLevel = replay(productId, productRequests, results);
+			}
+
+			if (finalLevel != null) {
+				stockAlertService.alertStockLow(productId, finalLevel.getQuantity(), finalLevel.getLowStockThreshold());
+			}
+		});
+
+		return auditInOrder(requests, results);
+	}
+
+	/**
+	 * Applies the net delta of every product in one batched statement, or
+	 * nothing at all. When any product is missing, or any request applied in
+	 * arrival order would drive its stock negative or past
+	 * {@link Integer#MAX_VALUE}, the first such product in request order is
+	 * reported by the thrown exception and the transaction is rolled back.
+	 *
+	 * @return one result per request, in the order given, all of them applied
+	 */
+	public List<QuantityDeltaResult> applyAllOrNothing(List<QuantityDelta> requests) {
+		Map<QuantityDelta, QuantityDeltaResult> results = new IdentityHashMap<>(requests.size());
+		Map<Long, List<QuantityDelta>> byProduct = groupByProduct(requests);
+		Map<Long, Integer> netDeltas = netDeltas(byProduct, results);
+		throwFirstRejection(requests, results);
+
+		Map<Long, StockLevel> applied = productRepository.applyQuantityDeltas(netDeltas);
+		for (Long productId : byProduct.keySet()) {
+			if (!applied.containsKey(productId)) {
+				RuntimeException rejection = rejection(productId, netDeltas.get(productId));
+				throw rejection instanceof IllegalArgumentException
+						? new IllegalArgumentException(rejection.getMessage() + " for product id: " + productId)
+						: rejection;
+			}
+		}
+
+		byProduct.forEach((productId, productRequests) -> distribute(productRequests, netDeltas.get(productId),
+				applied.get(productId), results));
+		throwFirstRejection(requests, results);
+
+		for (Long productId : byProduct.keySet()) {
+			StockLevel finalLevel = applied.get(productId);
+			stockAlertService.alertStockLow(productId, finalLevel.getQuantity(), finalLevel.getLowStockThreshold());
+		}
+		return auditInOrder(requests, results);
+	}
+
+	private Map<Long, List<QuantityDelta>> groupByProduct(List<QuantityDelta> requests) {
+		Map<Long, List<QuantityDelta>> byProduct = new LinkedHashMap<>();
+		for (QuantityDelta request : requests) {
+			byProduct.computeIfAbsent(request.getProductId(), id -> new ArrayList<>()).add(request);
+		}
+		return byProduct;
+	}
+
+	// A request that would overflow the net delta of its product cannot be
+	// applied in any order; it is rejected up front and left out of the net.
+	private Map<Long, Integer> netDeltas(Map<Long, List<QuantityDelta>> byProduct,
+			Map<QuantityDelta, QuantityDeltaResult> results) {
+
+		Map<Long, Integer> netDeltas = new HashMap<>(byProduct.size() * 2);
+		byProduct.forEach((productId, productRequests) -> {
+			int netDelta = 0;
+			Iterator<QuantityDelta> iterator = productRequests.iterator();
+			while (iterator.hasNext()) {
+				QuantityDelta request = iterator.next();
+				try {
+					netDelta = Math.addExact(netDelta, request.getDelta());
+				} catch (ArithmeticException e) {
+					iterator.remove();
+					results.put(request, QuantityDeltaResult.rejected(request, new IllegalArgumentException(TOO_LARGE)));
+				}
+			}
+			netDeltas.put(productId, netDelta);
+		});
+		return netDeltas;
+	}
+
+	private void throwFirstRejection(List<QuantityDelta> requests, Map<QuantityDelta, QuantityDeltaResult> results) {
+		for (QuantityDelta request : requests) {
+			QuantityDeltaResult result = results.get(request);
+			if (result != null && !result.isApplied()) {
+				throw new IllegalArgumentException(
+						result.getError().getMessage() + " for product id: " + request.getProductId());
+			}
+		}
+	}
+
+	private List<QuantityDeltaResult> auditInOrder(List<QuantityDelta> requests,
+			Map<QuantityDelta, QuantityDeltaResult> results) {
+
+		List<QuantityDeltaResult> ordered = new ArrayList<>(requests.size());
+		for (QuantityDelta request : requests) {
+			QuantityDeltaResult result = results.get(request);
+			if (result.isApplied()) {
+				audit(request, result.getStockLevel());
+			}
+			ordered.add(result);
+		}
+		return ordered;
+	}
+
+	// Each request reports the quantity it produced, as if the requests had
+	// been applied one after another in arrival order. A request that would
+	// have taken the quantity below zero or past Integer.MAX_VALUE at that
+	// point is rejected, as it would have been on its own.
+	//
+	// Returns the quantity the accepted requests add up to, which differs from
+	// the one written by the net update when any request was rejected.
+	private int distribute(List<QuantityDelta> requests, int netDelta, StockLevel finalLevel,
+			Map<QuantityDelta, QuantityDeltaResult> results) {
+
+		long running = (long) finalLevel.getQuantity() - netDelta;
+		for (QuantityDelta request : requests) {
+			long next = running + request.getDelta();
+			if (next < 0 || next > Integer.MAX_VALUE) {
+				String message = next < 0 ? NEGATIVE_QUANTITY : TOO_LARGE;
+				results.put(request, QuantityDeltaResult.rejected(request, new IllegalArgumentException(message)));
+				continue;
+			}
+
+			running = next;
+			results.put(request, QuantityDeltaResult.applied(request,
+					new StockLevel((int) running, finalLevel.getLowStockThreshold(), finalLevel.getVersion())));
+		}
+		return (int) running;
+	}
+
+	// The corrected quantity is one the requests reached in order, so it is
+	// within range and the conditional update cannot fail. The row is still
+	// locked by the net update.
+	private StockLevel correct(Long productId, int delta) {
+		return productRepository.applyQuantityDelta(productId, delta)
+				.orElseThrow(() -> new IllegalStateException("Could not correct quantity of product " + productId));
+	}
+
+	private StockLevel replay(Long productId, List<QuantityDelta> requests,
+			Map<QuantityDelta, QuantityDeltaResult> results) {
+
+		StockLevel lastApplied = null;
+		Boolean exists = null;
+		for (QuantityDelta request : requests) {
+			StockLevel stockLevel = productRepository.applyQuantityDelta(productId, request.getDelta()).orElse(null);
+			if (stockLevel != null) {
+				lastApplied = stockLevel;
+				results.put(request, QuantityDeltaResult.applied(request, stockLevel));
+				continue;
+			}
+
+			if (exists == null) {
+				exists = productRepository.existsById(productId);
+			}
+			results.put(request,
+					QuantityDeltaResult.rejected(request, rejection(productId, request.getDelta(), exists)));
+		}
+		return lastApplied;
+	}
+
+	private RuntimeException rejection(Long productId, int delta) {
+		return rejection(productId, delta, productRepository.existsById(productId));
+	}
+
+	// An existing product only rejects a delta that would take its quantity
+	// out of range, below zero for a decrease or past Integer.MAX_VALUE for an
+	// increase.
+	private RuntimeException rejection(Long productId, int delta, boolean exists) {
+		if (!exists) {
+			return new EntityNotFoundException("Product not found with id: " + productId);
+		}
+		return new IllegalArgumentException(delta > 0 ? TOO_LARGE : NEGATIVE_QUANTITY);
+	}
+
+	private void audit(QuantityDelta request, StockLevel stockLevel) {
+		auditLogger.logQuantityUpdate(request.getUserId(), EntityType.PRODUCT, request.getProductId(),
+				request.getOperation(), stockLevel.getQuantity());
+	}
+}
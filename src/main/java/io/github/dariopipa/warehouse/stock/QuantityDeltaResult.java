@@ -0,0 +1,44 @@
+package io.github.dariopipa.warehouse.stock;
+
+import io.github.dariopipa.warehouse.repositories.StockLevel;
+
+/**
+ * Outcome of one {@link QuantityDelta}: either the stock level right after it
+ * was applied, or the reason it was rejected.
+ */
+public class QuantityDeltaResult {
+
+	private final QuantityDelta request;
+	private final StockLevel stockLevel;
+	private final RuntimeException error;
+
+	private QuantityDeltaResult(QuantityDelta request, StockLevel stockLevel, RuntimeException error) {
+		this.request = request;
+		this.stockLevel = stockLevel;
+		this.error = error;
+	}
+
+	public static QuantityDeltaResult applied(QuantityDelta request, StockLevel stockLevel) {
+		return new QuantityDeltaResult(request, stockLevel, null);
+	}
+
+	public static QuantityDeltaResult rejected(QuantityDelta request, RuntimeException error) {
+		return new QuantityDeltaResult(request, null, error);
+	}
+
+	public boolean isApplied() {
+		return error == null;
+	}
+
+	public QuantityDelta getRequest() {
+		return request;
+	}
+
+	public StockLevel getStockLevel() {
+		return stockLevel;
+	}
+
+	public RuntimeException getError() {
+		return error;
+	}
+}
@@ -0,0 +1,104 @@
+package io.github.dariopipa.warehouse.stock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.github.dariopipa.warehouse.cache.CacheInvalidation;
+import io.github.dariopipa.warehouse.cache.CacheInvalidationBus;
+import io.github.dariopipa.warehouse.enums.EntityType;
+import io.github.dariopipa.warehouse.enums.StockAlertState;
+import io.github.dariopipa.warehouse.repositories.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Tracks whether each product's low stock alert is armed or has fired, so an
+ * alert fires once when the stock drops below its threshold and again only
+ * after a restock to the threshold or above has re-armed it.
+ *
+ * <p>
+ * The state is persisted on the product row and changed with a conditional
+ * update. Callers hold the product row lock from their quantity update, so
+ * transitions of one product are serialized across instances. The last known
+ * state is kept in memory: a product that stays below its threshold does not
+ * touch the database again until it is restocked. Each transition is published
+ * on the {@link CacheInvalidationBus} so other instances drop their copy.
+ */
+@Component
+public class StockAlertStateTracker {
+
+	private final ProductRepository productRepository;
+	private final CacheInvalidationBus invalidationBus;
+	private final Cache<Long, StockAlertState> states;
+
+	public StockAlertStateTracker(ProductRepository productRepository, CacheInvalidationBus invalidationBus,
+			MeterRegistry meterRegistry, @Value("${stock.alert.state-cache-size:100000}") long maxSize) {
+		this.productRepository = productRepository;
+		this.invalidationBus = invalidationBus;
+		this.states = Caffeine.newBuilder().maximumSize(maxSize).recordStats().build();
+
+		CaffeineCacheMetrics.monitor(meterRegistry, states, "stock_alerts.state");
+	}
+
+	/**
+	 * @return whether the alert was armed and has now fired
+	 */
+	public boolean fire(Long productId) {
+		return transition(productId, StockAlertState.FIRED);
+	}
+
+	/**
+	 * @return whether the alert had fired and is now armed again
+	 */
+	public boolean rearm(Long productId) {
+		return transition(productId, StockAlertState.ARMED);
+	}
+
+	@EventListener
+	public void onInvalidation(CacheInvalidation invalidation) {
+		if (invalidation.getEntityType() != EntityType.STOCK_ALERT) {
+			return;
+		}
+
+		if (invalidation.isAll()) {
+			states.invalidateAll();
+		} else {
+			states.invalidate(invalidation.getId());
+		}
+	}
+
+	private boolean transition(Long productId, StockAlertState state) {
+		if (states.getIfPresent(productId) == state) {
+			return false;
+		}
+
+		boolean changed = productRepository.updateStockAlertState(productId, state);
+		if (changed) {
+			invalidationBus.publish(new CacheInvalidation(EntityType.STOCK_ALERT, productId, null));
+		}
+		remember(productId, state);
+		return changed;
+	}
+
+	// Recorded while the row lock is still held, so the cache sees transitions
+	// in commit order; a rollback drops the entry again.
+	private void remember(Long productId, StockAlertState state) {
+		states.put(productId, state);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					if (status != STATUS_COMMITTED) {
+						states.invalidate(productId);
+					}
+				}
+			});
+		}
+	}
+}
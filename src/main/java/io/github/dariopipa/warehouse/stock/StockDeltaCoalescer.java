@@ -0,0 +1,239 @@
+package io.github.dariopipa.warehouse.stock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.github.dariopipa.warehouse.exceptions.ServiceUnavailableException;
+import io.github.dariopipa.warehouse.repositories.StockLevel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write-behind buffer for quantity updates on hot products. Requests are
+ * collected in lock-striped buckets keyed by product id and flushed every
+ * {@code stock.coalescing.flush-interval-ms}, so many concurrent updates of the
+ * same product cost one row update per flush instead of one row lock each.
+ * Callers block until the flush containing their request has committed, for
+ * at most {@code stock.coalescing.wait-timeout-ms}. While the flusher is not
+ * running (disabled or shut down) requests are applied directly.
+ */
+@Component
+public class StockDeltaCoalescer {
+
+	private final Logger logger = LoggerFactory.getLogger(StockDeltaCoalescer.class);
+
+	private final QuantityDeltaApplier quantityDeltaApplier;
+	private final boolean enabled;
+	private final long flushIntervalMs;
+	private final long waitTimeoutMs;
+	private final Stripe[] stripes;
+
+	private final Counter coalescedCounter;
+	private final DistributionSummary batchSizeSummary;
+	private final Timer flushTimer;
+
+	private ScheduledExecutorService flusher;
+	// Read under the stripe lock by submit(), so a request is either buffered
+	// before the last flush drains its stripe or applied directly
+	private volatile boolean running;
+
+	public StockDeltaCoalescer(QuantityDeltaApplier quantityDeltaApplier, MeterRegistry meterRegistry,
+			@Value("${stock.coalescing.enabled:false}") boolean enabled,
+			@Value("${stock.coalescing.flush-interval-ms:5}") long flushIntervalMs,
+			@Value("${stock.coalescing.stripes:16}") int stripeCount,
+			@Value("${stock.coalescing.wait-timeout-ms:5000}") long waitTimeoutMs) {
+		this.quantityDeltaApplier = quantityDeltaApplier;
+		this.enabled = enabled;
+		this.flushIntervalMs = flushIntervalMs;
+		this.waitTimeoutMs = waitTimeoutMs;
+		this.stripes = new Stripe[stripeCount];
+		for (int i = 0; i < stripeCount; i++) {
+			stripes[i] = new Stripe();
+		}
+
+		this.coalescedCounter = meterRegistry.counter("stock.coalescer.requests");
+		this.batchSizeSummary = meterRegistry.summary("stock.coalescer.batch.size");
+		this.flushTimer = meterRegistry.timer("stock.coalescer.flush");
+	}
+
+	@PostConstruct
+	public void start() {
+		if (!enabled) {
+			return;
+		}
+
+		flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "stock-delta-flusher");
+			thread.setDaemon(true);
+			return thread;
+		});
+		running = true;
+		flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+		logger.info("Stock delta coalescing enabled - flushInterval: {} ms, stripes: {}", flushIntervalMs,
+				stripes.length);
+	}
+
+	@PreDestroy
+	public void stop() {
+		if (flusher == null) {
+			return;
+		}
+
+		running = false;
+		flusher.shutdown();
+		try {
+			flusher.awaitTermination(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		// Requests submitted while the flusher was shutting down
+		flush();
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public CompletableFuture<StockLevel> submit(QuantityDelta request) {
+		PendingDelta pending = new PendingDelta(request);
+		Stripe stripe = stripeOf(request);
+
+		stripe.lock.lock();
+		try {
+			if (running) {
+				stripe.pending.add(pending);
+				coalescedCounter.increment();
+				return pending.result;
+			}
+		} finally {
+			stripe.lock.unlock();
+		}
+
+		try {
+			return CompletableFuture.completedFuture(quantityDeltaApplier.apply(request));
+		} catch (RuntimeException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+
+	/**
+	 * Submits the request and waits for the flush that applies it.
+	 *
+	 * @throws IllegalArgumentException    if the request would drive the stock
+	 *                                     below zero
+	 * @throws ServiceUnavailableException if no flush applied it in time
+	 */
+	public StockLevel apply(QuantityDelta request) {
+		CompletableFuture<StockLevel> result = submit(request);
+		try {
+			return result.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw new IllegalStateException("Stock delta flush failed", e.getCause());
+		} catch (TimeoutException e) {
+			throw waitFailed(request, result, "Timed out waiting for quantity update of product ");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw waitFailed(request, result, "Interrupted waiting for quantity update of product ");
+		}
+	}
+
+	// Withdraws the request if it is still buffered, so the caller's error
+	// means it was not applied. Once drained it is part of a flush in progress
+	// and may still be applied.
+	private ServiceUnavailableException waitFailed(QuantityDelta request, CompletableFuture<StockLevel> result,
+			String message) {
+		Stripe stripe = stripeOf(request);
+		boolean withdrawn;
+		stripe.lock.lock();
+		try {
+			withdrawn = stripe.pending.removeIf(pending -> pending.result == result);
+		} finally {
+			stripe.lock.unlock();
+		}
+
+		logger.warn("{}{} after {} ms, withdrawn: {}", message, request.getProductId(), waitTimeoutMs, withdrawn);
+		return new ServiceUnavailableException(message + request.getProductId()
+				+ (withdrawn ? ", it was not applied" : ", it may still be applied"));
+	}
+
+	void flush() {
+		List<PendingDelta> batch = drain();
+		if (batch.isEmpty()) {
+			return;
+		}
+
+		List<QuantityDelta> requests = new ArrayList<>(batch.size());
+		batch.forEach(pending -> requests.add(pending.request));
+
+		try {
+			List<QuantityDeltaResult> results = flushTimer.record(() -> quantityDeltaApplier.applyAll(requests));
+			for (int i = 0; i < batch.size(); i++) {
+				QuantityDeltaResult result = results.get(i);
+				if (result.isApplied()) {
+					batch.get(i).result.complete(result.getStockLevel());
+				} else {
+					batch.get(i).result.completeExceptionally(result.getError());
+				}
+			}
+			batchSizeSummary.record(batch.size());
+		} catch (Throwable e) {
+			// Never rethrown: the scheduler would silently stop running flush()
+			// and every later caller would wait for nothing.
+			logger.error("Failed to flush {} stock deltas: {}", batch.size(), e.getMessage(), e);
+			batch.forEach(pending -> pending.result.completeExceptionally(e));
+		}
+	}
+
+	private Stripe stripeOf(QuantityDelta request) {
+		return stripes[Math.floorMod(request.getProductId().hashCode(), stripes.length)];
+	}
+
+	private List<PendingDelta> drain() {
+		List<PendingDelta> batch = new ArrayList<>();
+		for (Stripe stripe : stripes) {
+			stripe.lock.lock();
+			try {
+				if (!stripe.pending.isEmpty()) {
+					batch.addAll(stripe.pending);
+					stripe.pending.clear();
+				}
+			} finally {
+				stripe.lock.unlock();
+			}
+		}
+		return batch;
+	}
+
+	private static final class Stripe {
+		private final ReentrantLock lock = new ReentrantLock();
+		private final List<PendingDelta> pending = new ArrayList<>();
+	}
+
+	private static final class PendingDelta {
+		private final QuantityDelta request;
+		private final CompletableFuture<StockLevel> result = new CompletableFuture<>();
+
+		private PendingDelta(QuantityDelta request) {
+			this.request = request;
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package io.github.dariopipa.warehouse.utils;
+
+import java.time.Instant;
+
+import io.github.dariopipa.warehouse.exceptions.PreconditionFailedException;
+
+/**
+ * Validators for the {@code ETag}, {@code Last-Modified} and conditional
+ * request headers. Tags are strong and derived from an entity's
+ * {@code @Version}; a representation that embeds another entity, like a
+ * product showing its type name, tags both versions as {@code "3.1"}.
+ */
+public class EntityTags {
+
+	private EntityTags() {
+	}
+
+	public static String of(Long version) {
+		return "\"" + version + "\"";
+	}
+
+	public static String of(Long version, Long relatedVersion) {
+		return "\"" + version + "." + relatedVersion + "\"";
+	}
+
+	/**
+	 * @return the latest of the given timestamps in epoch milliseconds, or -1
+	 *         when none is known
+	 */
+	public static long lastModified(Instant... timestamps) {
+		long lastModified = -1;
+		for (Instant timestamp : timestamps) {
+			if (timestamp != null) {
+				lastModified = Math.max(lastModified, timestamp.toEpochMilli());
+			}
+		}
+		return lastModified;
+	}
+
+	/**
+	 * Reads the version a client expects from an {@code If-Match} header. For a
+	 * compound tag only the first version counts: a change to an embedded
+	 * entity does not conflict with an update of the entity itself.
+	 *
+	 * @return the expected version, or null when the header is absent or
+	 *         {@code *} and any current version is accepted
+	 * @throws PreconditionFailedException when the tag is weak or was not issued
+	 *                                     by this service, since it can never
+	 *                                     match
+	 * @throws IllegalArgumentException    when the header lists more than one
+	 *                                     tag
+	 */
+	public static Long parseIfMatch(String ifMatch) {
+		if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+			return null;
+		}
+
+		String tag = ifMatch.trim();
+		if (tag.indexOf(',') >= 0) {
+			throw new IllegalArgumentException("If-Match must contain a single entity tag");
+		}
+		if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+			throw new PreconditionFailedException("If-Match does not match the current entity tag");
+		}
+
+		String value = tag.substring(1, tag.length() - 1);
+		int separator = value.indexOf('.');
+		try {
+			if (separator >= 0) {
+				Long.parseLong(value.substring(separator + 1));
+				value = value.substring(0, separator);
+			}
+			return Long.valueOf(value);
+		} catch (NumberFormatException e) {
+			throw new PreconditionFailedException("If-Match does not match the current entity tag");
+		}
+	}
+}
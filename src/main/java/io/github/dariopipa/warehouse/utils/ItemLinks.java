@@ -0,0 +1,44 @@
+package io.github.dariopipa.warehouse.utils;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+
+/**
+ * Stamps per-item links for collection responses. The controller base URI is
+ * resolved once per request; each item link is then a plain string
+ * concatenation instead of a {@code linkTo(methodOn(...))} proxy invocation
+ * and URI template expansion.
+ */
+public class ItemLinks {
+
+	private final String baseUri;
+
+	private ItemLinks(String baseUri) {
+		this.baseUri = baseUri;
+	}
+
+	/**
+	 * Resolves the base URI of {@code controller} against the current request.
+	 */
+	public static ItemLinks forController(Class<?> controller) {
+		return new ItemLinks(linkTo(controller).toUri().toString());
+	}
+
+	public Link self(Long id) {
+		return Link.of(itemUri(id), IanaLinkRelations.SELF);
+	}
+
+	public Link item(Long id, String rel) {
+		return Link.of(itemUri(id), rel);
+	}
+
+	public Link item(Long id, String path, String rel) {
+		return Link.of(itemUri(id) + path, rel);
+	}
+
+	private String itemUri(Long id) {
+		return baseUri + '/' + id;
+	}
+}
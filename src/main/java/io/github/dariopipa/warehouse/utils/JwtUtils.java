@@ -1,35 +1,74 @@
 package io.github.dariopipa.warehouse.utils;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import javax.crypto.SecretKey;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.github.dariopipa.warehouse.entities.Roles;
 import io.github.dariopipa.warehouse.entities.User;
+import io.github.dariopipa.warehouse.enums.RolesEnum;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.annotation.PostConstruct;
 
 @Component
 public class JwtUtils {
 
+	private static final String ID_CLAIM = "id";
+	private static final String ROLES_CLAIM = "roles";
+
 	@Value("${jwt.secret}")
 	private String jwtSecret;
 
 	@Value("${jwt.expirationMs}")
 	private long jwtExpirationMs;
 
+	@Value("${jwt.claims-cache.max-size:10000}")
+	private long claimsCacheMaxSize;
+
+	private final MeterRegistry meterRegistry;
 	private SecretKey key;
+	private JwtParser parser;
+	private Cache<ByteBuffer, Claims> claimsCache;
+
+	public JwtUtils(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
 
 	@PostConstruct
 	public void init() {
 		key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+		parser = Jwts.parser().verifyWith(key).build();
+
+		// Verified claims keyed by a digest of the token, so the same bearer
+		// token is only verified and decoded once. Entries expire with the token.
+		claimsCache = Caffeine.newBuilder().maximumSize(claimsCacheMaxSize).expireAfter(new TokenExpiry())
+				.recordStats().build();
+		CaffeineCacheMetrics.monitor(meterRegistry, claimsCache, "jwt.claims");
 	}
 
 	public String generateJwtToken(Authentication authentication) {
@@ -39,12 +78,93 @@ public class JwtUtils {
 		Date now = new Date();
 		Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
-		return Jwts.builder().subject(user.getUsername()).claim("id", userId).issuedAt(now).expiration(expiryDate)
+		return Jwts.builder().subject(user.getUsername()).claim(ID_CLAIM, userId)
+				.claim(ROLES_CLAIM, roleNames(user.getAuthorities())).issuedAt(now).expiration(expiryDate)
 				.signWith(key).compact();
 	}
 
+	/**
+	 * Verifies the signature and expiration of the token and returns its claims.
+	 *
+	 * @throws JwtException if the token is invalid or expired
+	 */
+	public Claims parseClaims(String token) {
+		return parseToken(token);
+	}
+
+	/**
+	 * Builds the authenticated principal from the id and roles embedded in the
+	 * token, without loading the user from the database.
+	 *
+	 * @return empty for tokens issued without these claims
+	 */
+	public Optional<User> getUserFromClaims(Claims claims) {
+		Long userId = claims.get(ID_CLAIM, Long.class);
+		List<?> roleNames = claims.get(ROLES_CLAIM, List.class);
+		if (userId == null || roleNames == null) {
+			return Optional.empty();
+		}
+
+		Set<Roles> roles = new HashSet<>();
+		for (Object roleName : roleNames) {
+			Roles role = new Roles();
+			role.setRole(RolesEnum.valueOf(roleName.toString()));
+			roles.add(role);
+		}
+
+		User user = new User();
+		user.setId(userId);
+		user.setUsername(claims.getSubject());
+		user.setRoles(roles);
+		return Optional.of(user);
+	}
+
 	private Claims parseToken(String token) {
-		return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+		if (token == null || token.isBlank()) {
+			throw new IllegalArgumentException("JWT token must not be empty");
+		}
+		return claimsCache.get(digest(token), ignored -> verify(token));
+	}
+
+	private Claims verify(String token) {
+		return parser.parseSignedClaims(token).getPayload();
+	}
+
+	private ByteBuffer digest(String token) {
+		try {
+			return ByteBuffer.wrap(
+					MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
+	private final class TokenExpiry implements Expiry<ByteBuffer, Claims> {
+
+		@Override
+		public long expireAfterCreate(ByteBuffer key, Claims claims, long currentTime) {
+			Date expiration = claims.getExpiration();
+			long remainingMs = expiration != null ? expiration.getTime() - System.currentTimeMillis()
+					: jwtExpirationMs;
+			return Duration.ofMillis(Math.max(0, Math.min(remainingMs, jwtExpirationMs))).toNanos();
+		}
+
+		@Override
+		public long expireAfterUpdate(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+
+		@Override
+		public long expireAfterRead(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
+
+	private List<String> roleNames(Collection<? extends GrantedAuthority> authorities) {
+		if (authorities == null) {
+			return List.of();
+		}
+		return authorities.stream().map(GrantedAuthority::getAuthority).toList();
 	}
 
 	public String getUsernameFromToken(String token) {
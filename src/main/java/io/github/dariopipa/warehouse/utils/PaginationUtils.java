@@ -1,6 +1,9 @@
 package io.github.dariopipa.warehouse.utils;
 
+import java.util.List;
+
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import io.github.dariopipa.warehouse.dtos.responses.PaginatedResponse;
 
@@ -25,4 +28,59 @@ public class PaginationUtils {
 		return response;
 	}
 
+	/**
+	 * Builds a response for a page read without a count query. The slice fetched
+	 * one extra row to know whether a next page exists, so totals are left out.
+	 */
+	public static <T> PaginatedResponse<T> buildSliceResponse(Slice<T> sliceData) {
+
+		PaginatedResponse<T> response = new PaginatedResponse<>();
+
+		response.setData(sliceData.getContent());
+		response.setCurrentPage(sliceData.getNumber());
+		response.setPageSize(sliceData.getSize());
+		response.setHasNext(sliceData.hasNext());
+		response.setHasPrevious(sliceData.hasPrevious());
+
+		return response;
+	}
+
+	/**
+	 * Builds a response for a slice with totals taken from a row estimate. The
+	 * estimate is raised to cover the rows the slice proves to exist, and
+	 * {@code hasNext} always comes from the slice itself.
+	 */
+	public static <T> PaginatedResponse<T> buildApproximateResponse(Slice<T> sliceData, long estimatedTotal) {
+
+		PaginatedResponse<T> response = buildSliceResponse(sliceData);
+
+		long seen = (long) sliceData.getNumber() * sliceData.getSize() + sliceData.getNumberOfElements()
+				+ (sliceData.hasNext() ? 1 : 0);
+		long totalItems = Math.max(estimatedTotal, seen);
+
+		response.setTotalItems(totalItems);
+		response.setTotalPages((int) ((totalItems + sliceData.getSize() - 1) / sliceData.getSize()));
+		response.setApproximateTotals(true);
+
+		return response;
+	}
+
+	/**
+	 * Builds a response for a keyset page. Totals and page numbers are left out:
+	 * clients walk the collection with {@code nextCursor} instead.
+	 */
+	public static <T> PaginatedResponse<T> buildCursorResponse(List<T> data, int pageSize, boolean hasNext,
+			String nextCursor, boolean hasPrevious) {
+
+		PaginatedResponse<T> response = new PaginatedResponse<>();
+
+		response.setData(data);
+		response.setPageSize(pageSize);
+		response.setHasNext(hasNext);
+		response.setHasPrevious(hasPrevious);
+		response.setNextCursor(hasNext ? nextCursor : null);
+
+		return response;
+	}
+
 }
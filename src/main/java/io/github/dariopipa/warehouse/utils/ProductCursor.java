@@ -0,0 +1,74 @@
+package io.github.dariopipa.warehouse.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.data.domain.ScrollPosition;
+
+import io.github.dariopipa.warehouse.dtos.responses.ProductGetOneResponseDTO;
+import io.github.dariopipa.warehouse.enums.ProductSortByEnum;
+import io.github.dariopipa.warehouse.enums.SortDirectionEnum;
+
+/**
+ * Opaque keyset cursor for the product collection. It carries the sort key and
+ * id of the last product of a page, so the next page starts right after it
+ * without an OFFSET scan.
+ */
+public class ProductCursor {
+
+	private static final char SEPARATOR = ':';
+
+	private final ProductSortByEnum sortBy;
+	private final long id;
+	private final Object sortValue;
+
+	private ProductCursor(ProductSortByEnum sortBy, long id, Object sortValue) {
+		this.sortBy = sortBy;
+		this.id = id;
+		this.sortValue = sortValue;
+	}
+
+	public static String encode(ProductSortByEnum sortBy, SortDirectionEnum direction,
+			ProductGetOneResponseDTO lastProduct) {
+		Object sortValue = sortBy == ProductSortByEnum.name ? lastProduct.getName() : lastProduct.getCreatedAt();
+		String raw = sortBy.name() + SEPARATOR + direction.name() + SEPARATOR + lastProduct.getId() + SEPARATOR
+				+ sortValue;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * @throws IllegalArgumentException if the cursor is malformed or was issued
+	 *                                  for a different sort
+	 */
+	public static ProductCursor decode(String cursor, ProductSortByEnum sortBy, SortDirectionEnum direction) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			String[] parts = raw.split(String.valueOf(SEPARATOR), 4);
+			if (parts.length != 4) {
+				throw new IllegalArgumentException("Invalid cursor");
+			}
+
+			ProductSortByEnum cursorSortBy = ProductSortByEnum.valueOf(parts[0]);
+			SortDirectionEnum cursorDirection = SortDirectionEnum.valueOf(parts[1]);
+			if (cursorSortBy != sortBy || cursorDirection != direction) {
+				throw new IllegalArgumentException("Cursor does not match the requested sort");
+			}
+
+			Object sortValue = sortBy == ProductSortByEnum.name ? parts[3] : Instant.parse(parts[3]);
+			return new ProductCursor(sortBy, Long.parseLong(parts[2]), sortValue);
+		} catch (DateTimeParseException e) {
+			throw new IllegalArgumentException("Invalid cursor", e);
+		}
+	}
+
+	public ScrollPosition toScrollPosition() {
+		Map<String, Object> keys = new LinkedHashMap<>();
+		keys.put(sortBy.getProperty(), sortValue);
+		keys.put("id", id);
+		return ScrollPosition.forward(keys);
+	}
+}
@@ -0,0 +1,176 @@
+package io.github.dariopipa.warehouse.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.github.dariopipa.warehouse.enums.AuditAction;
+import io.github.dariopipa.warehouse.enums.AuditOverflowPolicy;
+import io.github.dariopipa.warehouse.enums.EntityType;
+import io.github.dariopipa.warehouse.events.AuditLogEvent;
+import io.github.dariopipa.warehouse.services.interfaces.AuditLogService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogWriterTest {
+
+	@Mock
+	private AuditLogService auditLogService;
+
+	private SimpleMeterRegistry meterRegistry;
+	private AuditLogWriter writer;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (writer != null) {
+			writer.stop();
+		}
+	}
+
+	private AuditLogWriter createWriter(boolean async, int capacity, int batchSize, long flushIntervalMs,
+			AuditOverflowPolicy policy) {
+		writer = new AuditLogWriter(auditLogService, meterRegistry, async, capacity, batchSize, flushIntervalMs,
+				1000, policy);
+		writer.start();
+		return writer;
+	}
+
+	private AuditLogEvent event(long entityId) {
+		return new AuditLogEvent(1L, AuditAction.UPDATE, EntityType.PRODUCT, entityId, "details");
+	}
+
+	@Test
+	void test_Submit_WhenSynchronous_ShouldWriteImmediately() {
+		createWriter(false, 10, 10, 50, AuditOverflowPolicy.BLOCK);
+
+		writer.submit(event(1L));
+
+		verify(auditLogService).saveAll(argThat(events -> events.size() == 1));
+	}
+
+	@Test
+	void test_Submit_WhenBatchIsFull_ShouldFlushInOneBatch() throws InterruptedException {
+		CountDownLatch flushed = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			List<?> events = invocation.getArgument(0);
+			assertEquals(5, events.size());
+			flushed.countDown();
+			return null;
+		}).when(auditLogService).saveAll(anyList());
+		createWriter(true, 100, 5, 10_000, AuditOverflowPolicy.BLOCK);
+
+		for (long i = 0; i < 5; i++) {
+			writer.submit(event(i));
+		}
+
+		assertEquals(true, flushed.await(5, TimeUnit.SECONDS));
+		writer.stop();
+		writer = null;
+		assertEquals(5.0, meterRegistry.counter("audit.writer.events.written").count());
+	}
+
+	@Test
+	void test_Submit_WhenFlushIntervalElapses_ShouldFlushPartialBatch() throws InterruptedException {
+		CountDownLatch flushed = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			flushed.countDown();
+			return null;
+		}).when(auditLogService).saveAll(anyList());
+		createWriter(true, 100, 50, 20, AuditOverflowPolicy.BLOCK);
+
+		writer.submit(event(1L));
+
+		assertEquals(true, flushed.await(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void test_Stop_ShouldDrainQueuedEvents() {
+		createWriter(true, 100, 50, 50, AuditOverflowPolicy.BLOCK);
+
+		for (long i = 0; i < 3; i++) {
+			writer.submit(event(i));
+		}
+		writer.stop();
+		writer = null;
+
+		verify(auditLogService, times(1)).saveAll(anyList());
+	}
+
+	@Test
+	void test_Submit_WhenQueueFullAndDropOldest_ShouldCountDroppedEvents() throws InterruptedException {
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch writing = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			writing.countDown();
+			release.await(5, TimeUnit.SECONDS);
+			return null;
+		}).when(auditLogService).saveAll(anyList());
+		createWriter(true, 1, 1, 10, AuditOverflowPolicy.DROP_OLDEST);
+
+		writer.submit(event(1L));
+		writing.await(5, TimeUnit.SECONDS);
+		writer.submit(event(2L));
+		writer.submit(event(3L));
+		release.countDown();
+
+		assertEquals(1.0, meterRegistry.counter("audit.writer.events.dropped").count());
+	}
+
+	@Test
+	void test_Submit_WhenQueueFullAndSynchronous_ShouldWriteOnCallerThread() throws InterruptedException {
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch writing = new CountDownLatch(1);
+		Thread callerThread = Thread.currentThread();
+		doAnswer(invocation -> {
+			if (Thread.currentThread() != callerThread) {
+				writing.countDown();
+				release.await(5, TimeUnit.SECONDS);
+			}
+			return null;
+		}).when(auditLogService).saveAll(anyList());
+		createWriter(true, 1, 1, 10, AuditOverflowPolicy.SYNCHRONOUS);
+
+		writer.submit(event(1L));
+		writing.await(5, TimeUnit.SECONDS);
+		writer.submit(event(2L));
+		writer.submit(event(3L));
+		release.countDown();
+
+		assertEquals(1.0, meterRegistry.counter("audit.writer.events.synchronous").count());
+	}
+
+	@Test
+	void test_Submit_WhenBatchWriteFails_ShouldRetryEventsOneByOne() {
+		doThrow(new RuntimeException("boom")).doNothing().when(auditLogService).saveAll(anyList());
+		createWriter(true, 100, 2, 10_000, AuditOverflowPolicy.BLOCK);
+
+		writer.submit(event(1L));
+		writer.submit(event(2L));
+
+		verify(auditLogService, timeout(5000).times(3)).saveAll(anyList());
+		verify(auditLogService, never()).save(any());
+	}
+}
@@ -1,15 +1,19 @@
 package io.github.dariopipa.warehouse.audit;
 
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.ArgumentMatchers;
 import org.springframework.context.ApplicationEventPublisher;
 
 import io.github.dariopipa.warehouse.enums.AuditAction;
@@ -113,4 +117,22 @@ class AuditLoggerTest {
 		verify(publisher, times(1)).publishEvent(
 				argThat((AuditLogEvent event) -> event.getDetails().contains("User 1 create a user with ID 100")));
 	}
+
+	@Test
+	void testLogBulk_ShouldPublishOneEventPerEntity() {
+		auditLogger.logBulk(userId, AuditAction.CREATE, EntityType.PRODUCT, List.of(100L, 103L, 150L));
+
+		verify(publisher, times(3)).publishEvent(ArgumentMatchers.<Object>any());
+		for (Long id : List.of(100L, 103L, 150L)) {
+			verify(publisher).publishEvent(argThat((AuditLogEvent event) -> event.getEntityId().equals(id)
+					&& event.getDetails().contains("User 1 bulk create a product with ID " + id)));
+		}
+	}
+
+	@Test
+	void testLogBulk_WithNoEntities_ShouldNotPublish() {
+		auditLogger.logBulk(userId, AuditAction.CREATE, EntityType.PRODUCT, List.of());
+
+		verify(publisher, never()).publishEvent(ArgumentMatchers.<Object>any());
+	}
 }
@@ -0,0 +1,86 @@
+package io.github.dariopipa.warehouse.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+class CacheLoadsTest {
+
+	private final AsyncCache<Long, String> cache = Caffeine.newBuilder().buildAsync();
+	private final AtomicInteger loads = new AtomicInteger();
+
+	@Test
+	void get_ShouldLoadOnce_AndServeLaterCallsFromCache() {
+		assertEquals("value-1", CacheLoads.get(cache, 1L, this::load));
+		assertEquals("value-1", CacheLoads.get(cache, 1L, this::load));
+
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void get_ShouldNotCacheNullsOrFailures() {
+		assertNull(CacheLoads.get(cache, 1L, key -> null));
+		assertThrows(IllegalStateException.class, () -> CacheLoads.get(cache, 1L, key -> {
+			throw new IllegalStateException("boom");
+		}));
+
+		assertEquals("value-1", CacheLoads.get(cache, 1L, this::load));
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void get_ShouldShareInFlightLoad_AndNotRestoreEntryInvalidatedMeanwhile() throws Exception {
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+		try {
+			Future<String> first = executor.submit(() -> CacheLoads.get(cache, 1L, key -> {
+				loading.countDown();
+				await(release);
+				return load(key);
+			}));
+			loading.await();
+
+			// Other callers find the pending load instead of starting their own.
+			CompletableFuture<String> pending = cache.getIfPresent(1L);
+			assertFalse(pending.isDone());
+
+			cache.synchronous().invalidate(1L);
+			release.countDown();
+
+			assertEquals("value-1", first.get());
+			assertEquals("value-1", pending.get());
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertNull(cache.getIfPresent(1L));
+		assertEquals(1, loads.get());
+	}
+
+	private String load(Long key) {
+		loads.incrementAndGet();
+		return "value-" + key;
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,134 @@
+package io.github.dariopipa.warehouse.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.github.dariopipa.warehouse.enums.EntityType;
+
+@ExtendWith(MockitoExtension.class)
+class PostgresCacheInvalidationBusTest {
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	@Mock
+	private JdbcConnectionDetails connectionDetails;
+
+	@Mock
+	private ApplicationEventPublisher publisher;
+
+	private PostgresCacheInvalidationBus bus;
+
+	@BeforeEach
+	void setUp() {
+		bus = new PostgresCacheInvalidationBus(jdbcTemplate, connectionDetails, publisher, "warehouse_cache", 500,
+				5000);
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void publish_ShouldNotifyImmediately_WhenNoTransaction() {
+		bus.publish(new CacheInvalidation(EntityType.PRODUCT, 5L, null));
+
+		ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+		verify(jdbcTemplate).queryForList(eq("SELECT pg_notify(?, ?)"), eq("warehouse_cache"), payload.capture());
+		assertTrue(((String) payload.getValue()).endsWith("|PRODUCT:5:"));
+	}
+
+	@Test
+	void publish_ShouldSendOnceBeforeCommit_WhenInTransaction() {
+		TransactionSynchronizationManager.initSynchronization();
+
+		bus.publish(new CacheInvalidation(EntityType.PRODUCT, 5L, null));
+		bus.publish(new CacheInvalidation(EntityType.PRODUCT, 5L, null));
+		bus.publish(CacheInvalidation.all(EntityType.PRODUCT_TYPE));
+		verify(jdbcTemplate, never()).queryForList(anyString(), any(Object[].class));
+
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+		synchronizations.forEach(synchronization -> synchronization
+				.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+		ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+		verify(jdbcTemplate, times(1)).queryForList(eq("SELECT pg_notify(?, ?)"), eq("warehouse_cache"),
+				payload.capture());
+		assertTrue(((String) payload.getValue()).endsWith("|PRODUCT:5:,PRODUCT_TYPE::"));
+		assertNull(TransactionSynchronizationManager.getResource(bus));
+	}
+
+	@Test
+	void payloads_ShouldSplit_WhenTooLongForOneNotification() {
+		List<CacheInvalidation> invalidations = new ArrayList<>();
+		for (long id = 1; id <= 1000; id++) {
+			invalidations.add(new CacheInvalidation(EntityType.PRODUCT, id, id));
+		}
+
+		List<String> payloads = bus.payloads(invalidations);
+
+		assertTrue(payloads.size() > 1);
+		int received = 0;
+		for (String payload : payloads) {
+			assertTrue(payload.length() <= PostgresCacheInvalidationBus.MAX_PAYLOAD_LENGTH);
+			received += payload.substring(payload.indexOf('|') + 1).split(",").length;
+		}
+		assertEquals(1000, received);
+	}
+
+	@Test
+	void receive_ShouldPublishEvents_FromOtherNodes() {
+		bus.receive("other-node|PRODUCT:5:2,PRODUCT_TYPE::,bogus");
+
+		ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+		verify(publisher, times(2)).publishEvent(events.capture());
+		CacheInvalidation product = (CacheInvalidation) events.getAllValues().get(0);
+		assertEquals(EntityType.PRODUCT, product.getEntityType());
+		assertEquals(5L, product.getId());
+		assertEquals(2L, product.getVersion());
+		assertTrue(((CacheInvalidation) events.getAllValues().get(1)).isAll());
+	}
+
+	@Test
+	void receive_ShouldIgnoreOwnNotifications() {
+		String payload = bus.payloads(List.of(new CacheInvalidation(EntityType.PRODUCT, 5L, null))).get(0);
+
+		bus.receive(payload);
+
+		verify(publisher, never()).publishEvent(any(Object.class));
+	}
+
+	@Test
+	void decode_ShouldRejectMalformedInvalidation() {
+		assertThrows(IllegalArgumentException.class, () -> CacheInvalidation.decode("PRODUCT:x:"));
+		assertThrows(IllegalArgumentException.class, () -> CacheInvalidation.decode("NOPE::"));
+	}
+}
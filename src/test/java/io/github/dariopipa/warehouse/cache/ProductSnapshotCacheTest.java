@@ -0,0 +1,100 @@
+package io.github.dariopipa.warehouse.cache;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.github.dariopipa.warehouse.entities.Product;
+import io.github.dariopipa.warehouse.entities.ProductType;
+import io.github.dariopipa.warehouse.enums.EntityType;
+import io.github.dariopipa.warehouse.repositories.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSnapshotCacheTest {
+
+	@Mock
+	private ProductRepository productRepository;
+
+	@Mock
+	private CacheInvalidationBus invalidationBus;
+
+	private ProductSnapshotCache cache;
+
+	@BeforeEach
+	void setUp() {
+		cache = new ProductSnapshotCache(productRepository, invalidationBus, new SimpleMeterRegistry(), 100, 60);
+	}
+
+	@Test
+	void evict_ShouldPublishInvalidation() {
+		cache.evict(5L);
+
+		verify(invalidationBus).publish(argThat(invalidation -> invalidation.getEntityType() == EntityType.PRODUCT
+						&& invalidation.getId().equals(5L)));
+	}
+
+	@Test
+	void evict_WithVersion_ShouldPublishIt() {
+		cache.evict(5L, 3L);
+
+		verify(invalidationBus).publish(argThat(invalidation -> invalidation.getEntityType() == EntityType.PRODUCT
+						&& invalidation.getId().equals(5L) && invalidation.getVersion().equals(3L)));
+	}
+
+	@Test
+	void onInvalidation_ShouldEvictLocallyWithoutPublishing() {
+		when(productRepository.findById(5L)).thenReturn(Optional.of(product(3L)));
+
+		cache.findById(5L);
+		cache.findById(5L);
+		verify(productRepository, times(1)).findById(5L);
+
+		cache.onInvalidation(CacheInvalidation.all(EntityType.PRODUCT_TYPE));
+		cache.findById(5L);
+		verify(productRepository, times(1)).findById(5L);
+
+		cache.onInvalidation(new CacheInvalidation(EntityType.PRODUCT, 5L, null));
+		cache.findById(5L);
+		verify(productRepository, times(2)).findById(5L);
+		verify(invalidationBus, never()).publish(any());
+	}
+
+	@Test
+	void onInvalidation_ShouldKeepCopyAlreadyAtOrPastTheVersion() {
+		when(productRepository.findById(5L)).thenReturn(Optional.of(product(3L)));
+		cache.findById(5L);
+
+		cache.onInvalidation(new CacheInvalidation(EntityType.PRODUCT, 5L, 2L));
+		cache.onInvalidation(new CacheInvalidation(EntityType.PRODUCT, 5L, 3L));
+		cache.findById(5L);
+		verify(productRepository, times(1)).findById(5L);
+
+		cache.onInvalidation(new CacheInvalidation(EntityType.PRODUCT, 5L, 4L));
+		cache.findById(5L);
+		verify(productRepository, times(2)).findById(5L);
+	}
+
+	private static Product product(Long version) {
+		ProductType productType = new ProductType();
+		productType.setId(1L);
+		productType.setName("Tools");
+		Product product = new Product();
+		product.setId(5L);
+		product.setName("Hammer");
+		product.setProductType(productType);
+		product.setVersion(version);
+		return product;
+	}
+}
@@ -0,0 +1,84 @@
+package io.github.dariopipa.warehouse.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.github.dariopipa.warehouse.enums.EntityType;
+import io.github.dariopipa.warehouse.enums.RolesEnum;
+import io.github.dariopipa.warehouse.repositories.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class RoleEmailsCacheTest {
+
+	@Mock
+	private UserRepository userRepository;
+
+	@Mock
+	private CacheInvalidationBus invalidationBus;
+
+	private SimpleMeterRegistry meterRegistry;
+	private RoleEmailsCache cache;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		cache = new RoleEmailsCache(userRepository, invalidationBus, meterRegistry, 300);
+	}
+
+	@Test
+	void findEmailsByRole_ShouldQueryEachRoleOnce() {
+		when(userRepository.findEmailsByRole(RolesEnum.ROLE_MANAGER)).thenReturn(List.of("manager@company.com"));
+		when(userRepository.findEmailsByRole(RolesEnum.ROLE_ADMIN)).thenReturn(List.of("admin@company.com"));
+
+		cache.findEmailsByRole(RolesEnum.ROLE_MANAGER);
+		cache.findEmailsByRole(RolesEnum.ROLE_ADMIN);
+		assertEquals(List.of("manager@company.com"), cache.findEmailsByRole(RolesEnum.ROLE_MANAGER));
+
+		verify(userRepository, times(1)).findEmailsByRole(RolesEnum.ROLE_MANAGER);
+		verify(userRepository, times(1)).findEmailsByRole(RolesEnum.ROLE_ADMIN);
+		assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "users.emails_by_role").tag("result", "hit")
+				.functionCounter().count());
+	}
+
+	@Test
+	void evict_ShouldDropEveryRoleAndPublishInvalidation() {
+		when(userRepository.findEmailsByRole(RolesEnum.ROLE_MANAGER)).thenReturn(List.of("manager@company.com"));
+		cache.findEmailsByRole(RolesEnum.ROLE_MANAGER);
+
+		cache.evict(7L);
+		cache.findEmailsByRole(RolesEnum.ROLE_MANAGER);
+
+		verify(userRepository, times(2)).findEmailsByRole(RolesEnum.ROLE_MANAGER);
+		verify(invalidationBus).publish(argThat(invalidation -> invalidation.getEntityType() == EntityType.USER
+				&& invalidation.getId().equals(7L)));
+	}
+
+	@Test
+	void onInvalidation_ShouldEvictLocallyWithoutPublishing() {
+		when(userRepository.findEmailsByRole(RolesEnum.ROLE_MANAGER)).thenReturn(List.of("manager@company.com"));
+		cache.findEmailsByRole(RolesEnum.ROLE_MANAGER);
+
+		cache.onInvalidation(CacheInvalidation.all(EntityType.PRODUCT));
+		cache.findEmailsByRole(RolesEnum.ROLE_MANAGER);
+		verify(userRepository, times(1)).findEmailsByRole(RolesEnum.ROLE_MANAGER);
+
+		cache.onInvalidation(new CacheInvalidation(EntityType.USER, 3L, null));
+		cache.findEmailsByRole(RolesEnum.ROLE_MANAGER);
+		verify(userRepository, times(2)).findEmailsByRole(RolesEnum.ROLE_MANAGER);
+		verify(invalidationBus, never()).publish(any());
+	}
+}
@@ -1,7 +1,11 @@
 package io.github.dariopipa.warehouse.controllers;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -18,6 +22,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 
 import io.github.dariopipa.warehouse.dtos.responses.PaginatedResponse;
@@ -25,6 +30,7 @@ import io.github.dariopipa.warehouse.entities.AuditLog;
 import io.github.dariopipa.warehouse.enums.AuditAction;
 import io.github.dariopipa.warehouse.enums.AuditLogSortByEnum;
 import io.github.dariopipa.warehouse.enums.EntityType;
+import io.github.dariopipa.warehouse.enums.PaginationModeEnum;
 import io.github.dariopipa.warehouse.enums.SortDirectionEnum;
 import io.github.dariopipa.warehouse.services.interfaces.AuditLogService;
 
@@ -48,7 +54,7 @@ class AuditLogControllerTest {
 		when(auditLogService.findAll(any(Pageable.class))).thenReturn(page);
 
 		PaginatedResponse<AuditLog> response = auditLogController.findAll(0, 10, AuditLogSortByEnum.created_at,
-				SortDirectionEnum.desc);
+				SortDirectionEnum.desc, null);
 
 		assertNotNull(response);
 		verify(auditLogService).findAll(any(Pageable.class));
@@ -64,12 +70,48 @@ class AuditLogControllerTest {
 		when(auditLogService.findAll(any(Pageable.class))).thenReturn(page);
 
 		PaginatedResponse<AuditLog> response = auditLogController.findAll(1, 5, AuditLogSortByEnum.created_at,
-				SortDirectionEnum.asc);
+				SortDirectionEnum.asc, null);
 
 		assertNotNull(response);
 		verify(auditLogService).findAll(any(Pageable.class));
 	}
 
+	@Test
+	void findAll_InSliceMode_ShouldSkipCountAndOmitTotals() {
+		List<AuditLog> auditLogs = Arrays.asList(createAuditLog(1L, "CREATE", "PRODUCT"),
+				createAuditLog(2L, "UPDATE", "PRODUCT"));
+
+		when(auditLogService.findSlice(any(Pageable.class)))
+				.thenReturn(new SliceImpl<>(auditLogs, PageRequest.of(0, 2), true));
+
+		PaginatedResponse<AuditLog> response = auditLogController.findAll(0, 2, AuditLogSortByEnum.created_at,
+				SortDirectionEnum.desc, PaginationModeEnum.slice);
+
+		assertTrue(response.isHasNext());
+		assertNull(response.getTotalItems());
+		assertNull(response.getTotalPages());
+		verify(auditLogService, never()).findAll(any(Pageable.class));
+		verify(auditLogService, never()).estimateCount();
+	}
+
+	@Test
+	void findAll_InApproximateMode_ShouldNotReportFewerItemsThanTheSliceHolds() {
+		List<AuditLog> auditLogs = Arrays.asList(createAuditLog(1L, "CREATE", "PRODUCT"),
+				createAuditLog(2L, "UPDATE", "PRODUCT"));
+
+		when(auditLogService.findSlice(any(Pageable.class)))
+				.thenReturn(new SliceImpl<>(auditLogs, PageRequest.of(1, 2), true));
+		when(auditLogService.estimateCount()).thenReturn(3L);
+
+		PaginatedResponse<AuditLog> response = auditLogController.findAll(1, 2, AuditLogSortByEnum.created_at,
+				SortDirectionEnum.desc, PaginationModeEnum.approximate);
+
+		assertEquals(5L, response.getTotalItems());
+		assertEquals(3, response.getTotalPages());
+		assertTrue(response.getApproximateTotals());
+		verify(auditLogService, never()).findAll(any(Pageable.class));
+	}
+
 	private AuditLog createAuditLog(Long id, String action, String entityType) {
 		AuditLog auditLog = new AuditLog();
 		auditLog.setId(id);
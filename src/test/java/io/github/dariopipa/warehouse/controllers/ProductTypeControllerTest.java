@@ -2,6 +2,7 @@ package io.github.dariopipa.warehouse.controllers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
@@ -24,14 +25,19 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import io.github.dariopipa.warehouse.dtos.requests.ProductTypesDTO;
 import io.github.dariopipa.warehouse.dtos.responses.PaginatedResponse;
 import io.github.dariopipa.warehouse.dtos.responses.ProductTypeResponseDTO;
 import io.github.dariopipa.warehouse.entities.ProductType;
 import io.github.dariopipa.warehouse.entities.User;
+import io.github.dariopipa.warehouse.enums.PaginationModeEnum;
 import io.github.dariopipa.warehouse.enums.ProductTypeSortByEnum;
 import io.github.dariopipa.warehouse.enums.SortDirectionEnum;
 import io.github.dariopipa.warehouse.exceptions.ConflictException;
@@ -69,6 +75,7 @@ class ProductTypeControllerTest {
 		productTypeResponseDTO.setUpdatedAt(Instant.now());
 		productTypeResponseDTO.setCreatedBy(1L);
 		productTypeResponseDTO.setUpdatedBy(1L);
+		productTypeResponseDTO.setVersion(3L);
 	}
 
 	@Test
@@ -100,14 +107,31 @@ class ProductTypeControllerTest {
 	void test_GetProductType_ShouldReturnProductType_WhenProductTypeExists() {
 		when(productTypeService.getById(productTypeId)).thenReturn(productTypeResponseDTO);
 
-		ResponseEntity<ProductTypeResponseDTO> response = productTypeController.getProductType(productTypeId);
+		ResponseEntity<ProductTypeResponseDTO> response = productTypeController.getProductType(productTypeId,
+				new ServletWebRequest(new MockHttpServletRequest("GET", "/api/v1/product-types/1")));
 
 		assertNotNull(response);
 		assertEquals(HttpStatus.OK, response.getStatusCode());
 		assertEquals(productTypeResponseDTO, response.getBody());
+		assertEquals("\"3\"", response.getHeaders().getETag());
 		verify(productTypeService).getById(productTypeId);
 	}
 
+	@Test
+	void test_GetProductType_ShouldReturnNotModified_WhenNotModifiedSince() {
+		when(productTypeService.getById(productTypeId)).thenReturn(productTypeResponseDTO);
+		MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/v1/product-types/1");
+		servletRequest.addHeader(HttpHeaders.IF_MODIFIED_SINCE,
+				productTypeResponseDTO.getUpdatedAt().plusSeconds(1).toEpochMilli());
+		MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+		ResponseEntity<ProductTypeResponseDTO> response = productTypeController.getProductType(productTypeId,
+				new ServletWebRequest(servletRequest, servletResponse));
+
+		assertNull(response);
+		assertEquals(HttpStatus.NOT_MODIFIED.value(), servletResponse.getStatus());
+	}
+
 	@Test
 	void test_GetProductType_ShouldThrowException_WhenProductTypeDoesNotExist() {
 		Long nonExistentProductTypeId = 999L;
@@ -116,7 +140,8 @@ class ProductTypeControllerTest {
 				.thenThrow(new EntityNotFoundException("Product type not found"));
 
 		assertThrows(EntityNotFoundException.class, () -> {
-			productTypeController.getProductType(nonExistentProductTypeId);
+			productTypeController.getProductType(nonExistentProductTypeId,
+					new ServletWebRequest(new MockHttpServletRequest("GET", "/api/v1/product-types/999")));
 		});
 
 		verify(productTypeService).getById(nonExistentProductTypeId);
@@ -133,12 +158,18 @@ class ProductTypeControllerTest {
 		when(productTypeService.getCollection(any(Pageable.class))).thenReturn(page);
 
 		PaginatedResponse<ProductTypeResponseDTO> response = productTypeController.getProductTypes(0, 10,
-				ProductTypeSortByEnum.name, SortDirectionEnum.desc);
+				ProductTypeSortByEnum.name, SortDirectionEnum.desc, null, true);
 
 		assertNotNull(response);
 		verify(productTypeService).getCollection(any(Pageable.class));
 	}
 
+	@Test
+	void test_GetProductTypes_InCursorMode_ShouldThrowIllegalArgumentException() {
+		assertThrows(IllegalArgumentException.class, () -> productTypeController.getProductTypes(0, 10,
+				ProductTypeSortByEnum.name, SortDirectionEnum.desc, PaginationModeEnum.cursor, true));
+	}
+
 	@Test
 	void test_DeleteProductTypes_ShouldReturnNoContent_WhenProductTypeExists() {
 		doNothing().when(productTypeService).delete(productTypeId, loggedInUser.getId());
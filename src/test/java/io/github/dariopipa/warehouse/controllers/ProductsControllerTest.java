@@ -1,16 +1,31 @@
 package io.github.dariopipa.warehouse.controllers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
-
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,22 +37,38 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import io.github.dariopipa.warehouse.dtos.requests.CreateProductDTO;
 import io.github.dariopipa.warehouse.dtos.requests.UpdateProductRequestDTO;
+import io.github.dariopipa.warehouse.dtos.requests.UpdateQuantityItemDTO;
 import io.github.dariopipa.warehouse.dtos.requests.UpdateQuantityRequestDTO;
+import io.github.dariopipa.warehouse.dtos.responses.BatchQuantityUpdateResponseDTO;
+import io.github.dariopipa.warehouse.dtos.responses.BulkImportResponseDTO;
 import io.github.dariopipa.warehouse.dtos.responses.PaginatedResponse;
 import io.github.dariopipa.warehouse.dtos.responses.ProductGetOneResponseDTO;
 import io.github.dariopipa.warehouse.entities.User;
+import io.github.dariopipa.warehouse.enums.BatchUpdateModeEnum;
 import io.github.dariopipa.warehouse.enums.OperationsType;
+import io.github.dariopipa.warehouse.enums.PaginationModeEnum;
 import io.github.dariopipa.warehouse.enums.ProductSortByEnum;
 import io.github.dariopipa.warehouse.enums.SortDirectionEnum;
 import io.github.dariopipa.warehouse.exceptions.ConflictException;
 import io.github.dariopipa.warehouse.exceptions.EntityNotFoundException;
+import io.github.dariopipa.warehouse.exports.ProductExportFormat;
+import io.github.dariopipa.warehouse.imports.ProductImportFormat;
+import io.github.dariopipa.warehouse.services.interfaces.ProductExportService;
+import io.github.dariopipa.warehouse.services.interfaces.ProductImportService;
 import io.github.dariopipa.warehouse.services.interfaces.ProductService;
+import io.github.dariopipa.warehouse.utils.ProductCursor;
 
 @ExtendWith(MockitoExtension.class)
 class ProductsControllerTest {
@@ -45,6 +76,12 @@ class ProductsControllerTest {
 	@Mock
 	private ProductService productService;
 
+	@Mock
+	private ProductImportService productImportService;
+
+	@Mock
+	private ProductExportService productExportService;
+
 	@InjectMocks
 	private ProductsController productsController;
 
@@ -85,6 +122,13 @@ class ProductsControllerTest {
 		productResponseDTO.setName("Test Product");
 		productResponseDTO.setDescription("Test Description");
 		productResponseDTO.setQuantity(100);
+		productResponseDTO.setUpdatedAt(Instant.parse("2026-01-02T10:00:00Z"));
+		productResponseDTO.setVersion(2L);
+		ProductGetOneResponseDTO.ProductTypeDTO productTypeDTO = new ProductGetOneResponseDTO.ProductTypeDTO(1L,
+				"Tools");
+		productTypeDTO.setUpdatedAt(Instant.parse("2026-01-03T10:00:00Z"));
+		productTypeDTO.setVersion(1L);
+		productResponseDTO.setProductType(productTypeDTO);
 	}
 
 	@Test
@@ -116,14 +160,46 @@ class ProductsControllerTest {
 	void test_GetProduct_ShouldReturnProduct_WhenProductExists() {
 		when(productService.getById(productId)).thenReturn(productResponseDTO);
 
-		ResponseEntity<ProductGetOneResponseDTO> response = productsController.getProduct(productId);
+		ResponseEntity<ProductGetOneResponseDTO> response = productsController.getProduct(productId,
+				getRequest(new MockHttpServletRequest("GET", "/api/v1/products/1")));
 
 		assertNotNull(response);
 		assertEquals(HttpStatus.OK, response.getStatusCode());
 		assertEquals(productResponseDTO, response.getBody());
+		assertEquals("\"2.1\"", response.getHeaders().getETag());
+		assertEquals(Instant.parse("2026-01-03T10:00:00Z").toEpochMilli(), response.getHeaders().getLastModified());
 		verify(productService).getById(productId);
 	}
 
+	@Test
+	void test_GetProduct_ShouldReturnNotModified_WhenETagMatches() {
+		when(productService.getById(productId)).thenReturn(productResponseDTO);
+		MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/v1/products/1");
+		servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"2.1\"");
+		MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+		ResponseEntity<ProductGetOneResponseDTO> response = productsController.getProduct(productId,
+				new ServletWebRequest(servletRequest, servletResponse));
+
+		assertNull(response);
+		assertEquals(HttpStatus.NOT_MODIFIED.value(), servletResponse.getStatus());
+		assertEquals("\"2.1\"", servletResponse.getHeader(HttpHeaders.ETAG));
+	}
+
+	@Test
+	void test_GetProduct_ShouldReturnBody_WhenProductTypeChangedSinceIfModifiedSince() {
+		when(productService.getById(productId)).thenReturn(productResponseDTO);
+		MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/v1/products/1");
+		servletRequest.addHeader(HttpHeaders.IF_MODIFIED_SINCE,
+				Instant.parse("2026-01-02T10:00:00Z").toEpochMilli());
+
+		ResponseEntity<ProductGetOneResponseDTO> response = productsController.getProduct(productId,
+				getRequest(servletRequest));
+
+		assertNotNull(response);
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+	}
+
 	@Test
 	void test_GetProduct_ShouldThrowException_WhenProductDoesNotExist() {
 		Long nonExistentProductId = 999L;
@@ -131,7 +207,8 @@ class ProductsControllerTest {
 		when(productService.getById(nonExistentProductId)).thenThrow(new EntityNotFoundException("Product not found"));
 
 		assertThrows(EntityNotFoundException.class, () -> {
-			productsController.getProduct(nonExistentProductId);
+			productsController.getProduct(nonExistentProductId,
+					getRequest(new MockHttpServletRequest("GET", "/api/v1/products/999")));
 		});
 
 		verify(productService).getById(nonExistentProductId);
@@ -148,12 +225,73 @@ class ProductsControllerTest {
 		when(productService.getCollection(any(Pageable.class))).thenReturn(page);
 
 		PaginatedResponse<ProductGetOneResponseDTO> response = productsController.getProductCollection(0, 10,
-				ProductSortByEnum.name, SortDirectionEnum.asc);
+				ProductSortByEnum.name, SortDirectionEnum.asc, null, null, true);
 
 		assertNotNull(response);
 		verify(productService).getCollection(any(Pageable.class));
 	}
 
+	@Test
+	void test_GetProductCollection_ShouldStampSameItemLinksAsMethodOn() {
+		ProductGetOneResponseDTO product = createProductResponseDTO(1L, "Product 1");
+		when(productService.getCollection(any(Pageable.class)))
+				.thenReturn(new PageImpl<>(List.of(product), PageRequest.of(0, 10), 1));
+
+		productsController.getProductCollection(0, 10, ProductSortByEnum.name, SortDirectionEnum.asc, null, null,
+				true);
+
+		assertEquals(linkTo(methodOn(ProductsController.class).getProduct(1L, null)).withSelfRel().getHref(),
+				product.getRequiredLink("self").getHref());
+		assertEquals(linkTo(methodOn(ProductsController.class).updateEntity(1L, null, null, null)).toUri().toString(),
+				product.getRequiredLink("update").getHref());
+		assertEquals(linkTo(methodOn(ProductsController.class).updateProductQuantity(1L, null, null)).toUri()
+				.toString(), product.getRequiredLink("updateQuantity").getHref());
+		assertEquals(linkTo(methodOn(ProductsController.class).deleteProduct(1L, null)).toUri().toString(),
+				product.getRequiredLink("delete").getHref());
+	}
+
+	@Test
+	void test_GetProductCollection_WithLinksDisabled_ShouldOmitItemLinks() {
+		ProductGetOneResponseDTO product = createProductResponseDTO(1L, "Product 1");
+		when(productService.getCollection(any(Pageable.class)))
+				.thenReturn(new PageImpl<>(List.of(product), PageRequest.of(0, 10), 1));
+
+		productsController.getProductCollection(0, 10, ProductSortByEnum.name, SortDirectionEnum.asc, null, null,
+				false);
+
+		assertFalse(product.hasLinks());
+	}
+
+	@Test
+	void test_GetProductCollection_InCursorMode_ShouldReturnNextCursorWithoutTotals() {
+		List<ProductGetOneResponseDTO> products = Arrays.asList(createProductResponseDTO(1L, "Product 1"),
+				createProductResponseDTO(2L, "Product 2"));
+		Window<ProductGetOneResponseDTO> window = Window.from(products, ScrollPosition::offset, true);
+
+		when(productService.getCollection(any(ScrollPosition.class), any(Sort.class), eq(2))).thenReturn(window);
+
+		PaginatedResponse<ProductGetOneResponseDTO> response = productsController.getProductCollection(0, 2,
+				ProductSortByEnum.name, SortDirectionEnum.asc, PaginationModeEnum.cursor, null, true);
+
+		assertEquals(2, response.getData().size());
+		assertTrue(response.isHasNext());
+		assertFalse(response.isHasPrevious());
+		assertNull(response.getTotalItems());
+		assertNull(response.getTotalPages());
+		assertEquals(ProductCursor.encode(ProductSortByEnum.name, SortDirectionEnum.asc, products.get(1)),
+				response.getNextCursor());
+		verify(productService, never()).getCollection(any(Pageable.class));
+	}
+
+	@Test
+	void test_GetProductCollection_WithCursorForAnotherSort_ShouldThrowIllegalArgumentException() {
+		String cursor = ProductCursor.encode(ProductSortByEnum.name, SortDirectionEnum.asc,
+				createProductResponseDTO(1L, "Product 1"));
+
+		assertThrows(IllegalArgumentException.class, () -> productsController.getProductCollection(0, 10,
+				ProductSortByEnum.name, SortDirectionEnum.desc, null, cursor, true));
+	}
+
 	@Test
 	void test_DeleteProduct_ShouldReturnNoContent_WhenProductExists() {
 		doNothing().when(productService).delete(productId, loggedInUser.getId());
@@ -181,14 +319,28 @@ class ProductsControllerTest {
 
 	@Test
 	void test_UpdateProduct_ShouldReturnNoContent_WhenCreatingNewProduct() {
-		doNothing().when(productService).update(productId, updateProductRequestDTO, loggedInUser.getId());
+		when(productService.update(productId, updateProductRequestDTO, null, loggedInUser.getId()))
+				.thenReturn(productResponseDTO);
 
-		ResponseEntity<Void> response = productsController.updateEntity(productId, updateProductRequestDTO,
+		ResponseEntity<Void> response = productsController.updateEntity(productId, null, updateProductRequestDTO,
 				loggedInUser);
 
 		assertNotNull(response);
 		assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
-		verify(productService).update(productId, updateProductRequestDTO, loggedInUser.getId());
+		assertEquals("\"2.1\"", response.getHeaders().getETag());
+		verify(productService).update(productId, updateProductRequestDTO, null, loggedInUser.getId());
+	}
+
+	@Test
+	void test_UpdateProduct_ShouldPassIfMatchVersion() {
+		when(productService.update(productId, updateProductRequestDTO, 1L, loggedInUser.getId()))
+				.thenReturn(productResponseDTO);
+
+		ResponseEntity<Void> response = productsController.updateEntity(productId, "\"1.1\"",
+				updateProductRequestDTO, loggedInUser);
+
+		assertEquals("\"2.1\"", response.getHeaders().getETag());
+		verify(productService).update(productId, updateProductRequestDTO, 1L, loggedInUser.getId());
 	}
 
 	@Test
@@ -203,6 +355,93 @@ class ProductsControllerTest {
 		verify(productService).updateQuantity(productId, updateQuantityRequestDTO, loggedInUser.getId());
 	}
 
+	@Test
+	void test_UpdateProductQuantities_ShouldReturnItemResults() {
+		UpdateQuantityItemDTO item = new UpdateQuantityItemDTO();
+		item.setId(productId);
+		item.setOperation(OperationsType.DECREASE);
+		item.setQuantity(5);
+		BatchQuantityUpdateResponseDTO result = new BatchQuantityUpdateResponseDTO();
+		result.setApplied(1);
+		when(productService.updateQuantities(List.of(item), BatchUpdateModeEnum.partial, loggedInUser.getId()))
+				.thenReturn(result);
+
+		ResponseEntity<BatchQuantityUpdateResponseDTO> response = productsController
+				.updateProductQuantities(BatchUpdateModeEnum.partial, List.of(item), loggedInUser);
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(1, response.getBody().getApplied());
+	}
+
+	@Test
+	void test_ImportProducts_ShouldReturnReport() throws IOException {
+		InputStream body = new ByteArrayInputStream(new byte[0]);
+		BulkImportResponseDTO report = new BulkImportResponseDTO();
+		report.setImported(3);
+		when(productImportService.importProducts(body, ProductImportFormat.ndjson, loggedInUser.getId()))
+				.thenReturn(report);
+
+		ResponseEntity<BulkImportResponseDTO> response = productsController.importProducts(loggedInUser,
+				"application/x-ndjson;charset=UTF-8", body);
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(3, response.getBody().getImported());
+	}
+
+	@Test
+	void test_ImportProducts_ShouldRejectUnsupportedContentType() throws IOException {
+		InputStream body = new ByteArrayInputStream(new byte[0]);
+
+		assertThrows(IllegalArgumentException.class,
+				() -> productsController.importProducts(loggedInUser, "application/json", body));
+		verify(productImportService, never()).importProducts(any(), any(), any());
+	}
+
+	@Test
+	void test_ExportProducts_ShouldStreamToTheResponse() throws IOException {
+		stubExport(ProductExportFormat.csv);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		productsController.exportProducts(ProductExportFormat.csv, null, response);
+
+		assertEquals("text/csv;charset=UTF-8", response.getContentType());
+		assertEquals("attachment; filename=\"products.csv\"", response.getHeader("Content-Disposition"));
+		assertNull(response.getHeader("Content-Encoding"));
+		assertEquals("row\n", response.getContentAsString());
+	}
+
+	@Test
+	void test_ExportProducts_ShouldGzip_WhenClientAcceptsIt() throws IOException {
+		stubExport(ProductExportFormat.ndjson);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		productsController.exportProducts(ProductExportFormat.ndjson, "deflate, gzip;q=0.8", response);
+
+		assertEquals("gzip", response.getHeader("Content-Encoding"));
+		assertEquals("Accept-Encoding", response.getHeader("Vary"));
+		try (InputStream body = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+			assertEquals("row\n", new String(body.readAllBytes(), StandardCharsets.UTF_8));
+		}
+	}
+
+	@Test
+	void test_ExportProducts_ShouldNotGzip_WhenClientRefusesIt() throws IOException {
+		stubExport(ProductExportFormat.ndjson);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		productsController.exportProducts(ProductExportFormat.ndjson, "gzip;q=0, identity", response);
+
+		assertNull(response.getHeader("Content-Encoding"));
+		assertEquals("row\n", response.getContentAsString());
+	}
+
+	private void stubExport(ProductExportFormat format) throws IOException {
+		doAnswer(invocation -> {
+			invocation.<OutputStream>getArgument(0).write("row\n".getBytes(StandardCharsets.UTF_8));
+			return 1L;
+		}).when(productExportService).exportProducts(any(), eq(format));
+	}
+
 	private ProductGetOneResponseDTO createProductResponseDTO(Long id, String name) {
 		ProductGetOneResponseDTO dto = new ProductGetOneResponseDTO();
 		dto.setId(id);
@@ -211,4 +450,8 @@ class ProductsControllerTest {
 		dto.setQuantity(100);
 		return dto;
 	}
+
+	private static ServletWebRequest getRequest(MockHttpServletRequest servletRequest) {
+		return new ServletWebRequest(servletRequest, new MockHttpServletResponse());
+	}
 }
@@ -0,0 +1,63 @@
+package io.github.dariopipa.warehouse.imports;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class CsvProductRowReaderTest {
+
+	@Test
+	void next_ShouldMapColumnsByHeaderName() throws IOException {
+		CsvProductRowReader reader = reader(
+				"\uFEFFproductTypeId,name,quantity,description\n3,\"Hammer, claw\",5,\"Says \"\"bang\"\"\"\n");
+
+		ProductImportRow row = reader.next();
+
+		assertTrue(row.isParsed());
+		assertEquals(2, row.getLine());
+		assertEquals("Hammer, claw", row.getProduct().getName());
+		assertEquals("Says \"bang\"", row.getProduct().getDescription());
+		assertEquals(5, row.getProduct().getQuantity());
+		assertEquals(3L, row.getProduct().getProductTypeId());
+		assertNull(row.getProduct().getWeight());
+		assertNull(reader.next());
+	}
+
+	@Test
+	void next_ShouldFailRow_WhenFieldsDoNotMatchHeader() throws IOException {
+		CsvProductRowReader reader = reader("name,quantity\n\nHammer\nSaw,x\nDrill,\"1\n");
+
+		assertEquals("Expected 2 fields but found 1", reader.next().getError());
+
+		ProductImportRow invalidNumber = reader.next();
+		assertFalse(invalidNumber.isParsed());
+		assertEquals(4, invalidNumber.getLine());
+		assertEquals("Invalid number for quantity: x", invalidNumber.getError());
+
+		assertEquals("Unterminated quoted field", reader.next().getError());
+	}
+
+	@Test
+	void next_ShouldRejectUnknownColumns() {
+		assertThrows(IllegalArgumentException.class, () -> reader("name,colour\n").next());
+		assertThrows(IllegalArgumentException.class, () -> reader("").next());
+	}
+
+	@Test
+	void split_ShouldKeepEmptyFields() {
+		assertEquals(List.of("a", "", "c", ""), CsvProductRowReader.split("a,,c,"));
+	}
+
+	private static CsvProductRowReader reader(String text) {
+		return new CsvProductRowReader(new BufferedReader(new StringReader(text)));
+	}
+}
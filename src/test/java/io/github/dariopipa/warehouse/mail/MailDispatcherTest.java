@@ -0,0 +1,185 @@
+package io.github.dariopipa.warehouse.mail;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+
+class MailDispatcherTest {
+
+	@RegisterExtension
+	static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP.dynamicPort());
+
+	private MailDispatcher dispatcher;
+
+	@AfterEach
+	void tearDown() {
+		if (dispatcher != null) {
+			dispatcher.stop();
+		}
+	}
+
+	private JavaMailSenderImpl smtpSender() {
+		JavaMailSenderImpl sender = new JavaMailSenderImpl();
+		sender.setHost(greenMail.getSmtp().getBindTo());
+		sender.setPort(greenMail.getSmtp().getPort());
+		return sender;
+	}
+
+	private MailDispatcher startDispatcher(JavaMailSender sender, int queueCapacity, int maxAttempts) {
+		dispatcher = new MailDispatcher(sender, new SimpleMeterRegistry(), queueCapacity, 50, maxAttempts, 10, 5000);
+		dispatcher.start();
+		return dispatcher;
+	}
+
+	private MimeMessage message(JavaMailSender sender, String to) throws MessagingException {
+		MimeMessage message = sender.createMimeMessage();
+		MimeMessageHelper helper = new MimeMessageHelper(message, true);
+		helper.setFrom("warehouse@company.com");
+		helper.setTo(to);
+		helper.setSubject("Low Stock Alert");
+		helper.setText("Please restock", true);
+		return message;
+	}
+
+	@Test
+	void test_Submit_ShouldDeliverEveryMessageToSmtpServer() throws Exception {
+		JavaMailSenderImpl sender = smtpSender();
+		startDispatcher(sender, 100, 3);
+
+		List<CompletableFuture<Void>> deliveries = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			deliveries.add(dispatcher.submit(message(sender, "manager" + i + "@company.com")));
+		}
+
+		CompletableFuture.allOf(deliveries.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+		assertEquals(5, greenMail.getReceivedMessages().length);
+		assertEquals("Low Stock Alert", greenMail.getReceivedMessages()[0].getSubject());
+	}
+
+	@Test
+	void test_Submit_WhenSmtpServerIsUnreachable_ShouldFailAfterMaxAttempts() throws Exception {
+		JavaMailSenderImpl sender = smtpSender();
+		sender.setPort(1);
+		startDispatcher(sender, 100, 2);
+
+		CompletableFuture<Void> delivery = dispatcher.submit(message(sender, "manager@company.com"));
+
+		ExecutionException failure = assertThrows(ExecutionException.class,
+				() -> delivery.get(10, TimeUnit.SECONDS));
+		assertInstanceOf(MessagingException.class, failure.getCause());
+	}
+
+	@Test
+	void test_Submit_ShouldSendQueuedMessagesTogetherInOneBatch() throws Exception {
+		JavaMailSender sender = mock(JavaMailSender.class);
+		CountDownLatch firstSendStarted = new CountDownLatch(1);
+		CountDownLatch releaseFirstSend = new CountDownLatch(1);
+		List<Integer> batchSizes = new ArrayList<>();
+		doAnswer(invocation -> {
+			batchSizes.add(invocation.getArguments().length);
+			firstSendStarted.countDown();
+			releaseFirstSend.await(5, TimeUnit.SECONDS);
+			return null;
+		}).when(sender).send(any(MimeMessage[].class));
+		startDispatcher(sender, 100, 3);
+
+		CompletableFuture<Void> first = dispatcher.submit(mock(MimeMessage.class));
+		assertTrue(firstSendStarted.await(5, TimeUnit.SECONDS));
+		List<CompletableFuture<Void>> queued = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			queued.add(dispatcher.submit(mock(MimeMessage.class)));
+		}
+		releaseFirstSend.countDown();
+
+		first.get(5, TimeUnit.SECONDS);
+		CompletableFuture.allOf(queued.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+		assertEquals(List.of(1, 3), batchSizes);
+	}
+
+	@Test
+	void test_Submit_WhenOneMessageOfBatchFails_ShouldRetryOnlyThatMessage() throws Exception {
+		JavaMailSender sender = mock(JavaMailSender.class);
+		MimeMessage rejected = mock(MimeMessage.class);
+		CountDownLatch firstSendStarted = new CountDownLatch(1);
+		CountDownLatch releaseFirstSend = new CountDownLatch(1);
+		List<Integer> batchSizes = new ArrayList<>();
+		doAnswer(invocation -> {
+			batchSizes.add(invocation.getArguments().length);
+			if (batchSizes.size() == 1) {
+				firstSendStarted.countDown();
+				releaseFirstSend.await(5, TimeUnit.SECONDS);
+			} else if (batchSizes.size() == 2) {
+				Map<Object, Exception> failed = new LinkedHashMap<>();
+				failed.put(rejected, new MessagingException("452 try again later"));
+				throw new MailSendException(failed);
+			}
+			return null;
+		}).when(sender).send(any(MimeMessage[].class));
+		startDispatcher(sender, 100, 3);
+
+		// Holds the sender thread so the next two messages share a batch
+		CompletableFuture<Void> gate = dispatcher.submit(mock(MimeMessage.class));
+		assertTrue(firstSendStarted.await(5, TimeUnit.SECONDS));
+		CompletableFuture<Void> acceptedDelivery = dispatcher.submit(mock(MimeMessage.class));
+		CompletableFuture<Void> rejectedDelivery = dispatcher.submit(rejected);
+		releaseFirstSend.countDown();
+
+		gate.get(5, TimeUnit.SECONDS);
+		acceptedDelivery.get(5, TimeUnit.SECONDS);
+		rejectedDelivery.get(5, TimeUnit.SECONDS);
+		assertEquals(List.of(1, 2, 1), batchSizes);
+	}
+
+	@Test
+	void test_Submit_WhenQueueIsFull_ShouldRejectImmediately() throws Exception {
+		JavaMailSender sender = mock(JavaMailSender.class);
+		CountDownLatch sendStarted = new CountDownLatch(1);
+		CountDownLatch releaseSend = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			sendStarted.countDown();
+			releaseSend.await(5, TimeUnit.SECONDS);
+			return null;
+		}).when(sender).send(any(MimeMessage[].class));
+		startDispatcher(sender, 1, 3);
+
+		CompletableFuture<Void> inFlight = dispatcher.submit(mock(MimeMessage.class));
+		assertTrue(sendStarted.await(5, TimeUnit.SECONDS));
+		CompletableFuture<Void> queued = dispatcher.submit(mock(MimeMessage.class));
+		CompletableFuture<Void> rejected = dispatcher.submit(mock(MimeMessage.class));
+
+		ExecutionException failure = assertThrows(ExecutionException.class, rejected::get);
+		assertInstanceOf(RejectedExecutionException.class, failure.getCause());
+		releaseSend.countDown();
+		inFlight.get(5, TimeUnit.SECONDS);
+		queued.get(5, TimeUnit.SECONDS);
+	}
+}
@@ -0,0 +1,132 @@
+package io.github.dariopipa.warehouse.outbox;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+
+import io.github.dariopipa.warehouse.entities.OutboxEvent;
+import io.github.dariopipa.warehouse.enums.OutboxEventType;
+import io.github.dariopipa.warehouse.services.interfaces.OutboxService;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxDispatcherTest {
+
+	@Mock
+	private OutboxService outboxService;
+
+	private OutboxEventHandler handler;
+	private OutboxDispatcher dispatcher;
+
+	@BeforeEach
+	void setUp() {
+		handler = mock(OutboxEventHandler.class);
+		when(handler.getEventType()).thenReturn(OutboxEventType.LOW_STOCK_ALERT);
+		dispatcher = new OutboxDispatcher(outboxService, List.of(handler), 10, 1000);
+	}
+
+	private OutboxEvent event(long id) {
+		OutboxEvent event = new OutboxEvent(OutboxEventType.LOW_STOCK_ALERT, id, "{}");
+		event.setId(id);
+		return event;
+	}
+
+	@Test
+	void test_DispatchDueEvents_ShouldMarkDeliveredEventsAsSentInOneCall() throws Exception {
+		OutboxEvent first = event(1L);
+		OutboxEvent second = event(2L);
+		when(outboxService.claimDueEvents(10)).thenReturn(List.of(first, second));
+		when(handler.handle(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+		dispatcher.dispatchDueEvents();
+
+		verify(handler).handle(first);
+		verify(handler).handle(second);
+		verify(outboxService).markSent(List.of(1L, 2L));
+		verify(outboxService, never()).markFailed(eq(1L), any());
+	}
+
+	@Test
+	void test_DispatchDueEvents_WhenHandlerFails_ShouldMarkEventAsFailed() throws Exception {
+		OutboxEvent first = event(1L);
+		OutboxEvent second = event(2L);
+		when(outboxService.claimDueEvents(10)).thenReturn(List.of(first, second));
+		doThrow(new IllegalStateException("SMTP down")).when(handler).handle(first);
+		when(handler.handle(second)).thenReturn(CompletableFuture.completedFuture(null));
+
+		dispatcher.dispatchDueEvents();
+
+		verify(outboxService).markFailed(1L, "SMTP down");
+		verify(outboxService).markSent(List.of(2L));
+	}
+
+	@Test
+	void test_DispatchDueEvents_WhenDeliveryFailsAsynchronously_ShouldMarkEventAsFailed() throws Exception {
+		OutboxEvent first = event(1L);
+		OutboxEvent second = event(2L);
+		when(outboxService.claimDueEvents(10)).thenReturn(List.of(first, second));
+		when(handler.handle(first)).thenReturn(CompletableFuture.completedFuture(null));
+		when(handler.handle(second))
+				.thenReturn(CompletableFuture.failedFuture(new MailSendException("Mailbox unavailable")));
+
+		dispatcher.dispatchDueEvents();
+
+		verify(outboxService).markFailed(2L, "Mailbox unavailable");
+		verify(outboxService).markSent(List.of(1L));
+	}
+
+	@Test
+	void test_DispatchDueEvents_ShouldStartEveryDeliveryBeforeAwaitingAny() throws Exception {
+		OutboxEvent first = event(1L);
+		OutboxEvent second = event(2L);
+		CompletableFuture<Void> firstDelivery = new CompletableFuture<>();
+		when(outboxService.claimDueEvents(10)).thenReturn(List.of(first, second));
+		when(handler.handle(first)).thenReturn(firstDelivery);
+		// The first delivery only completes once the second has been started
+		when(handler.handle(second)).thenAnswer(invocation -> {
+			firstDelivery.complete(null);
+			return CompletableFuture.completedFuture(null);
+		});
+
+		dispatcher.dispatchDueEvents();
+
+		verify(outboxService).markSent(List.of(1L, 2L));
+	}
+
+	@Test
+	void test_DispatchDueEvents_WhenDeliveryIsNotConfirmedInTime_ShouldMarkEventAsFailed() throws Exception {
+		dispatcher = new OutboxDispatcher(outboxService, List.of(handler), 10, 10);
+		OutboxEvent first = event(1L);
+		when(outboxService.claimDueEvents(10)).thenReturn(List.of(first));
+		when(handler.handle(first)).thenReturn(new CompletableFuture<>());
+
+		dispatcher.dispatchDueEvents();
+
+		verify(outboxService).markFailed(1L, "Delivery not confirmed within 10 ms");
+		verify(outboxService).markSent(List.of());
+	}
+
+	@Test
+	void test_DispatchDueEvents_WhenNothingIsDue_ShouldNotMarkAnything() {
+		when(outboxService.claimDueEvents(anyInt())).thenReturn(List.of());
+
+		dispatcher.dispatchDueEvents();
+
+		verify(outboxService, never()).markSent(anyCollection());
+	}
+}
@@ -0,0 +1,122 @@
+package io.github.dariopipa.warehouse.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import io.github.dariopipa.warehouse.entities.User;
+import io.github.dariopipa.warehouse.utils.JwtUtils;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+	@Mock
+	private JwtUtils jwtUtils;
+
+	@Mock
+	private UserDetailsService userDetailsService;
+
+	private JwtAuthenticationFilter filter;
+	private Claims claims;
+
+	@BeforeEach
+	void setUp() {
+		filter = new JwtAuthenticationFilter(jwtUtils, userDetailsService, 30, 100);
+		claims = Jwts.claims().subject("testuser").build();
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	private MockHttpServletRequest requestWithToken() {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addHeader("Authorization", "Bearer token");
+		return request;
+	}
+
+	@Test
+	void test_Filter_WithClaimsPrincipal_ShouldAuthenticateWithoutUserLookup() throws Exception {
+		User user = new User();
+		user.setId(1L);
+		user.setUsername("testuser");
+		when(jwtUtils.parseClaims("token")).thenReturn(claims);
+		when(jwtUtils.getUserFromClaims(claims)).thenReturn(Optional.of(user));
+
+		filter.doFilter(requestWithToken(), new MockHttpServletResponse(), new MockFilterChain());
+
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		assertNotNull(authentication);
+		assertEquals(user, authentication.getPrincipal());
+		verify(userDetailsService, never()).loadUserByUsername(anyString());
+	}
+
+	@Test
+	void test_Filter_WithLegacyToken_ShouldLoadUserOnceAndCacheIt() throws Exception {
+		User user = new User();
+		user.setUsername("testuser");
+		when(jwtUtils.parseClaims("token")).thenReturn(claims);
+		when(jwtUtils.getUserFromClaims(claims)).thenReturn(Optional.empty());
+		when(userDetailsService.loadUserByUsername("testuser")).thenReturn(user);
+
+		filter.doFilter(requestWithToken(), new MockHttpServletResponse(), new MockFilterChain());
+		SecurityContextHolder.clearContext();
+		filter.doFilter(requestWithToken(), new MockHttpServletResponse(), new MockFilterChain());
+
+		assertEquals(user, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+		verify(userDetailsService, times(1)).loadUserByUsername("testuser");
+	}
+
+	@Test
+	void test_Filter_WithInvalidToken_ShouldNotAuthenticate() throws Exception {
+		when(jwtUtils.parseClaims("token")).thenThrow(new MalformedJwtException("bad token"));
+
+		filter.doFilter(requestWithToken(), new MockHttpServletResponse(), new MockFilterChain());
+
+		assertNull(SecurityContextHolder.getContext().getAuthentication());
+	}
+
+	@Test
+	void test_Filter_WhenLegacyTokenUserNoLongerExists_ShouldNotAuthenticate() throws Exception {
+		when(jwtUtils.parseClaims("token")).thenReturn(claims);
+		when(jwtUtils.getUserFromClaims(claims)).thenReturn(Optional.empty());
+		when(userDetailsService.loadUserByUsername("testuser")).thenThrow(new UsernameNotFoundException("gone"));
+
+		filter.doFilter(requestWithToken(), new MockHttpServletResponse(), new MockFilterChain());
+
+		assertNull(SecurityContextHolder.getContext().getAuthentication());
+	}
+
+	@Test
+	void test_Filter_WithoutAuthorizationHeader_ShouldNotParseAnything() throws Exception {
+		filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), new MockFilterChain());
+
+		verify(jwtUtils, never()).parseClaims(any());
+	}
+}
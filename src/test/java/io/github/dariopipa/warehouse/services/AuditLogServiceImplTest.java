@@ -2,6 +2,7 @@ package io.github.dariopipa.warehouse.services;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -49,6 +50,18 @@ class AuditLogServiceImplTest {
 		verify(auditLogRepository).save(any(AuditLog.class));
 	}
 
+	@Test
+	void test_SaveAll_ShouldInsertAllEventsInOneBatch() {
+		AuditLogEvent secondEvent = new AuditLogEvent(2L, AuditAction.DELETE, EntityType.PRODUCT, 200L,
+				"Product deleted");
+
+		auditLogService.saveAll(List.of(auditLogEvent, secondEvent));
+
+		verify(auditLogRepository).insertBatch(argThat(logs -> logs.size() == 2
+				&& logs.get(0).getCreatedAt().equals(auditLogEvent.getOccurredAt())
+				&& logs.get(1).getAction() == AuditAction.DELETE));
+	}
+
 	@Test
 	void test_FindAll_ShouldReturnPageOfAuditLogs() {
 		Pageable pageable = PageRequest.of(0, 10);
@@ -20,6 +20,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import io.github.dariopipa.warehouse.audit.AuditLogger;
+import io.github.dariopipa.warehouse.cache.RoleEmailsCache;
 import io.github.dariopipa.warehouse.dtos.requests.RegisterUserDTO;
 import io.github.dariopipa.warehouse.entities.Roles;
 import io.github.dariopipa.warehouse.entities.User;
@@ -45,6 +46,9 @@ class AuthServiceImplTest {
 	@Mock
 	private AuditLogger auditLogger;
 
+	@Mock
+	private RoleEmailsCache roleEmailsCache;
+
 	@InjectMocks
 	private AuthServiceImpl authService;
 
@@ -82,6 +86,7 @@ class AuthServiceImplTest {
 
 		assertEquals(user, result);
 		verify(userRepository).save(any(User.class));
+		verify(roleEmailsCache).evict(1L);
 		verify(auditLogger).log(1L, AuditAction.CREATE, EntityType.USER, 1L);
 	}
 
@@ -140,14 +145,14 @@ class AuthServiceImplTest {
 	}
 
 	@Test
-	void testFindEmailsByRole_ShouldReturnEmails() {
+	void testFindEmailsByRole_ShouldReturnCachedEmails() {
 		List<String> expectedEmails = List.of("admin1@example.com", "admin2@example.com");
-		when(userRepository.findEmailsByRole(RolesEnum.ROLE_ADMIN)).thenReturn(expectedEmails);
+		when(roleEmailsCache.findEmailsByRole(RolesEnum.ROLE_ADMIN)).thenReturn(expectedEmails);
 
 		List<String> result = authService.findEmailsByRole(RolesEnum.ROLE_ADMIN);
 
 		assertEquals(expectedEmails, result);
-		verify(userRepository).findEmailsByRole(RolesEnum.ROLE_ADMIN);
+		verify(roleEmailsCache).findEmailsByRole(RolesEnum.ROLE_ADMIN);
 	}
 
 	@Test
@@ -1,12 +1,15 @@
 package io.github.dariopipa.warehouse.services;
 
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,9 +17,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 
 import io.github.dariopipa.warehouse.dtos.requests.SendEmailDTO;
+import io.github.dariopipa.warehouse.mail.MailDispatcher;
 import jakarta.mail.internet.MimeMessage;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,6 +30,9 @@ class EmailServiceImplTest {
 	@Mock
 	private JavaMailSender javaMailSender;
 
+	@Mock
+	private MailDispatcher mailDispatcher;
+
 	@Mock
 	private MimeMessage mimeMessage;
 
@@ -43,78 +51,82 @@ class EmailServiceImplTest {
 	}
 
 	@Test
-	void test_SendEmail_ShouldCreateAndSendMimeMessage() throws Exception {
+	void test_SendEmail_ShouldCreateMessageAndHandItToDispatcher() throws Exception {
+		CompletableFuture<Void> delivery = new CompletableFuture<>();
 		when(javaMailSender.createMimeMessage()).thenReturn(mimeMessage);
+		when(mailDispatcher.submit(mimeMessage)).thenReturn(delivery);
 
-		emailService.sendEmail(emailDTO);
+		CompletableFuture<Void> result = emailService.sendEmail(emailDTO);
 
+		assertSame(delivery, result);
 		verify(javaMailSender, times(1)).createMimeMessage();
-		verify(javaMailSender, times(1)).send(mimeMessage);
+		verify(mailDispatcher, times(1)).submit(mimeMessage);
+		verify(javaMailSender, never()).send(any(MimeMessage.class));
 	}
 
 	@Test
-	void test_SendEmail_WithSingleRecipient_ShouldSendSuccessfully() throws Exception {
+	void test_SendEmail_WithSingleRecipient_ShouldSubmitMessage() throws Exception {
 		emailDTO.setTo(Arrays.asList("single@company.com"));
 		when(javaMailSender.createMimeMessage()).thenReturn(mimeMessage);
+		when(mailDispatcher.submit(mimeMessage)).thenReturn(CompletableFuture.completedFuture(null));
 
 		emailService.sendEmail(emailDTO);
 
-		verify(javaMailSender, times(1)).createMimeMessage();
-		verify(javaMailSender, times(1)).send(mimeMessage);
+		verify(mailDispatcher, times(1)).submit(mimeMessage);
 	}
 
 	@Test
-	void test_SendEmail_WhenJavaMailSenderThrowsException_ShouldHandleFine() throws Exception {
+	void test_SendEmail_WhenDeliveryFails_ShouldReturnFailedFuture() throws Exception {
 		when(javaMailSender.createMimeMessage()).thenReturn(mimeMessage);
-		doThrow(new RuntimeException("Mail server error")).when(javaMailSender).send(any(MimeMessage.class));
+		when(mailDispatcher.submit(mimeMessage))
+				.thenReturn(CompletableFuture.failedFuture(new MailSendException("Mail server error")));
 
-		emailService.sendEmail(emailDTO);
+		CompletableFuture<Void> result = emailService.sendEmail(emailDTO);
 
-		verify(javaMailSender, times(1)).createMimeMessage();
-		verify(javaMailSender, times(1)).send(mimeMessage);
+		assertTrue(result.isCompletedExceptionally());
 	}
 
 	@Test
-	void test_SendEmail_WhenCreateMimeMessageThrowsException_ShouldHandleFine() throws Exception {
+	void test_SendEmail_WhenCreateMimeMessageThrowsException_ShouldReturnFailedFutureAndNotSubmit() throws Exception {
 		when(javaMailSender.createMimeMessage()).thenThrow(new RuntimeException("Failed to create message"));
 
-		emailService.sendEmail(emailDTO);
+		CompletableFuture<Void> result = emailService.sendEmail(emailDTO);
 
-		verify(javaMailSender, times(1)).createMimeMessage();
-		verify(javaMailSender, times(0)).send(any(MimeMessage.class));
+		assertTrue(result.isCompletedExceptionally());
+		verify(mailDispatcher, never()).submit(any());
 	}
 
 	@Test
 	void test_SendEmail_WithEmptyRecipientList_ShouldAttemptToSend() throws Exception {
 		emailDTO.setTo(Arrays.asList());
 		when(javaMailSender.createMimeMessage()).thenReturn(mimeMessage);
+		when(mailDispatcher.submit(mimeMessage)).thenReturn(CompletableFuture.completedFuture(null));
 
 		emailService.sendEmail(emailDTO);
 
-		verify(javaMailSender, times(1)).createMimeMessage();
-		verify(javaMailSender, times(1)).send(mimeMessage);
+		verify(mailDispatcher, times(1)).submit(mimeMessage);
 	}
 
 	@Test
-	void test_SendEmail_WithNullBody_ShouldHandleFine() throws Exception {
+	void test_SendEmail_WithNullBody_ShouldReturnFailedFutureAndNotSubmit() throws Exception {
 		emailDTO.setBody(null);
 		when(javaMailSender.createMimeMessage()).thenReturn(mimeMessage);
 
-		emailService.sendEmail(emailDTO);
+		CompletableFuture<Void> result = emailService.sendEmail(emailDTO);
 
-		verify(javaMailSender, times(1)).createMimeMessage();
-		verify(javaMailSender, times(0)).send(any(MimeMessage.class));
+		assertTrue(result.isCompletedExceptionally());
+		verify(mailDispatcher, never()).submit(any());
 	}
 
 	@Test
-	void test_SendEmail_WithLongSubjectAndBody_ShouldSendSuccessfully() throws Exception {
+	void test_SendEmail_WithLongSubjectAndBody_ShouldSubmitMessage() throws Exception {
 		emailDTO.setSubject("Very Long Subject ".repeat(10));
 		emailDTO.setBody("Very Long Body Content ".repeat(100));
 		when(javaMailSender.createMimeMessage()).thenReturn(mimeMessage);
+		when(mailDispatcher.submit(mimeMessage)).thenReturn(CompletableFuture.completedFuture(null));
 
 		emailService.sendEmail(emailDTO);
 
-		verify(javaMailSender, times(1)).createMimeMessage();
-		verify(javaMailSender, times(1)).send(mimeMessage);
+		verify(mailDispatcher, times(1)).submit(mimeMessage);
 	}
 }
@@ -0,0 +1,112 @@
+package io.github.dariopipa.warehouse.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.dariopipa.warehouse.entities.OutboxEvent;
+import io.github.dariopipa.warehouse.enums.OutboxEventType;
+import io.github.dariopipa.warehouse.enums.OutboxStatus;
+import io.github.dariopipa.warehouse.events.LowStockAlertPayload;
+import io.github.dariopipa.warehouse.repositories.OutboxEventRepository;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceImplTest {
+
+	@Mock
+	private OutboxEventRepository outboxEventRepository;
+
+	private OutboxServiceImpl outboxService;
+
+	@BeforeEach
+	void setUp() {
+		outboxService = new OutboxServiceImpl(outboxEventRepository, new ObjectMapper());
+		ReflectionTestUtils.setField(outboxService, "maxAttempts", 3);
+		ReflectionTestUtils.setField(outboxService, "initialBackoffMs", 1000L);
+		ReflectionTestUtils.setField(outboxService, "maxBackoffMs", 3000L);
+		ReflectionTestUtils.setField(outboxService, "leaseMs", 60000L);
+	}
+
+	@Test
+	void test_Enqueue_ShouldSavePendingEventWithJsonPayload() {
+		when(outboxEventRepository.save(any(OutboxEvent.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+		outboxService.enqueue(OutboxEventType.LOW_STOCK_ALERT, 7L, new LowStockAlertPayload(1L, 7L, 2, 10));
+
+		verify(outboxEventRepository).save(argThat(event -> event.getEventType() == OutboxEventType.LOW_STOCK_ALERT
+				&& event.getAggregateId().equals(7L) && event.getStatus() == OutboxStatus.PENDING
+				&& event.getPayload().contains("\"stockAlertId\":1") && event.getNextAttemptAt() != null));
+	}
+
+	@Test
+	void test_ClaimDueEvents_ShouldLeaseClaimedEvents() {
+		OutboxEvent event = new OutboxEvent(OutboxEventType.LOW_STOCK_ALERT, 1L, "{}");
+		when(outboxEventRepository.findDueForUpdate(eq(OutboxStatus.PENDING), any(Instant.class), eq(Limit.of(10))))
+				.thenReturn(List.of(event));
+
+		List<OutboxEvent> claimed = outboxService.claimDueEvents(10);
+
+		assertEquals(1, claimed.size());
+		assertTrue(event.getNextAttemptAt().isAfter(Instant.now().plusSeconds(30)));
+	}
+
+	@Test
+	void test_MarkSent_WithNoIds_ShouldNotTouchDatabase() {
+		outboxService.markSent(List.of());
+
+		verify(outboxEventRepository, never()).updateStatus(any(), any(), any());
+	}
+
+	@Test
+	void test_MarkFailed_ShouldScheduleRetryWithBackoff() {
+		OutboxEvent event = new OutboxEvent(OutboxEventType.LOW_STOCK_ALERT, 1L, "{}");
+		when(outboxEventRepository.findById(1L)).thenReturn(Optional.of(event));
+
+		outboxService.markFailed(1L, "SMTP down");
+
+		assertEquals(1, event.getAttempts());
+		assertEquals(OutboxStatus.PENDING, event.getStatus());
+		assertEquals("SMTP down", event.getLastError());
+		assertTrue(event.getNextAttemptAt().isAfter(Instant.now()));
+	}
+
+	@Test
+	void test_MarkFailed_WhenMaxAttemptsReached_ShouldMarkAsFailed() {
+		OutboxEvent event = new OutboxEvent(OutboxEventType.LOW_STOCK_ALERT, 1L, "{}");
+		event.setAttempts(2);
+		when(outboxEventRepository.findById(1L)).thenReturn(Optional.of(event));
+
+		outboxService.markFailed(1L, "SMTP down");
+
+		assertEquals(OutboxStatus.FAILED, event.getStatus());
+		assertEquals(3, event.getAttempts());
+	}
+
+	@Test
+	void test_BackoffFor_ShouldDoubleUntilMaximum() {
+		assertEquals(Duration.ofMillis(1000), outboxService.backoffFor(1));
+		assertEquals(Duration.ofMillis(2000), outboxService.backoffFor(2));
+		assertEquals(Duration.ofMillis(3000), outboxService.backoffFor(3));
+		assertEquals(Duration.ofMillis(3000), outboxService.backoffFor(40));
+	}
+}
@@ -0,0 +1,133 @@
+package io.github.dariopipa.warehouse.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.dariopipa.warehouse.entities.Product;
+import io.github.dariopipa.warehouse.entities.ProductType;
+import io.github.dariopipa.warehouse.exports.ProductExportFormat;
+import io.github.dariopipa.warehouse.repositories.ProductRepository;
+import jakarta.persistence.EntityManager;
+
+@ExtendWith(MockitoExtension.class)
+class ProductExportServiceImplTest {
+
+	@Mock
+	private ProductRepository productRepository;
+
+	@Mock
+	private EntityManager entityManager;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private ProductExportServiceImpl productExportService;
+	private Product hammer;
+	private Product saw;
+
+	@BeforeEach
+	void setUp() {
+		productExportService = new ProductExportServiceImpl(productRepository, entityManager, objectMapper);
+
+		ProductType productType = new ProductType();
+		productType.setId(3L);
+		productType.setName("Tools");
+
+		hammer = createProduct(1L, "Hammer", "Claw, steel", productType);
+		saw = createProduct(2L, "Saw", "Cuts \"wood\"", productType);
+		saw.setWeight(null);
+	}
+
+	@Test
+	void exportProducts_ShouldWriteOneJsonObjectPerLine() throws IOException {
+		when(productRepository.streamAllByOrderById()).thenReturn(Stream.of(hammer, saw));
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		long count = productExportService.exportProducts(output, ProductExportFormat.ndjson);
+
+		String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+		assertEquals(2, count);
+		assertEquals(2, lines.length);
+
+		JsonNode first = objectMapper.readTree(lines[0]);
+		assertEquals(1L, first.get("id").asLong());
+		assertEquals("SKU-1", first.get("sku").asText());
+		assertEquals("Tools", first.get("productTypeName").asText());
+		assertEquals("2025-01-01T00:00:00Z", first.get("createdAt").asText());
+		assertTrue(objectMapper.readTree(lines[1]).get("weight").isNull());
+	}
+
+	@Test
+	void exportProducts_ShouldWriteCsvWithHeader() throws IOException {
+		when(productRepository.streamAllByOrderById()).thenReturn(Stream.of(hammer, saw));
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		productExportService.exportProducts(output, ProductExportFormat.csv);
+
+		String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+		assertEquals(3, lines.length);
+		assertTrue(lines[0].startsWith("id,sku,name,description,"));
+		assertEquals("1,SKU-1,Hammer,\"Claw, steel\",10,2,1.5,2.0,3.0,3,Tools,2025-01-01T00:00:00Z,1,"
+				+ "2025-01-01T00:00:00Z,1", lines[1]);
+		assertTrue(lines[2].startsWith("2,SKU-2,Saw,\"Cuts \"\"wood\"\"\",10,2,,2.0,"));
+	}
+
+	@Test
+	void exportProducts_ShouldDetachWrittenProductsAndCloseTheStream() throws IOException {
+		AtomicBoolean closed = new AtomicBoolean();
+		when(productRepository.streamAllByOrderById())
+				.thenReturn(Stream.of(hammer, saw).onClose(() -> closed.set(true)));
+
+		productExportService.exportProducts(new ByteArrayOutputStream(), ProductExportFormat.ndjson);
+
+		verify(entityManager).detach(hammer);
+		verify(entityManager).detach(saw);
+		assertTrue(closed.get());
+	}
+
+	@Test
+	void exportProducts_WithNoProducts_ShouldWriteOnlyTheCsvHeader() throws IOException {
+		when(productRepository.streamAllByOrderById()).thenReturn(Stream.empty());
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		long count = productExportService.exportProducts(output, ProductExportFormat.csv);
+
+		assertEquals(0, count);
+		assertTrue(output.toString(StandardCharsets.UTF_8).startsWith("id,sku,"));
+	}
+
+	private static Product createProduct(Long id, String name, String description, ProductType productType) {
+		Product product = new Product();
+		product.setId(id);
+		product.setSku("SKU-" + id);
+		product.setName(name);
+		product.setDescription(description);
+		product.setQuantity(10);
+		product.setLowStockThreshold(2);
+		product.setWeight(1.5);
+		product.setHeight(2.0);
+		product.setLength(3.0);
+		product.setProductType(productType);
+		product.setCreatedAt(Instant.parse("2025-01-01T00:00:00Z"));
+		product.setUpdatedAt(Instant.parse("2025-01-01T00:00:00Z"));
+		product.setCreatedBy(1L);
+		product.setUpdatedBy(1L);
+		return product;
+	}
+}
@@ -0,0 +1,232 @@
+package io.github.dariopipa.warehouse.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.dariopipa.warehouse.dtos.responses.BulkImportResponseDTO;
+import io.github.dariopipa.warehouse.entities.Product;
+import io.github.dariopipa.warehouse.entities.ProductType;
+import io.github.dariopipa.warehouse.imports.ProductImportBatchWriter;
+import io.github.dariopipa.warehouse.imports.ProductImportFormat;
+import io.github.dariopipa.warehouse.repositories.ProductRepository;
+import io.github.dariopipa.warehouse.repositories.ProductTypeRepository;
+import io.github.dariopipa.warehouse.services.interfaces.SkuGeneratorService;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportServiceImplTest {
+
+	private static final String HEADER = "name,description,quantity,lowStockThreshold,weight,height,length,productTypeId\n";
+
+	@Mock
+	private ProductRepository productRepository;
+
+	@Mock
+	private ProductTypeRepository productTypeRepository;
+
+	@Mock
+	private SkuGeneratorService skuGeneratorService;
+
+	@Mock
+	private ProductImportBatchWriter batchWriter;
+
+	private ValidatorFactory validatorFactory;
+	private ProductImportServiceImpl productImportService;
+	private ProductType productType;
+
+	@BeforeEach
+	void setUp() {
+		validatorFactory = Validation.buildDefaultValidatorFactory();
+		productImportService = new ProductImportServiceImpl(productRepository, productTypeRepository,
+				skuGeneratorService, batchWriter, validatorFactory.getValidator(), new ObjectMapper(), 2, 10);
+
+		productType = new ProductType();
+		productType.setId(1L);
+		productType.setName("Tools");
+
+		lenient().when(productTypeRepository.findAllById(any())).thenReturn(List.of(productType));
+		lenient().when(skuGeneratorService.generateSku(anyString(), anyString()))
+				.thenAnswer(invocation -> "SKU-" + invocation.getArgument(0));
+		lenient().when(batchWriter.insert(anyList(), eq(1L)))
+				.thenAnswer(invocation -> ids(invocation.<List<Product>>getArgument(0).size()));
+	}
+
+	@AfterEach
+	void tearDown() {
+		validatorFactory.close();
+	}
+
+	@Test
+	void importProducts_ShouldInsertRowsInBatches() throws IOException {
+		BulkImportResponseDTO report = importCsv(
+				HEADER + row("Hammer", 1) + row("Saw", 1) + row("Drill", 1));
+
+		assertEquals(3, report.getTotalRows());
+		assertEquals(3, report.getImported());
+		assertEquals(0, report.getFailed());
+		verify(batchWriter, times(2)).insert(anyList(), eq(1L));
+		verify(productTypeRepository, times(1)).findAllById(any());
+	}
+
+	@Test
+	void importProducts_ShouldReportInvalidRowsAndKeepGoing() throws IOException {
+		BulkImportResponseDTO report = importCsv(HEADER + row("Hammer", 1)
+				+ "Saw,Cuts,-1,1,1.0,1.0,1.0,1\n" + "Drill,Bores,abc,1,1.0,1.0,1.0,1\n");
+
+		assertEquals(3, report.getTotalRows());
+		assertEquals(1, report.getImported());
+		assertEquals(2, report.getFailed());
+		assertEquals(3, report.getErrors().get(0).getLine());
+		assertEquals("quantity: must be greater than or equal to 0", report.getErrors().get(0).getError());
+		assertEquals(4, report.getErrors().get(1).getLine());
+		assertNull(report.getErrors().get(1).getName());
+	}
+
+	@Test
+	void importProducts_ShouldRejectUnknownProductType() throws IOException {
+		BulkImportResponseDTO report = importCsv(HEADER + row("Hammer", 1) + row("Saw", 9));
+
+		assertEquals(1, report.getImported());
+		assertEquals("Product type not found with id: 9", report.getErrors().get(0).getError());
+	}
+
+	@Test
+	void importProducts_ShouldRejectDuplicateNames() throws IOException {
+		when(productRepository.findExistingNames(anyCollection())).thenReturn(List.of("Hammer"));
+
+		BulkImportResponseDTO report = importCsv(HEADER + row("Hammer", 1) + row("Saw", 1) + row("Saw", 1));
+
+		assertEquals(1, report.getImported());
+		assertEquals(2, report.getFailed());
+		assertEquals("Hammer", report.getErrors().get(0).getName());
+		assertEquals(4, report.getErrors().get(1).getLine());
+		assertEquals("Product already exists with that name", report.getErrors().get(1).getError());
+	}
+
+	@Test
+	void importProducts_ShouldRejectSkuCollisionsBeforeInserting() throws IOException {
+		when(productRepository.findExistingSkus(anyCollection())).thenReturn(List.of("SKU-Saw"));
+
+		BulkImportResponseDTO report = importCsv(HEADER + row("Hammer", 1) + row("Saw", 1));
+
+		assertEquals(1, report.getImported());
+		assertEquals("Sku already exists: SKU-Saw", report.getErrors().get(0).getError());
+		verify(batchWriter).insert(argThat(products -> products.size() == 1), eq(1L));
+	}
+
+	@Test
+	void importProducts_ShouldRetryRowByRow_WhenBatchIsRejected() throws IOException {
+		when(batchWriter.insert(argThat(products -> products != null && products.size() == 2), eq(1L)))
+				.thenThrow(new DataIntegrityViolationException("duplicate sku", duplicateSku()));
+		when(batchWriter.insert(argThat(products -> products != null && products.size() == 1
+				&& products.get(0).getName().equals("Saw")), eq(1L)))
+				.thenThrow(new DataIntegrityViolationException("duplicate sku", duplicateSku()));
+
+		BulkImportResponseDTO report = importCsv(HEADER + row("Hammer", 1) + row("Saw", 1));
+
+		assertEquals(1, report.getImported());
+		assertEquals(1, report.getFailed());
+		assertEquals("Saw", report.getErrors().get(0).getName());
+		assertEquals("Sku already exists: SKU-Saw", report.getErrors().get(0).getError());
+	}
+
+	@Test
+	void importProducts_ShouldReportRootCause_WhenRowFailsOnOtherConstraint() throws IOException {
+		SQLException foreignKey = new SQLException("Referential integrity constraint violation: FK_PRODUCT_TYPE",
+				"23506");
+		when(batchWriter.insert(argThat(products -> products != null && products.size() == 2), eq(1L)))
+				.thenThrow(new DataIntegrityViolationException("could not execute batch", foreignKey));
+		when(batchWriter.insert(argThat(products -> products != null && products.size() == 1
+				&& products.get(0).getName().equals("Saw")), eq(1L)))
+				.thenThrow(new DataIntegrityViolationException("could not execute statement", foreignKey));
+
+		BulkImportResponseDTO report = importCsv(HEADER + row("Hammer", 1) + row("Saw", 1));
+
+		assertEquals(1, report.getFailed());
+		assertEquals("Referential integrity constraint violation: FK_PRODUCT_TYPE",
+				report.getErrors().get(0).getError());
+	}
+
+	private static SQLException duplicateSku() {
+		return new SQLException("Unique index or primary key violation: PUBLIC.PRODUCT(SKU)", "23505");
+	}
+
+	@Test
+	void importProducts_ShouldCapReportedErrors() throws IOException {
+		StringBuilder csv = new StringBuilder(HEADER);
+		for (int i = 0; i < 12; i++) {
+			csv.append("x,,,,,,,\n");
+		}
+
+		BulkImportResponseDTO report = importCsv(csv.toString());
+
+		assertEquals(12, report.getFailed());
+		assertEquals(10, report.getErrors().size());
+		assertTrue(report.isErrorsTruncated());
+		verify(batchWriter, never()).insert(anyList(), any());
+	}
+
+	@Test
+	void importProducts_ShouldReadNdjson() throws IOException {
+		String ndjson = """
+				{"name":"Hammer","description":"Hits","quantity":1,"lowStockThreshold":1,"weight":1.0,"height":1.0,"length":1.0,"productTypeId":1}
+
+				{"name":
+				""";
+
+		BulkImportResponseDTO report = productImportService.importProducts(stream(ndjson), ProductImportFormat.ndjson,
+				1L);
+
+		assertEquals(2, report.getTotalRows());
+		assertEquals(1, report.getImported());
+		assertEquals(3, report.getErrors().get(0).getLine());
+		assertFalse(report.isErrorsTruncated());
+	}
+
+	private BulkImportResponseDTO importCsv(String csv) throws IOException {
+		return productImportService.importProducts(stream(csv), ProductImportFormat.csv, 1L);
+	}
+
+	private static String row(String name, long productTypeId) {
+		return name + ",Description of " + name + ",10,2,1.5,2.0,3.0," + productTypeId + "\n";
+	}
+
+	private static InputStream stream(String text) {
+		return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static List<Long> ids(int count) {
+		return java.util.stream.LongStream.rangeClosed(1, count).boxed().toList();
+	}
+}
@@ -1,7 +1,11 @@
 package io.github.dariopipa.warehouse.services;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -13,7 +17,6 @@ import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -21,23 +24,35 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import io.github.dariopipa.warehouse.audit.AuditLogger;
+import io.github.dariopipa.warehouse.cache.CacheInvalidationBus;
+import io.github.dariopipa.warehouse.cache.ProductSnapshotCache;
 import io.github.dariopipa.warehouse.dtos.requests.CreateProductDTO;
 import io.github.dariopipa.warehouse.dtos.requests.UpdateProductRequestDTO;
+import io.github.dariopipa.warehouse.dtos.requests.UpdateQuantityItemDTO;
 import io.github.dariopipa.warehouse.dtos.requests.UpdateQuantityRequestDTO;
+import io.github.dariopipa.warehouse.dtos.responses.BatchQuantityUpdateResponseDTO;
 import io.github.dariopipa.warehouse.dtos.responses.ProductGetOneResponseDTO;
 import io.github.dariopipa.warehouse.entities.Product;
 import io.github.dariopipa.warehouse.entities.ProductType;
 import io.github.dariopipa.warehouse.enums.AuditAction;
+import io.github.dariopipa.warehouse.enums.BatchUpdateModeEnum;
 import io.github.dariopipa.warehouse.enums.EntityType;
 import io.github.dariopipa.warehouse.enums.OperationsType;
 import io.github.dariopipa.warehouse.exceptions.ConflictException;
 import io.github.dariopipa.warehouse.exceptions.EntityNotFoundException;
+import io.github.dariopipa.warehouse.exceptions.PreconditionFailedException;
 import io.github.dariopipa.warehouse.repositories.ProductRepository;
+import io.github.dariopipa.warehouse.repositories.StockLevel;
 import io.github.dariopipa.warehouse.services.interfaces.ProductTypeService;
 import io.github.dariopipa.warehouse.services.interfaces.SkuGeneratorService;
-import io.github.dariopipa.warehouse.services.interfaces.StockAlertService;
+import io.github.dariopipa.warehouse.stock.QuantityDelta;
+import io.github.dariopipa.warehouse.stock.QuantityDeltaApplier;
+import io.github.dariopipa.warehouse.stock.QuantityDeltaResult;
+import io.github.dariopipa.warehouse.stock.StockDeltaCoalescer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class ProductServiceImplTest {
@@ -55,9 +70,14 @@ class ProductServiceImplTest {
 	private AuditLogger auditLogger;
 
 	@Mock
-	private StockAlertService stockAlertService;
+	private QuantityDeltaApplier quantityDeltaApplier;
+
+	@Mock
+	private StockDeltaCoalescer stockDeltaCoalescer;
+
+	@Mock
+	private CacheInvalidationBus cacheInvalidationBus;
 
-	@InjectMocks
 	private ProductServiceImpl productService;
 
 	private CreateProductDTO createProductDTO;
@@ -69,6 +89,10 @@ class ProductServiceImplTest {
 
 	@BeforeEach
 	void setUp() {
+		productService = new ProductServiceImpl(productRepository, productTypeService, skuGeneratorService,
+				auditLogger, quantityDeltaApplier, stockDeltaCoalescer, null,
+				new ProductSnapshotCache(productRepository, cacheInvalidationBus, new SimpleMeterRegistry(), 100, 60));
+
 		productType = new ProductType();
 		productType.setId(1L);
 		productType.setName("Electronics");
@@ -112,12 +136,12 @@ class ProductServiceImplTest {
 	void test_Save_ShouldCreateProductAndReturnId() {
 		when(productTypeService.getProductType(1L)).thenReturn(productType);
 		when(skuGeneratorService.generateSku(anyString(), anyString())).thenReturn("SKU123");
-		when(productRepository.save(any(Product.class))).thenReturn(product);
+		when(productRepository.saveAndFlush(any(Product.class))).thenReturn(product);
 
 		Long result = productService.save(createProductDTO, 1L);
 
 		assertEquals(1L, result);
-		verify(productRepository).save(any(Product.class));
+		verify(productRepository).saveAndFlush(any(Product.class));
 		verify(auditLogger).log(1L, AuditAction.CREATE, EntityType.PRODUCT, 1L);
 	}
 
@@ -125,7 +149,7 @@ class ProductServiceImplTest {
 	void test_Save_WithDataIntegrityViolation_ShouldThrowConflictException() {
 		when(productTypeService.getProductType(1L)).thenReturn(productType);
 		when(skuGeneratorService.generateSku(anyString(), anyString())).thenReturn("SKU123");
-		when(productRepository.save(any(Product.class)))
+		when(productRepository.saveAndFlush(any(Product.class)))
 				.thenThrow(new DataIntegrityViolationException("Duplicate SKU"));
 
 		assertThrows(ConflictException.class, () -> {
@@ -137,19 +161,64 @@ class ProductServiceImplTest {
 	void test_Update_ShouldUpdateProductSuccessfully() {
 		when(productRepository.findById(1L)).thenReturn(Optional.of(product));
 		when(productTypeService.getProductType(1L)).thenReturn(productType);
+		when(productRepository.saveAndFlush(product)).thenAnswer(invocation -> {
+			product.setVersion(4L);
+			return product;
+		});
 
-		productService.update(1L, updateProductRequestDTO, 1L);
+		ProductGetOneResponseDTO updated = productService.update(1L, updateProductRequestDTO, null, 1L);
 
+		assertEquals(4L, updated.getVersion());
 		verify(productRepository).findById(1L);
 		verify(auditLogger).log(1L, AuditAction.UPDATE, EntityType.PRODUCT, 1L);
 	}
 
+	@Test
+	void test_Update_WithStaleVersion_ShouldThrowPreconditionFailed() {
+		product.setVersion(3L);
+		when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+
+		assertThrows(PreconditionFailedException.class, () -> {
+			productService.update(1L, updateProductRequestDTO, 2L, 1L);
+		});
+
+		verify(productRepository, never()).saveAndFlush(any(Product.class));
+		verify(auditLogger, never()).log(1L, AuditAction.UPDATE, EntityType.PRODUCT, 1L);
+	}
+
+	@Test
+	void test_Update_WhenConcurrentWriteWinsAfterVersionCheck_ShouldThrowPreconditionFailed() {
+		product.setVersion(3L);
+		when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+		when(productTypeService.getProductType(1L)).thenReturn(productType);
+		when(productRepository.saveAndFlush(product))
+				.thenThrow(new ObjectOptimisticLockingFailureException(Product.class, 1L));
+
+		assertThrows(PreconditionFailedException.class, () -> {
+			productService.update(1L, updateProductRequestDTO, 3L, 1L);
+		});
+
+		verify(auditLogger, never()).log(1L, AuditAction.UPDATE, EntityType.PRODUCT, 1L);
+	}
+
+	@Test
+	void test_Update_WithoutVersionWhenConcurrentWriteWins_ShouldKeepOptimisticLockFailure() {
+		when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+		when(productTypeService.getProductType(1L)).thenReturn(productType);
+		when(productRepository.saveAndFlush(product))
+				.thenThrow(new ObjectOptimisticLockingFailureException(Product.class, 1L));
+
+		assertThrows(ObjectOptimisticLockingFailureException.class, () -> {
+			productService.update(1L, updateProductRequestDTO, null, 1L);
+		});
+	}
+
 	@Test
 	void test_Update_WithNonExistentProduct_ShouldThrowException() {
 		when(productRepository.findById(1L)).thenReturn(Optional.empty());
 
 		assertThrows(EntityNotFoundException.class, () -> {
-			productService.update(1L, updateProductRequestDTO, 1L);
+			productService.update(1L, updateProductRequestDTO, null, 1L);
 		});
 	}
 
@@ -194,6 +263,29 @@ class ProductServiceImplTest {
 		verify(productRepository).findById(1L);
 	}
 
+	@Test
+	void test_GetById_ShouldServeRepeatedReadsFromCache() {
+		when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+
+		productService.getById(1L);
+		ProductGetOneResponseDTO result = productService.getById(1L);
+
+		assertEquals("Electronics", result.getProductType().getName());
+		verify(productRepository, times(1)).findById(1L);
+	}
+
+	@Test
+	void test_UpdateQuantity_ShouldEvictCachedProduct() {
+		when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+		when(quantityDeltaApplier.apply(any(QuantityDelta.class))).thenReturn(new StockLevel(150, 10));
+		productService.getById(1L);
+
+		productService.updateQuantity(1L, updateQuantityRequestDTO, 1L);
+		productService.getById(1L);
+
+		verify(productRepository, times(2)).findById(1L);
+	}
+
 	@Test
 	void test_GetById_WithNonExistentProduct_ShouldThrowException() {
 		when(productRepository.findById(1L)).thenReturn(Optional.empty());
@@ -204,29 +296,41 @@ class ProductServiceImplTest {
 	}
 
 	@Test
-	void test_UpdateQuantity_WithIncreaseOperation_ShouldIncreaseQuantity() {
-		when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+	void test_UpdateQuantity_WithIncreaseOperation_ShouldApplyPositiveDelta() {
+		when(quantityDeltaApplier.apply(any(QuantityDelta.class))).thenReturn(new StockLevel(150, 10));
 
 		productService.updateQuantity(1L, updateQuantityRequestDTO, 1L);
 
-		verify(productRepository).findById(1L);
-		verify(auditLogger).logQuantityUpdate(1L, EntityType.PRODUCT, 1L, OperationsType.INCREASE, 150);
+		verify(productRepository, never()).findById(1L);
+		verify(quantityDeltaApplier).apply(argThat(delta -> delta.getProductId() == 1L && delta.getDelta() == 50
+				&& delta.getUserId() == 1L && delta.getOperation() == OperationsType.INCREASE));
 	}
 
 	@Test
-	void test_UpdateQuantity_WithDecreaseOperation_ShouldDecreaseQuantity() {
+	void test_UpdateQuantity_WithDecreaseOperation_ShouldApplyNegativeDelta() {
 		updateQuantityRequestDTO.setOperation(OperationsType.DECREASE);
-		when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+		when(quantityDeltaApplier.apply(any(QuantityDelta.class))).thenReturn(new StockLevel(50, 10));
 
 		productService.updateQuantity(1L, updateQuantityRequestDTO, 1L);
 
-		verify(productRepository).findById(1L);
-		verify(auditLogger).logQuantityUpdate(1L, EntityType.PRODUCT, 1L, OperationsType.DECREASE, 50);
+		verify(quantityDeltaApplier).apply(argThat(delta -> delta.getDelta() == -50));
+	}
+
+	@Test
+	void test_UpdateQuantity_WithCoalescingEnabled_ShouldGoThroughCoalescer() {
+		when(stockDeltaCoalescer.isEnabled()).thenReturn(true);
+		when(stockDeltaCoalescer.apply(any(QuantityDelta.class))).thenReturn(new StockLevel(150, 10));
+
+		productService.updateQuantity(1L, updateQuantityRequestDTO, 1L);
+
+		verify(stockDeltaCoalescer).apply(argThat(delta -> delta.getDelta() == 50));
+		verify(quantityDeltaApplier, never()).apply(any());
 	}
 
 	@Test
 	void test_UpdateQuantity_WithNonExistentProduct_ShouldThrowException() {
-		when(productRepository.findById(1L)).thenReturn(Optional.empty());
+		when(quantityDeltaApplier.apply(any(QuantityDelta.class)))
+				.thenThrow(new EntityNotFoundException("Product not found with id: 1"));
 
 		assertThrows(EntityNotFoundException.class, () -> {
 			productService.updateQuantity(1L, updateQuantityRequestDTO, 1L);
@@ -251,4 +355,49 @@ class ProductServiceImplTest {
 			productService.getProductEntityById(1L);
 		});
 	}
+
+	@Test
+	void test_UpdateQuantities_InAtomicMode_ShouldApplyAllOrNothing() {
+		when(quantityDeltaApplier.applyAllOrNothing(anyList())).thenAnswer(invocation -> invocation
+				.<List<QuantityDelta>>getArgument(0).stream()
+				.map(delta -> QuantityDeltaResult.applied(delta, new StockLevel(100 + delta.getDelta(), 10))).toList());
+
+		BatchQuantityUpdateResponseDTO response = productService.updateQuantities(
+				List.of(quantityItem(1L, OperationsType.INCREASE, 5), quantityItem(2L, OperationsType.DECREASE, 3)),
+				BatchUpdateModeEnum.atomic, 1L);
+
+		assertEquals(2, response.getApplied());
+		assertEquals(0, response.getRejected());
+		assertEquals(105, response.getResults().get(0).getQuantity());
+		assertEquals(97, response.getResults().get(1).getQuantity());
+		verify(quantityDeltaApplier, never()).applyAll(anyList());
+		verify(stockDeltaCoalescer, never()).apply(any());
+	}
+
+	@Test
+	void test_UpdateQuantities_InPartialMode_ShouldReportRejectedItems() {
+		QuantityDelta applied = QuantityDelta.of(1L, OperationsType.INCREASE, 5, 1L);
+		QuantityDelta rejected = QuantityDelta.of(2L, OperationsType.DECREASE, 50, 1L);
+		when(quantityDeltaApplier.applyAll(anyList())).thenReturn(List.of(
+				QuantityDeltaResult.applied(applied, new StockLevel(105, 10)), QuantityDeltaResult.rejected(rejected,
+						new IllegalArgumentException("Product quantity cannot be reduced to less than 0"))));
+
+		BatchQuantityUpdateResponseDTO response = productService.updateQuantities(
+				List.of(quantityItem(1L, OperationsType.INCREASE, 5), quantityItem(2L, OperationsType.DECREASE, 50)),
+				BatchUpdateModeEnum.partial, 1L);
+
+		assertEquals(1, response.getApplied());
+		assertEquals(1, response.getRejected());
+		assertEquals(2L, response.getResults().get(1).getId());
+		assertEquals("Product quantity cannot be reduced to less than 0", response.getResults().get(1).getError());
+		verify(quantityDeltaApplier, never()).applyAllOrNothing(anyList());
+	}
+
+	private static UpdateQuantityItemDTO quantityItem(Long id, OperationsType operation, int quantity) {
+		UpdateQuantityItemDTO item = new UpdateQuantityItemDTO();
+		item.setId(id);
+		item.setOperation(operation);
+		item.setQuantity(quantity);
+		return item;
+	}
 }
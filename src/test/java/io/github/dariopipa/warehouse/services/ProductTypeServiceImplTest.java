@@ -1,9 +1,11 @@
 package io.github.dariopipa.warehouse.services;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.util.List;
@@ -12,7 +14,6 @@ import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
@@ -21,6 +22,9 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import io.github.dariopipa.warehouse.audit.AuditLogger;
+import io.github.dariopipa.warehouse.cache.CacheInvalidationBus;
+import io.github.dariopipa.warehouse.cache.ProductSnapshotCache;
+import io.github.dariopipa.warehouse.cache.ProductTypeCache;
 import io.github.dariopipa.warehouse.dtos.requests.ProductTypesDTO;
 import io.github.dariopipa.warehouse.dtos.responses.ProductTypeResponseDTO;
 import io.github.dariopipa.warehouse.entities.ProductType;
@@ -29,6 +33,7 @@ import io.github.dariopipa.warehouse.enums.EntityType;
 import io.github.dariopipa.warehouse.exceptions.ConflictException;
 import io.github.dariopipa.warehouse.exceptions.EntityNotFoundException;
 import io.github.dariopipa.warehouse.repositories.ProductTypeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class ProductTypeServiceImplTest {
@@ -39,7 +44,12 @@ class ProductTypeServiceImplTest {
 	@Mock
 	private AuditLogger auditLogger;
 
-	@InjectMocks
+	@Mock
+	private ProductSnapshotCache productSnapshotCache;
+
+	@Mock
+	private CacheInvalidationBus cacheInvalidationBus;
+
 	private ProductTypeServiceImpl productTypeService;
 
 	private ProductTypesDTO productTypesDTO;
@@ -48,6 +58,11 @@ class ProductTypeServiceImplTest {
 
 	@BeforeEach
 	void setUp() {
+		ProductTypeCache productTypeCache = new ProductTypeCache(productTypeRepository, cacheInvalidationBus,
+				new SimpleMeterRegistry(), 100, 600);
+		productTypeService = new ProductTypeServiceImpl(productTypeRepository, auditLogger, null, productTypeCache,
+				productSnapshotCache);
+
 		productTypesDTO = new ProductTypesDTO();
 		productTypesDTO.setName("Electronics");
 
@@ -115,6 +130,7 @@ class ProductTypeServiceImplTest {
 	@Test
 	void test_Update_ShouldUpdateProductTypeSuccessfully() {
 		when(productTypeRepository.findById(1L)).thenReturn(Optional.of(productType));
+		when(productTypeRepository.saveAndFlush(productType)).thenReturn(productType);
 
 		productTypeService.update(1L, productTypesDTO, 1L);
 
@@ -133,8 +149,12 @@ class ProductTypeServiceImplTest {
 
 	@Test
 	void test_Update_WithSameName_ShouldThrowConflictException() {
+		ProductType other = new ProductType();
+		other.setId(2L);
+		other.setName("Electronics");
 		when(productTypeRepository.findById(1L)).thenReturn(Optional.of(productType));
-		when(productTypeRepository.existsByNameAndIdNot("Electronics", 1L)).thenReturn(true);
+		when(productTypeRepository.findIdByName("Electronics")).thenReturn(Optional.of(2L));
+		when(productTypeRepository.findById(2L)).thenReturn(Optional.of(other));
 
 		assertThrows(ConflictException.class, () -> {
 			productTypeService.update(1L, productTypesDTO, 1L);
@@ -166,10 +186,75 @@ class ProductTypeServiceImplTest {
 
 		ProductType result = productTypeService.getProductType(1L);
 
-		assertEquals(productType, result);
+		assertEquals(1L, result.getId());
+		assertEquals("Electronics", result.getName());
 		verify(productTypeRepository).findById(1L);
 	}
 
+	@Test
+	void test_GetProductType_ShouldServeRepeatedLookupsFromCache() {
+		when(productTypeRepository.findById(1L)).thenReturn(Optional.of(productType));
+
+		ProductType first = productTypeService.getProductType(1L);
+		ProductType second = productTypeService.getProductType(1L);
+
+		assertEquals("Electronics", second.getName());
+		assertNotSame(first, second);
+		verify(productTypeRepository, times(1)).findById(1L);
+	}
+
+	@Test
+	void test_Update_ShouldEvictCachedProductType() {
+		when(productTypeRepository.findById(1L)).thenReturn(Optional.of(productType));
+		productTypeService.getProductType(1L);
+
+		when(productTypeRepository.saveAndFlush(productType)).thenReturn(productType);
+		productTypesDTO.setName("Appliances");
+		productTypeService.update(1L, productTypesDTO, 1L);
+		productTypeService.getProductType(1L);
+
+		// Cache load, the update itself and the reload after eviction.
+		verify(productTypeRepository, times(3)).findById(1L);
+		verify(productSnapshotCache).evictAll();
+	}
+
+	@Test
+	void test_Save_WithCachedName_ShouldNotQueryTheName() {
+		when(productTypeRepository.findById(1L)).thenReturn(Optional.of(productType));
+		productTypeService.getProductType(1L);
+
+		assertThrows(ConflictException.class, () -> productTypeService.save(productTypesDTO, 1L));
+		verify(productTypeRepository, times(0)).existsByName("Electronics");
+	}
+
+	@Test
+	void test_Save_WithNewName_ShouldOnlyCheckExistence() {
+		when(productTypeRepository.existsByName("Electronics")).thenReturn(false);
+		when(productTypeRepository.save(any(ProductType.class))).thenReturn(productType);
+
+		productTypeService.save(productTypesDTO, 1L);
+
+		verify(productTypeRepository).existsByName("Electronics");
+		verify(productTypeRepository, times(0)).findIdByName("Electronics");
+		verify(productTypeRepository, times(0)).findById(any());
+	}
+
+	@Test
+	void test_Update_WithIndexedName_ShouldResolveTheOtherProductTypeFromCache() {
+		ProductType other = new ProductType();
+		other.setId(2L);
+		other.setName("Electronics");
+		when(productTypeRepository.findById(1L)).thenReturn(Optional.of(productType));
+		when(productTypeRepository.findIdByName("Electronics")).thenReturn(Optional.of(2L));
+		when(productTypeRepository.findById(2L)).thenReturn(Optional.of(other));
+
+		assertThrows(ConflictException.class, () -> productTypeService.update(1L, productTypesDTO, 1L));
+		assertThrows(ConflictException.class, () -> productTypeService.update(1L, productTypesDTO, 1L));
+
+		verify(productTypeRepository, times(1)).findIdByName("Electronics");
+		verify(productTypeRepository, times(1)).findById(2L);
+	}
+
 	@Test
 	void test_GetProductType_WithNonExistentProductType_ShouldThrowException() {
 		when(productTypeRepository.findById(1L)).thenReturn(Optional.empty());
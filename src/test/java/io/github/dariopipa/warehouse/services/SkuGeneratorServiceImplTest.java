@@ -4,17 +4,28 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.junit.jupiter.MockitoExtension;
 
-@ExtendWith(MockitoExtension.class)
+import io.github.dariopipa.warehouse.sku.PrefixedSkuFormat;
+import io.github.dariopipa.warehouse.sku.SkuAllocator;
+import io.github.dariopipa.warehouse.sku.SkuBlock;
+
 class SkuGeneratorServiceImplTest {
 
-	@InjectMocks
 	private SkuGeneratorServiceImpl skuGeneratorService;
 
+	@BeforeEach
+	void setUp() {
+		AtomicLong sequence = new AtomicLong(1);
+		SkuAllocator allocator = new SkuAllocator(() -> new SkuBlock(sequence.getAndAdd(10), 10));
+		skuGeneratorService = new SkuGeneratorServiceImpl(allocator, new PrefixedSkuFormat());
+	}
+
 	@Test
 	void test_GenerateSku_ShouldReturnCorrectFormat() {
 		String sku = skuGeneratorService.generateSku("Laptop", "Electronics");
@@ -66,7 +77,7 @@ class SkuGeneratorServiceImplTest {
 	}
 
 	@Test
-	void test_GenerateSku_ShouldHaveFiveDigitTimestamp() {
+	void test_GenerateSku_ShouldHaveFiveDigitCounter() {
 		String sku = skuGeneratorService.generateSku("Test", "Product");
 
 		String[] parts = sku.split("-");
@@ -81,4 +92,12 @@ class SkuGeneratorServiceImplTest {
 
 		assertTrue(sku.startsWith("A--B.-"));
 	}
+
+	@Test
+	void test_GenerateSku_ShouldNeverRepeat_WhenCalledInSameMillisecond() {
+		Set<String> skus = new HashSet<>();
+		for (int i = 0; i < 100; i++) {
+			assertTrue(skus.add(skuGeneratorService.generateSku("Laptop", "Electronics")));
+		}
+	}
 }
@@ -1,8 +1,12 @@
 package io.github.dariopipa.warehouse.services;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
-import static org.mockito.Mockito.doThrow;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -10,6 +14,8 @@ import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,15 +23,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailSendException;
 import org.springframework.test.util.ReflectionTestUtils;
 
-import io.github.dariopipa.warehouse.dtos.requests.SendEmailDTO;
 import io.github.dariopipa.warehouse.entities.Product;
 import io.github.dariopipa.warehouse.entities.StockAlert;
+import io.github.dariopipa.warehouse.enums.OutboxEventType;
 import io.github.dariopipa.warehouse.enums.RolesEnum;
+import io.github.dariopipa.warehouse.enums.StockAlertMode;
+import io.github.dariopipa.warehouse.events.LowStockAlertPayload;
+import io.github.dariopipa.warehouse.events.LowStockDigestPayload;
+import io.github.dariopipa.warehouse.repositories.ProductRepository;
 import io.github.dariopipa.warehouse.repositories.StockAlertRepository;
 import io.github.dariopipa.warehouse.services.interfaces.AuthService;
 import io.github.dariopipa.warehouse.services.interfaces.EmailService;
+import io.github.dariopipa.warehouse.services.interfaces.OutboxService;
+import io.github.dariopipa.warehouse.stock.StockAlertStateTracker;
 
 @ExtendWith(MockitoExtension.class)
 class StockAlertServiceImplTest {
@@ -33,94 +47,215 @@ class StockAlertServiceImplTest {
 	@Mock
 	private StockAlertRepository stockAlertRepository;
 
+	@Mock
+	private ProductRepository productRepository;
+
 	@Mock
 	private EmailService emailService;
 
 	@Mock
 	private AuthService authService;
 
+	@Mock
+	private OutboxService outboxService;
+
+	@Mock
+	private StockAlertStateTracker alertStates;
+
 	@InjectMocks
 	private StockAlertServiceImpl stockAlertService;
 
 	private Product product;
+	private StockAlert stockAlert;
 	private List<String> managerEmails;
 
 	@BeforeEach
 	void setUp() {
 		ReflectionTestUtils.setField(stockAlertService, "DEFAULT_COMPANY_EMAIL", "warehouse@company.com");
+		ReflectionTestUtils.setField(stockAlertService, "mode", StockAlertMode.IMMEDIATE);
 
 		product = new Product();
 		product.setId(1L);
 		product.setName("Test Product");
 		product.setLowStockThreshold(10);
 
+		stockAlert = new StockAlert();
+		stockAlert.setId(42L);
+		stockAlert.setProduct(product);
+		stockAlert.setEmailSent(false);
+
 		managerEmails = Arrays.asList("manager1@company.com", "manager2@company.com");
 	}
 
 	@Test
 	void test_AlertStockLow_WhenStockAboveThreshold_ShouldNotSendAlert() {
-		stockAlertService.alertStockLow(product, 15);
+		stockAlertService.alertStockLow(1L, 15, 10);
 
-		verify(authService, never()).findEmailsByRole(any());
-		verify(emailService, never()).sendEmail(any());
+		verify(outboxService, never()).enqueue(any(), any(), any());
 		verify(stockAlertRepository, never()).save(any());
+		verify(alertStates, never()).fire(any());
 	}
 
 	@Test
 	void test_AlertStockLow_WhenStockAtThreshold_ShouldNotSendAlert() {
-		stockAlertService.alertStockLow(product, 10);
+		stockAlertService.alertStockLow(1L, 10, 10);
+
+		verify(outboxService, never()).enqueue(any(), any(), any());
+		verify(stockAlertRepository, never()).save(any());
+		verify(alertStates, times(1)).rearm(1L);
+	}
+
+	@Test
+	void test_AlertStockLow_WhenStockBelowThreshold_ShouldSaveAlertAndEnqueueEmail() {
+		doAnswer(invocation -> {
+			invocation.<StockAlert>getArgument(0).setId(42L);
+			return null;
+		}).when(stockAlertRepository).save(any(StockAlert.class));
+		when(alertStates.fire(1L)).thenReturn(true);
+		when(productRepository.getReferenceById(1L)).thenReturn(product);
+
+		stockAlertService.alertStockLow(1L, 5, 10);
+
+		verify(stockAlertRepository, times(1)).save(argThat(
+				alert -> alert.getProduct().equals(product) && !alert.getEmailSent() && alert.isEmailQueued()));
+		verify(outboxService, times(1)).enqueue(eq(OutboxEventType.LOW_STOCK_ALERT), eq(1L),
+				argThat(payload -> payload instanceof LowStockAlertPayload alert && alert.getStockAlertId() == 42L
+						&& alert.getQuantity() == 5 && alert.getLowStockThreshold() == 10));
+	}
+
+	@Test
+	void test_AlertStockLow_ShouldNotSendEmailInline() {
+		when(alertStates.fire(1L)).thenReturn(true);
+		when(productRepository.getReferenceById(1L)).thenReturn(product);
+
+		stockAlertService.alertStockLow(1L, 0, 10);
 
 		verify(authService, never()).findEmailsByRole(any());
 		verify(emailService, never()).sendEmail(any());
+	}
+
+	@Test
+	void test_AlertStockLow_WhenAlertAlreadyFired_ShouldNotSaveOrEnqueue() {
+		when(alertStates.fire(1L)).thenReturn(false);
+
+		stockAlertService.alertStockLow(1L, 3, 10);
+
 		verify(stockAlertRepository, never()).save(any());
+		verify(outboxService, never()).enqueue(any(), any(), any());
+	}
+
+	@Test
+	void test_AlertStockLow_WhenStockRecovers_ShouldRearmAlert() {
+		stockAlertService.alertStockLow(1L, 25, 10);
+
+		verify(alertStates, times(1)).rearm(1L);
+		verify(alertStates, never()).fire(any());
+	}
+
+	@Test
+	void test_AlertStockLow_InDigestMode_ShouldSaveUnqueuedAlertWithoutEnqueueing() {
+		ReflectionTestUtils.setField(stockAlertService, "mode", StockAlertMode.DIGEST);
+		when(alertStates.fire(1L)).thenReturn(true);
+		when(productRepository.getReferenceById(1L)).thenReturn(product);
+
+		stockAlertService.alertStockLow(1L, 5, 10);
+
+		verify(stockAlertRepository, times(1)).save(argThat(alert -> !alert.isEmailQueued()));
+		verify(outboxService, never()).enqueue(any(), any(), any());
+	}
+
+	@Test
+	void test_EnqueueLowStockDigest_ShouldBundleUnqueuedAlertsIntoOneEvent() {
+		StockAlert second = new StockAlert();
+		second.setId(43L);
+		second.setProduct(product);
+		when(stockAlertRepository.findUnqueuedForUpdate(Limit.of(100))).thenReturn(List.of(stockAlert, second));
+
+		int bundled = stockAlertService.enqueueLowStockDigest(100);
+
+		assertEquals(2, bundled);
+		assertTrue(stockAlert.isEmailQueued() && second.isEmailQueued());
+		verify(outboxService, times(1)).enqueue(eq(OutboxEventType.LOW_STOCK_DIGEST), eq(42L),
+				argThat(payload -> payload instanceof LowStockDigestPayload digest
+						&& digest.getStockAlertIds().equals(List.of(42L, 43L))));
+	}
+
+	@Test
+	void test_EnqueueLowStockDigest_WhenNothingIsPending_ShouldNotEnqueue() {
+		when(stockAlertRepository.findUnqueuedForUpdate(any())).thenReturn(List.of());
+
+		assertEquals(0, stockAlertService.enqueueLowStockDigest(100));
+
+		verify(outboxService, never()).enqueue(any(), any(), any());
 	}
 
 	@Test
-	void test_AlertStockLow_WhenStockBelowThreshold_ShouldSendEmailAndSaveAlert() {
+	void test_SendLowStockDigest_ShouldSendOneEmailListingEachProductOnceAndMarkAllSent() {
+		product.setQuantity(4);
+		Product other = new Product();
+		other.setId(2L);
+		other.setName("Other Product");
+		other.setQuantity(1);
+		other.setLowStockThreshold(5);
+		StockAlert refired = new StockAlert();
+		refired.setId(43L);
+		refired.setProduct(product);
+		StockAlert otherAlert = new StockAlert();
+		otherAlert.setId(44L);
+		otherAlert.setProduct(other);
+		List<Long> ids = List.of(42L, 43L, 44L);
+		when(stockAlertRepository.findAllWithProductByIdIn(ids))
+				.thenReturn(List.of(stockAlert, refired, otherAlert));
 		when(authService.findEmailsByRole(RolesEnum.ROLE_MANAGER)).thenReturn(managerEmails);
+		when(emailService.sendEmail(any())).thenReturn(CompletableFuture.completedFuture(null));
 
-		stockAlertService.alertStockLow(product, 5);
+		CompletableFuture<Void> result = stockAlertService.sendLowStockDigest(new LowStockDigestPayload(ids));
 
-		verify(authService, times(1)).findEmailsByRole(RolesEnum.ROLE_MANAGER);
-		verify(emailService, times(1)).sendEmail(argThat(email -> email.getTo().equals(managerEmails)
-				&& email.getFrom().equals("warehouse@company.com")
-				&& email.getSubject().equals("Low Stock Alert: Test Product")
-				&& email.getBody().contains("Current quantity: 5") && email.getBody().contains("Threshold: 10")));
-		verify(stockAlertRepository, times(1))
-				.save(argThat(alert -> alert.getProduct().equals(product) && alert.getEmailSent()));
+		assertTrue(result.isDone() && !result.isCompletedExceptionally());
+		verify(emailService, times(1)).sendEmail(argThat(email -> email.getSubject()
+				.equals("Low Stock Digest: 2 products") && email.getBody().contains("- 'Test Product': quantity 4, threshold 10")
+				&& email.getBody().contains("- 'Other Product': quantity 1, threshold 5")
+				&& email.getBody().indexOf("Test Product") == email.getBody().lastIndexOf("Test Product")));
+		verify(stockAlertRepository, times(1)).markEmailsSent(ids);
 	}
 
 	@Test
-	void test_AlertStockLow_WhenEmailServiceThrowsException_ShouldSaveAlertWithEmailSentFalse() {
+	void test_SendLowStockDigest_WhenDeliveryFails_ShouldNotMarkSent() {
+		when(stockAlertRepository.findAllWithProductByIdIn(List.of(42L))).thenReturn(List.of(stockAlert));
 		when(authService.findEmailsByRole(RolesEnum.ROLE_MANAGER)).thenReturn(managerEmails);
-		doThrow(new RuntimeException("Email service error")).when(emailService).sendEmail(any(SendEmailDTO.class));
+		when(emailService.sendEmail(any()))
+				.thenReturn(CompletableFuture.failedFuture(new MailSendException("Mail server error")));
 
-		stockAlertService.alertStockLow(product, 3);
+		CompletableFuture<Void> result = stockAlertService.sendLowStockDigest(new LowStockDigestPayload(List.of(42L)));
 
-		verify(authService, times(1)).findEmailsByRole(RolesEnum.ROLE_MANAGER);
-		verify(emailService, times(1)).sendEmail(any(SendEmailDTO.class));
-		verify(stockAlertRepository, times(1))
-				.save(argThat(alert -> alert.getProduct().equals(product) && !alert.getEmailSent()));
+		assertTrue(result.isCompletedExceptionally());
+		verify(stockAlertRepository, never()).markEmailsSent(any());
 	}
 
 	@Test
-	void test_AlertStockLow_WhenAuthServiceThrowsException_ShouldSaveAlertWithEmailSentFalse() {
-		when(authService.findEmailsByRole(RolesEnum.ROLE_MANAGER))
-				.thenThrow(new RuntimeException("Auth service error"));
+	void test_SendLowStockEmail_ShouldSendEmailAndMarkAlertAsSent() {
+		when(stockAlertRepository.findById(42L)).thenReturn(Optional.of(stockAlert));
+		when(authService.findEmailsByRole(RolesEnum.ROLE_MANAGER)).thenReturn(managerEmails);
+		when(emailService.sendEmail(any())).thenReturn(CompletableFuture.completedFuture(null));
 
-		stockAlertService.alertStockLow(product, 2);
+		CompletableFuture<Void> result = stockAlertService.sendLowStockEmail(new LowStockAlertPayload(42L, 1L, 5, 10));
 
-		verify(authService, times(1)).findEmailsByRole(RolesEnum.ROLE_MANAGER);
-		verify(emailService, never()).sendEmail(any());
-		verify(stockAlertRepository, times(1))
-				.save(argThat(alert -> alert.getProduct().equals(product) && !alert.getEmailSent()));
+		assertTrue(result.isDone() && !result.isCompletedExceptionally());
+
+		verify(emailService, times(1)).sendEmail(argThat(email -> email.getTo().equals(managerEmails)
+				&& email.getFrom().equals("warehouse@company.com")
+				&& email.getSubject().equals("Low Stock Alert: Test Product")
+				&& email.getBody().contains("Current quantity: 5") && email.getBody().contains("Threshold: 10")));
+		verify(stockAlertRepository, times(1)).markEmailSent(42L);
 	}
 
 	@Test
-	void test_AlertStockLow_ShouldCreateCorrectEmailBody() {
+	void test_SendLowStockEmail_ShouldCreateCorrectEmailBody() {
+		when(stockAlertRepository.findById(42L)).thenReturn(Optional.of(stockAlert));
 		when(authService.findEmailsByRole(RolesEnum.ROLE_MANAGER)).thenReturn(managerEmails);
+		when(emailService.sendEmail(any())).thenReturn(CompletableFuture.completedFuture(null));
 
-		stockAlertService.alertStockLow(product, 7);
+		stockAlertService.sendLowStockEmail(new LowStockAlertPayload(42L, 1L, 7, 10));
 
 		verify(emailService, times(1)).sendEmail(argThat(email -> {
 			String body = email.getBody();
@@ -131,34 +266,54 @@ class StockAlertServiceImplTest {
 	}
 
 	@Test
-	void test_AlertStockLow_WithZeroQuantity_ShouldTriggerAlert() {
+	void test_SendLowStockEmail_WhenDeliveryFails_ShouldFailAndNotMarkSent() {
+		when(stockAlertRepository.findById(42L)).thenReturn(Optional.of(stockAlert));
 		when(authService.findEmailsByRole(RolesEnum.ROLE_MANAGER)).thenReturn(managerEmails);
+		when(emailService.sendEmail(any()))
+				.thenReturn(CompletableFuture.failedFuture(new MailSendException("Mail server error")));
 
-		stockAlertService.alertStockLow(product, 0);
+		CompletableFuture<Void> result = stockAlertService.sendLowStockEmail(new LowStockAlertPayload(42L, 1L, 3, 10));
 
-		verify(authService, times(1)).findEmailsByRole(RolesEnum.ROLE_MANAGER);
-		verify(emailService, times(1)).sendEmail(any(SendEmailDTO.class));
-		verify(stockAlertRepository, times(1)).save(any(StockAlert.class));
+		assertTrue(result.isCompletedExceptionally());
+		verify(stockAlertRepository, never()).markEmailSent(any());
 	}
 
 	@Test
-	void test_AlertStockLow_WithDifferentThreshold_ShouldRespectProductThreshold() {
-		product.setLowStockThreshold(25);
+	void test_SendLowStockEmail_ShouldNotMarkSentBeforeDeliveryIsConfirmed() {
+		CompletableFuture<Void> delivery = new CompletableFuture<>();
+		when(stockAlertRepository.findById(42L)).thenReturn(Optional.of(stockAlert));
 		when(authService.findEmailsByRole(RolesEnum.ROLE_MANAGER)).thenReturn(managerEmails);
+		when(emailService.sendEmail(any())).thenReturn(delivery);
 
-		stockAlertService.alertStockLow(product, 24);
+		CompletableFuture<Void> result = stockAlertService.sendLowStockEmail(new LowStockAlertPayload(42L, 1L, 3, 10));
 
-		verify(emailService, times(1)).sendEmail(argThat(email -> email.getBody().contains("Current quantity: 24")
-				&& email.getBody().contains("Threshold: 25")));
+		verify(stockAlertRepository, never()).markEmailSent(any());
+		delivery.complete(null);
+		assertTrue(result.isDone());
+		verify(stockAlertRepository, times(1)).markEmailSent(42L);
 	}
 
 	@Test
-	void test_AlertStockLow_WithEmptyManagerEmails_ShouldStillSaveAlert() {
-		when(authService.findEmailsByRole(RolesEnum.ROLE_MANAGER)).thenReturn(Arrays.asList());
+	void test_SendLowStockEmail_WhenAuthServiceThrowsException_ShouldPropagateAndNotSend() {
+		when(stockAlertRepository.findById(42L)).thenReturn(Optional.of(stockAlert));
+		when(authService.findEmailsByRole(RolesEnum.ROLE_MANAGER))
+				.thenThrow(new RuntimeException("Auth service error"));
 
-		stockAlertService.alertStockLow(product, 5);
+		LowStockAlertPayload payload = new LowStockAlertPayload(42L, 1L, 2, 10);
+		assertThrows(RuntimeException.class, () -> stockAlertService.sendLowStockEmail(payload));
 
-		verify(emailService, times(1)).sendEmail(argThat(email -> email.getTo().isEmpty()));
-		verify(stockAlertRepository, times(1)).save(any(StockAlert.class));
+		verify(emailService, never()).sendEmail(any());
+		verify(stockAlertRepository, never()).markEmailSent(any());
+	}
+
+	@Test
+	void test_SendLowStockEmail_WhenAlertNoLongerExists_ShouldSkip() {
+		when(stockAlertRepository.findById(42L)).thenReturn(Optional.empty());
+
+		CompletableFuture<Void> result = stockAlertService.sendLowStockEmail(new LowStockAlertPayload(42L, 1L, 2, 10));
+
+		assertTrue(result.isDone());
+		verify(emailService, never()).sendEmail(any());
+		verify(stockAlertRepository, never()).markEmailSent(any());
 	}
 }
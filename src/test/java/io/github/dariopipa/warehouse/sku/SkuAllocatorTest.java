@@ -0,0 +1,59 @@
+package io.github.dariopipa.warehouse.sku;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class SkuAllocatorTest {
+
+	@Test
+	void next_ShouldReserveNewBlock_OnlyWhenCurrentIsExhausted() {
+		AtomicInteger reservations = new AtomicInteger();
+		SkuAllocator allocator = new SkuAllocator(() -> new SkuBlock(reservations.incrementAndGet() * 100L, 3));
+
+		assertEquals(100L, allocator.next());
+		assertEquals(101L, allocator.next());
+		assertEquals(102L, allocator.next());
+		assertEquals(1, reservations.get());
+
+		assertEquals(200L, allocator.next());
+		assertEquals(2, reservations.get());
+	}
+
+	@Test
+	void next_ShouldNeverHandOutSameValueTwice_UnderContention() throws Exception {
+		AtomicLong sequence = new AtomicLong(1);
+		SkuAllocator allocator = new SkuAllocator(() -> new SkuBlock(sequence.getAndAdd(50), 50));
+		Set<Long> values = ConcurrentHashMap.newKeySet();
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 5_000; i++) {
+						assertTrue(values.add(allocator.next()));
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertEquals(40_000, values.size());
+	}
+}
@@ -0,0 +1,268 @@
+package io.github.dariopipa.warehouse.stock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.github.dariopipa.warehouse.audit.AuditLogger;
+import io.github.dariopipa.warehouse.enums.EntityType;
+import io.github.dariopipa.warehouse.enums.OperationsType;
+import io.github.dariopipa.warehouse.exceptions.EntityNotFoundException;
+import io.github.dariopipa.warehouse.repositories.ProductRepository;
+import io.github.dariopipa.warehouse.repositories.StockLevel;
+import io.github.dariopipa.warehouse.services.interfaces.StockAlertService;
+
+@ExtendWith(MockitoExtension.class)
+class QuantityDeltaApplierTest {
+
+	@Mock
+	private ProductRepository productRepository;
+
+	@Mock
+	private StockAlertService stockAlertService;
+
+	@Mock
+	private AuditLogger auditLogger;
+
+	@InjectMocks
+	private QuantityDeltaApplier quantityDeltaApplier;
+
+	@Test
+	void test_Apply_ShouldUpdateAlertAndAudit() {
+		when(productRepository.applyQuantityDelta(1L, -50)).thenReturn(Optional.of(new StockLevel(50, 10)));
+
+		StockLevel result = quantityDeltaApplier.apply(QuantityDelta.of(1L, OperationsType.DECREASE, 50, 7L));
+
+		assertEquals(50, result.getQuantity());
+		verify(productRepository, never()).findById(any());
+		verify(stockAlertService).alertStockLow(1L, 50, 10);
+		verify(auditLogger).logQuantityUpdate(7L, EntityType.PRODUCT, 1L, OperationsType.DECREASE, 50);
+	}
+
+	@Test
+	void test_Apply_WithInsufficientStock_ShouldThrowIllegalArgumentException() {
+		when(productRepository.applyQuantityDelta(1L, -50)).thenReturn(Optional.empty());
+		when(productRepository.existsById(1L)).thenReturn(true);
+
+		QuantityDelta request = QuantityDelta.of(1L, OperationsType.DECREASE, 50, 7L);
+		assertThrows(IllegalArgumentException.class, () -> quantityDeltaApplier.apply(request));
+
+		verify(stockAlertService, never()).alertStockLow(any(), anyInt(), anyInt());
+		verify(auditLogger, never()).logQuantityUpdate(any(), any(), any(), any(), anyInt());
+	}
+
+	@Test
+	void test_Apply_WhenIncreaseWouldOverflow_ShouldReportTooLarge() {
+		when(productRepository.applyQuantityDelta(1L, Integer.MAX_VALUE)).thenReturn(Optional.empty());
+		when(productRepository.existsById(1L)).thenReturn(true);
+
+		QuantityDelta request = QuantityDelta.of(1L, OperationsType.INCREASE, Integer.MAX_VALUE, 7L);
+		IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+				() -> quantityDeltaApplier.apply(request));
+
+		assertEquals("Product quantity cannot exceed " + Integer.MAX_VALUE, exception.getMessage());
+	}
+
+	@Test
+	void test_Apply_WithNonExistentProduct_ShouldThrowEntityNotFoundException() {
+		when(productRepository.applyQuantityDelta(1L, 50)).thenReturn(Optional.empty());
+		when(productRepository.existsById(1L)).thenReturn(false);
+
+		QuantityDelta request = QuantityDelta.of(1L, OperationsType.INCREASE, 50, 7L);
+		assertThrows(EntityNotFoundException.class, () -> quantityDeltaApplier.apply(request));
+	}
+
+	@Test
+	void test_ApplyAll_ShouldApplyNetDeltaOncePerProductAndAuditEachRequest() {
+		when(productRepository.applyQuantityDeltas(Map.of(1L, 3, 2L, -4)))
+				.thenReturn(Map.of(1L, new StockLevel(13, 5), 2L, new StockLevel(2, 5)));
+
+		List<QuantityDeltaResult> results = quantityDeltaApplier.applyAll(List.of(
+				QuantityDelta.of(1L, OperationsType.INCREASE, 5, 7L), QuantityDelta.of(2L, OperationsType.DECREASE, 4, 8L),
+				QuantityDelta.of(1L, OperationsType.DECREASE, 2, 9L)));
+
+		assertEquals(3, results.size());
+		assertEquals(15, results.get(0).getStockLevel().getQuantity());
+		assertEquals(2, results.get(1).getStockLevel().getQuantity());
+		assertEquals(13, results.get(2).getStockLevel().getQuantity());
+
+		verify(productRepository, never()).applyQuantityDelta(any(), anyInt());
+		verify(stockAlertService).alertStockLow(1L, 13, 5);
+		verify(stockAlertService).alertStockLow(2L, 2, 5);
+		verify(auditLogger).logQuantityUpdate(7L, EntityType.PRODUCT, 1L, OperationsType.INCREASE, 15);
+		verify(auditLogger).logQuantityUpdate(8L, EntityType.PRODUCT, 2L, OperationsType.DECREASE, 2);
+		verify(auditLogger).logQuantityUpdate(9L, EntityType.PRODUCT, 1L, OperationsType.DECREASE, 13);
+	}
+
+	@Test
+	void test_ApplyAll_WhenNetDeltaIsRejected_ShouldReplayRequestsInOrder() {
+		when(productRepository.applyQuantityDeltas(Map.of(1L, -5))).thenReturn(Map.of());
+		when(productRepository.applyQuantityDelta(1L, 5)).thenReturn(Optional.of(new StockLevel(8, 5)));
+		when(productRepository.applyQuantityDelta(1L, -10)).thenReturn(Optional.empty());
+		when(productRepository.existsById(1L)).thenReturn(true);
+
+		List<QuantityDeltaResult> results = quantityDeltaApplier.applyAll(
+				List.of(QuantityDelta.of(1L, OperationsType.INCREASE, 5, 7L),
+						QuantityDelta.of(1L, OperationsType.DECREASE, 10, 8L)));
+
+		assertTrue(results.get(0).isApplied());
+		assertEquals(8, results.get(0).getStockLevel().getQuantity());
+		assertFalse(results.get(1).isApplied());
+		assertInstanceOf(IllegalArgumentException.class, results.get(1).getError());
+
+		verify(stockAlertService, times(1)).alertStockLow(1L, 8, 5);
+		verify(auditLogger, times(1)).logQuantityUpdate(any(), any(), any(), any(), anyInt());
+	}
+
+	@Test
+	void test_ApplyAll_WhenNetDeltaPassesThroughNegative_ShouldRejectThatRequestAndGiveItBack() {
+		// Stock 5: -10 then +10 nets to 0, but -10 alone would drive it to -5
+		when(productRepository.applyQuantityDeltas(Map.of(1L, 0))).thenReturn(Map.of(1L, new StockLevel(5, 3)));
+		when(productRepository.applyQuantityDelta(1L, 10)).thenReturn(Optional.of(new StockLevel(15, 3)));
+
+		List<QuantityDeltaResult> results = quantityDeltaApplier.applyAll(
+				List.of(QuantityDelta.of(1L, OperationsType.DECREASE, 10, 7L),
+						QuantityDelta.of(1L, OperationsType.INCREASE, 10, 8L)));
+
+		assertFalse(results.get(0).isApplied());
+		assertInstanceOf(IllegalArgumentException.class, results.get(0).getError());
+		assertTrue(results.get(1).isApplied());
+		assertEquals(15, results.get(1).getStockLevel().getQuantity());
+
+		verify(stockAlertService).alertStockLow(1L, 15, 3);
+		verify(auditLogger, times(1)).logQuantityUpdate(any(), any(), any(), any(), anyInt());
+		verify(auditLogger).logQuantityUpdate(8L, EntityType.PRODUCT, 1L, OperationsType.INCREASE, 15);
+	}
+
+	@Test
+	void test_ApplyAll_WithNonExistentProduct_ShouldRejectAllItsRequests() {
+		when(productRepository.applyQuantityDeltas(Map.of(1L, 2))).thenReturn(Map.of());
+		when(productRepository.applyQuantityDelta(eq(1L), anyInt())).thenReturn(Optional.empty());
+		when(productRepository.existsById(1L)).thenReturn(false);
+
+		List<QuantityDeltaResult> results = quantityDeltaApplier.applyAll(
+				List.of(QuantityDelta.of(1L, OperationsType.INCREASE, 1, 7L),
+						QuantityDelta.of(1L, OperationsType.INCREASE, 1, 7L)));
+
+		assertInstanceOf(EntityNotFoundException.class, results.get(0).getError());
+		assertInstanceOf(EntityNotFoundException.class, results.get(1).getError());
+		verify(productRepository, times(1)).existsById(1L);
+		verify(stockAlertService, never()).alertStockLow(any(), anyInt(), anyInt());
+	}
+
+	@Test
+	void test_ApplyAllOrNothing_ShouldApplyNetDeltasAndAuditEachRequest() {
+		when(productRepository.applyQuantityDeltas(Map.of(1L, 3, 2L, -4)))
+				.thenReturn(Map.of(1L, new StockLevel(13, 5), 2L, new StockLevel(2, 5)));
+
+		List<QuantityDeltaResult> results = quantityDeltaApplier.applyAllOrNothing(List.of(
+				QuantityDelta.of(1L, OperationsType.INCREASE, 5, 7L), QuantityDelta.of(2L, OperationsType.DECREASE, 4, 7L),
+				QuantityDelta.of(1L, OperationsType.DECREASE, 2, 7L)));
+
+		assertEquals(15, results.get(0).getStockLevel().getQuantity());
+		assertEquals(13, results.get(2).getStockLevel().getQuantity());
+		verify(stockAlertService).alertStockLow(2L, 2, 5);
+		verify(auditLogger, times(3)).logQuantityUpdate(any(), any(), any(), any(), anyInt());
+	}
+
+	@Test
+	void test_ApplyAllOrNothing_WhenAnyNetDeltaIsRejected_ShouldThrowWithoutSideEffects() {
+		when(productRepository.applyQuantityDeltas(Map.of(1L, 5, 2L, -10))).thenReturn(Map.of(1L, new StockLevel(8, 5)));
+		when(productRepository.existsById(2L)).thenReturn(true);
+
+		List<QuantityDelta> requests = List.of(QuantityDelta.of(1L, OperationsType.INCREASE, 5, 7L),
+				QuantityDelta.of(2L, OperationsType.DECREASE, 10, 7L));
+		IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+				() -> quantityDeltaApplier.applyAllOrNothing(requests));
+
+		assertTrue(exception.getMessage().endsWith("for product id: 2"));
+		verify(productRepository, never()).applyQuantityDelta(any(), anyInt());
+		verify(stockAlertService, never()).alertStockLow(any(), anyInt(), anyInt());
+		verify(auditLogger, never()).logQuantityUpdate(any(), any(), any(), any(), anyInt());
+	}
+
+	@Test
+	void test_ApplyAllOrNothing_WhenNetDeltaPassesThroughNegative_ShouldThrowWithoutSideEffects() {
+		when(productRepository.applyQuantityDeltas(Map.of(1L, 0))).thenReturn(Map.of(1L, new StockLevel(5, 3)));
+
+		List<QuantityDelta> requests = List.of(QuantityDelta.of(1L, OperationsType.DECREASE, 10, 7L),
+				QuantityDelta.of(1L, OperationsType.INCREASE, 10, 7L));
+		IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+				() -> quantityDeltaApplier.applyAllOrNothing(requests));
+
+		assertEquals("Product quantity cannot be reduced to less than 0 for product id: 1", exception.getMessage());
+		verify(stockAlertService, never()).alertStockLow(any(), anyInt(), anyInt());
+		verify(auditLogger, never()).logQuantityUpdate(any(), any(), any(), any(), anyInt());
+	}
+
+	@Test
+	void test_ApplyAllOrNothing_WhenNetDeltaOverflows_ShouldThrowBeforeUpdating() {
+		List<QuantityDelta> requests = List.of(QuantityDelta.of(1L, OperationsType.INCREASE, Integer.MAX_VALUE, 7L),
+				QuantityDelta.of(1L, OperationsType.INCREASE, Integer.MAX_VALUE, 7L));
+		IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+				() -> quantityDeltaApplier.applyAllOrNothing(requests));
+
+		assertTrue(exception.getMessage().startsWith("Product quantity cannot exceed"));
+		verify(productRepository, never()).applyQuantityDeltas(any());
+	}
+
+	@Test
+	void test_ApplyAll_WhenNetDeltaOverflows_ShouldRejectTheOverflowingRequest() {
+		when(productRepository.applyQuantityDeltas(Map.of(1L, Integer.MAX_VALUE)))
+				.thenReturn(Map.of(1L, new StockLevel(Integer.MAX_VALUE, 3)));
+
+		List<QuantityDeltaResult> results = quantityDeltaApplier.applyAll(
+				List.of(QuantityDelta.of(1L, OperationsType.INCREASE, Integer.MAX_VALUE, 7L),
+						QuantityDelta.of(1L, OperationsType.INCREASE, Integer.MAX_VALUE, 8L)));
+
+		assertTrue(results.get(0).isApplied());
+		assertEquals(Integer.MAX_VALUE, results.get(0).getStockLevel().getQuantity());
+		assertFalse(results.get(1).isApplied());
+		assertInstanceOf(IllegalArgumentException.class, results.get(1).getError());
+		verify(productRepository, never()).applyQuantityDelta(any(), anyInt());
+		verify(auditLogger, times(1)).logQuantityUpdate(any(), any(), any(), any(), anyInt());
+	}
+
+	@Test
+	void test_ApplyAll_WhenPrefixExceedsMaxValue_ShouldRejectThatRequestAndCorrectStock() {
+		// Stock 5: +MAX then -MAX nets to 0, but +MAX alone would overflow
+		when(productRepository.applyQuantityDeltas(Map.of(1L, 0))).thenReturn(Map.of(1L, new StockLevel(5, 3)));
+
+		List<QuantityDeltaResult> results = quantityDeltaApplier.applyAll(
+				List.of(QuantityDelta.of(1L, OperationsType.INCREASE, Integer.MAX_VALUE, 7L),
+						QuantityDelta.of(1L, OperationsType.DECREASE, Integer.MAX_VALUE, 8L)));
+
+		assertFalse(results.get(0).isApplied());
+		assertFalse(results.get(1).isApplied());
+		verify(productRepository, never()).applyQuantityDelta(any(), anyInt());
+		verify(stockAlertService).alertStockLow(1L, 5, 3);
+	}
+
+	@Test
+	void test_ApplyAllOrNothing_WithNonExistentProduct_ShouldThrowEntityNotFoundException() {
+		when(productRepository.applyQuantityDeltas(Map.of(1L, 1))).thenReturn(Map.of());
+		when(productRepository.existsById(1L)).thenReturn(false);
+
+		List<QuantityDelta> requests = List.of(QuantityDelta.of(1L, OperationsType.INCREASE, 1, 7L));
+		assertThrows(EntityNotFoundException.class, () -> quantityDeltaApplier.applyAllOrNothing(requests));
+	}
+}
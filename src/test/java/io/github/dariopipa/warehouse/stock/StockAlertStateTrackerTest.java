@@ -0,0 +1,108 @@
+package io.github.dariopipa.warehouse.stock;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.github.dariopipa.warehouse.cache.CacheInvalidation;
+import io.github.dariopipa.warehouse.cache.CacheInvalidationBus;
+import io.github.dariopipa.warehouse.enums.EntityType;
+import io.github.dariopipa.warehouse.enums.StockAlertState;
+import io.github.dariopipa.warehouse.repositories.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class StockAlertStateTrackerTest {
+
+	@Mock
+	private ProductRepository productRepository;
+
+	@Mock
+	private CacheInvalidationBus invalidationBus;
+
+	private StockAlertStateTracker tracker;
+
+	@BeforeEach
+	void setUp() {
+		tracker = new StockAlertStateTracker(productRepository, invalidationBus, new SimpleMeterRegistry(), 100);
+	}
+
+	@Test
+	void test_Fire_WhenArmed_ShouldPersistTransitionAndPublishIt() {
+		when(productRepository.updateStockAlertState(1L, StockAlertState.FIRED)).thenReturn(true);
+
+		assertTrue(tracker.fire(1L));
+
+		verify(invalidationBus).publish(argThat(invalidation -> invalidation.getEntityType() == EntityType.STOCK_ALERT
+				&& invalidation.getId().equals(1L)));
+	}
+
+	@Test
+	void test_Fire_WhenAlreadyFired_ShouldNotTouchDatabaseAgain() {
+		when(productRepository.updateStockAlertState(1L, StockAlertState.FIRED)).thenReturn(true);
+
+		assertTrue(tracker.fire(1L));
+		assertFalse(tracker.fire(1L));
+		assertFalse(tracker.fire(1L));
+
+		verify(productRepository, times(1)).updateStockAlertState(1L, StockAlertState.FIRED);
+	}
+
+	@Test
+	void test_Fire_WhenAnotherInstanceAlreadyFired_ShouldNotFireAndRememberState() {
+		when(productRepository.updateStockAlertState(1L, StockAlertState.FIRED)).thenReturn(false);
+
+		assertFalse(tracker.fire(1L));
+		assertFalse(tracker.fire(1L));
+
+		verify(productRepository, times(1)).updateStockAlertState(1L, StockAlertState.FIRED);
+		verify(invalidationBus, never()).publish(any());
+	}
+
+	@Test
+	void test_Rearm_AfterFire_ShouldAllowTheNextDropToFireAgain() {
+		when(productRepository.updateStockAlertState(1L, StockAlertState.FIRED)).thenReturn(true);
+		when(productRepository.updateStockAlertState(1L, StockAlertState.ARMED)).thenReturn(true);
+
+		assertTrue(tracker.fire(1L));
+		assertTrue(tracker.rearm(1L));
+		assertFalse(tracker.rearm(1L));
+		assertTrue(tracker.fire(1L));
+
+		verify(productRepository, times(2)).updateStockAlertState(1L, StockAlertState.FIRED);
+		verify(productRepository, times(1)).updateStockAlertState(1L, StockAlertState.ARMED);
+	}
+
+	@Test
+	void test_OnInvalidation_ShouldForgetStateSoTheDatabaseIsAskedAgain() {
+		when(productRepository.updateStockAlertState(1L, StockAlertState.FIRED)).thenReturn(true, false);
+
+		tracker.fire(1L);
+		tracker.onInvalidation(new CacheInvalidation(EntityType.STOCK_ALERT, 1L, null));
+		tracker.fire(1L);
+
+		verify(productRepository, times(2)).updateStockAlertState(1L, StockAlertState.FIRED);
+	}
+
+	@Test
+	void test_OnInvalidation_ForOtherEntityType_ShouldKeepState() {
+		when(productRepository.updateStockAlertState(1L, StockAlertState.FIRED)).thenReturn(true);
+
+		tracker.fire(1L);
+		tracker.onInvalidation(new CacheInvalidation(EntityType.PRODUCT, 1L, null));
+		tracker.fire(1L);
+
+		verify(productRepository, times(1)).updateStockAlertState(1L, StockAlertState.FIRED);
+	}
+}
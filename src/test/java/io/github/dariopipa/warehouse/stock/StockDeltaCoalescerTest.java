@@ -0,0 +1,172 @@
+package io.github.dariopipa.warehouse.stock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.github.dariopipa.warehouse.enums.OperationsType;
+import io.github.dariopipa.warehouse.exceptions.ServiceUnavailableException;
+import io.github.dariopipa.warehouse.repositories.StockLevel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class StockDeltaCoalescerTest {
+
+	@Mock
+	private QuantityDeltaApplier quantityDeltaApplier;
+
+	private SimpleMeterRegistry meterRegistry;
+	private StockDeltaCoalescer coalescer;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (coalescer != null) {
+			coalescer.stop();
+		}
+	}
+
+	private StockDeltaCoalescer createCoalescer(boolean enabled) {
+		return createCoalescer(enabled, 5, 5000);
+	}
+
+	// Long enough that no background flush races with a manual one
+	private StockDeltaCoalescer createManuallyFlushedCoalescer() {
+		return createCoalescer(true, 60_000, 5000);
+	}
+
+	private StockDeltaCoalescer createCoalescer(boolean enabled, long flushIntervalMs, long waitTimeoutMs) {
+		coalescer = new StockDeltaCoalescer(quantityDeltaApplier, meterRegistry, enabled, flushIntervalMs, 4,
+				waitTimeoutMs);
+		coalescer.start();
+		return coalescer;
+	}
+
+	@Test
+	void test_Flush_ShouldApplyAllPendingRequestsInOneCall() throws Exception {
+		createManuallyFlushedCoalescer();
+		QuantityDelta first = QuantityDelta.of(1L, OperationsType.INCREASE, 5, 7L);
+		QuantityDelta second = QuantityDelta.of(1L, OperationsType.DECREASE, 2, 8L);
+		when(quantityDeltaApplier.applyAll(List.of(first, second)))
+				.thenReturn(List.of(QuantityDeltaResult.applied(first, new StockLevel(15, 5)),
+						QuantityDeltaResult.applied(second, new StockLevel(13, 5))));
+
+		CompletableFuture<StockLevel> firstResult = coalescer.submit(first);
+		CompletableFuture<StockLevel> secondResult = coalescer.submit(second);
+		coalescer.flush();
+
+		assertEquals(15, firstResult.get().getQuantity());
+		assertEquals(13, secondResult.get().getQuantity());
+		assertEquals(1, meterRegistry.get("stock.coalescer.flush").timer().count());
+	}
+
+	@Test
+	void test_Flush_WhenRequestIsRejected_ShouldFailOnlyThatRequest() {
+		createManuallyFlushedCoalescer();
+		QuantityDelta first = QuantityDelta.of(1L, OperationsType.INCREASE, 5, 7L);
+		QuantityDelta second = QuantityDelta.of(2L, OperationsType.DECREASE, 20, 8L);
+		when(quantityDeltaApplier.applyAll(anyList()))
+				.thenReturn(List.of(QuantityDeltaResult.applied(first, new StockLevel(15, 5)), QuantityDeltaResult
+						.rejected(second, new IllegalArgumentException("Product quantity cannot be reduced"))));
+
+		CompletableFuture<StockLevel> firstResult = coalescer.submit(first);
+		CompletableFuture<StockLevel> secondResult = coalescer.submit(second);
+		coalescer.flush();
+
+		assertFalse(firstResult.isCompletedExceptionally());
+		ExecutionException error = assertThrows(ExecutionException.class, secondResult::get);
+		assertTrue(error.getCause() instanceof IllegalArgumentException);
+	}
+
+	@Test
+	void test_Flush_WhenApplierFails_ShouldFailEveryRequest() {
+		createManuallyFlushedCoalescer();
+		when(quantityDeltaApplier.applyAll(anyList())).thenThrow(new IllegalStateException("db down"));
+
+		CompletableFuture<StockLevel> result = coalescer.submit(QuantityDelta.of(1L, OperationsType.INCREASE, 5, 7L));
+		coalescer.flush();
+
+		assertTrue(result.isCompletedExceptionally());
+	}
+
+	@Test
+	void test_Flush_WithNothingPending_ShouldNotCallApplier() {
+		createCoalescer(false);
+
+		coalescer.flush();
+
+		verify(quantityDeltaApplier, never()).applyAll(any());
+	}
+
+	@Test
+	void test_Apply_WhenEnabled_ShouldWaitForBackgroundFlushAndUnwrapErrors() {
+		createCoalescer(true);
+		when(quantityDeltaApplier.applyAll(anyList())).thenAnswer(invocation -> {
+			List<QuantityDelta> requests = invocation.getArgument(0);
+			return requests.stream()
+					.map(request -> QuantityDeltaResult.rejected(request, new IllegalArgumentException("negative")))
+					.toList();
+		});
+
+		QuantityDelta request = QuantityDelta.of(1L, OperationsType.DECREASE, 5, 7L);
+		assertThrows(IllegalArgumentException.class, () -> coalescer.apply(request));
+	}
+
+	@Test
+	void test_Flush_WhenApplierThrowsError_ShouldStillFailEveryRequest() {
+		createManuallyFlushedCoalescer();
+		when(quantityDeltaApplier.applyAll(anyList())).thenThrow(new StackOverflowError());
+
+		CompletableFuture<StockLevel> result = coalescer.submit(QuantityDelta.of(1L, OperationsType.INCREASE, 5, 7L));
+		coalescer.flush();
+
+		ExecutionException error = assertThrows(ExecutionException.class, result::get);
+		assertInstanceOf(StackOverflowError.class, error.getCause());
+	}
+
+	@Test
+	void test_Submit_AfterStop_ShouldApplyDirectly() throws Exception {
+		createManuallyFlushedCoalescer();
+		coalescer.stop();
+		QuantityDelta request = QuantityDelta.of(1L, OperationsType.INCREASE, 5, 7L);
+		when(quantityDeltaApplier.apply(request)).thenReturn(new StockLevel(15, 5));
+
+		assertEquals(15, coalescer.submit(request).get().getQuantity());
+		verify(quantityDeltaApplier, never()).applyAll(any());
+	}
+
+	@Test
+	void test_Apply_WhenNoFlushHappensInTime_ShouldWithdrawRequestAndFail() {
+		createCoalescer(true, 60_000, 50);
+		QuantityDelta request = QuantityDelta.of(1L, OperationsType.INCREASE, 5, 7L);
+
+		ServiceUnavailableException error = assertThrows(ServiceUnavailableException.class,
+				() -> coalescer.apply(request));
+
+		assertTrue(error.getMessage().endsWith("it was not applied"));
+		coalescer.flush();
+		verify(quantityDeltaApplier, never()).applyAll(any());
+	}
+}
@@ -0,0 +1,51 @@
+package io.github.dariopipa.warehouse.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.dariopipa.warehouse.exceptions.PreconditionFailedException;
+
+class EntityTagsTest {
+
+	@Test
+	void parseIfMatch_ShouldReadVersionFromStrongTag() {
+		assertEquals(7L, EntityTags.parseIfMatch(EntityTags.of(7L)));
+		assertEquals(7L, EntityTags.parseIfMatch(" \"7\" "));
+	}
+
+	@Test
+	void parseIfMatch_ShouldReadOwnVersionFromCompoundTag() {
+		assertEquals(7L, EntityTags.parseIfMatch(EntityTags.of(7L, 2L)));
+		assertThrows(PreconditionFailedException.class, () -> EntityTags.parseIfMatch("\"7.x\""));
+	}
+
+	@Test
+	void lastModified_ShouldPickLatestKnownTimestamp() {
+		assertEquals(2000L, EntityTags.lastModified(Instant.ofEpochMilli(1000), null, Instant.ofEpochMilli(2000)));
+		assertEquals(-1L, EntityTags.lastModified((Instant) null));
+	}
+
+	@Test
+	void parseIfMatch_ShouldAcceptAnyVersion_WhenAbsentOrWildcard() {
+		assertNull(EntityTags.parseIfMatch(null));
+		assertNull(EntityTags.parseIfMatch(""));
+		assertNull(EntityTags.parseIfMatch("*"));
+	}
+
+	@Test
+	void parseIfMatch_ShouldFailPrecondition_WhenTagCanNeverMatch() {
+		assertThrows(PreconditionFailedException.class, () -> EntityTags.parseIfMatch("W/\"7\""));
+		assertThrows(PreconditionFailedException.class, () -> EntityTags.parseIfMatch("\"abc\""));
+		assertThrows(PreconditionFailedException.class, () -> EntityTags.parseIfMatch("7"));
+	}
+
+	@Test
+	void parseIfMatch_ShouldRejectTagLists() {
+		assertThrows(IllegalArgumentException.class, () -> EntityTags.parseIfMatch("\"1\", \"2\""));
+	}
+}
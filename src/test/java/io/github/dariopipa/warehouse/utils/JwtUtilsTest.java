@@ -6,6 +6,8 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Date;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,10 +17,17 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import io.github.dariopipa.warehouse.entities.Roles;
 import io.github.dariopipa.warehouse.entities.User;
+import io.github.dariopipa.warehouse.enums.RolesEnum;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
 
 @ExtendWith(SpringExtension.class)
 @SpringBootTest
@@ -28,6 +37,9 @@ class JwtUtilsTest {
 	@Autowired
 	private JwtUtils jwtUtils;
 
+	@Autowired
+	private MeterRegistry meterRegistry;
+
 	private UsernamePasswordAuthenticationToken authenticatedUserToken;
 
 	private String validJwtToken;
@@ -115,4 +127,43 @@ class JwtUtilsTest {
 		assertTrue(timeDiff > 3500000 && timeDiff <= 3600000);
 	}
 
-}
\ No newline at end of file
+
+	@Test
+	void test_GetUserFromClaims_BuildsPrincipalFromIdAndRoles() {
+		User user = new User();
+		user.setId(5L);
+		user.setUsername("manager");
+		Roles role = new Roles();
+		role.setRole(RolesEnum.ROLE_MANAGER);
+		user.setRoles(Set.of(role));
+		String token = jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken(user, null, null));
+
+		User principal = jwtUtils.getUserFromClaims(jwtUtils.parseClaims(token)).orElseThrow();
+
+		assertEquals(5L, principal.getId());
+		assertEquals("manager", principal.getUsername());
+		assertEquals(Set.of("ROLE_MANAGER"), principal.getAuthorities().stream()
+				.map(GrantedAuthority::getAuthority).collect(Collectors.toSet()));
+	}
+
+	@Test
+	void test_GetUserFromClaims_ReturnsEmptyForTokenWithoutRoles() {
+		Claims claims = Jwts.claims().subject(TEST_USERNAME).add("id", TEST_USER_ID).build();
+
+		assertTrue(jwtUtils.getUserFromClaims(claims).isEmpty());
+	}
+
+	@Test
+	void test_ParseClaims_SameTokenIsVerifiedOnlyOnce() {
+		String token = jwtUtils.generateJwtToken(createAuthenticationTokenForUser(9L, "cached"));
+		FunctionCounter hits = meterRegistry.get("cache.gets").tag("cache", "jwt.claims").tag("result", "hit")
+				.functionCounter();
+		double hitsBefore = hits.count();
+
+		jwtUtils.parseClaims(token);
+		jwtUtils.parseClaims(token);
+		jwtUtils.getUsernameFromToken(token);
+
+		assertEquals(hitsBefore + 2, hits.count());
+	}
+}